@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CommandLineRunner;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Inputs and helpers shared by the benchmarks.
+ *
+ * <p>There are two corpora. The synthetic corpus is generated deterministically, so results are
+ * comparable between runs and compiler versions. Its files are typed and reference each other, so
+ * that type checking and cross-file optimizations have work to do. The builtin externs are a large
+ * checked-in corpus of real-world JavaScript.
+ */
+final class BenchmarkSupport {
+
+  /** Number of functions in each synthetic file. */
+  static final int FUNCTIONS_PER_FILE = 20;
+
+  /** Returns the synthetic corpus with the given number of files. */
+  static ImmutableList<SourceFile> syntheticInputs(int numFiles) {
+    ImmutableList.Builder<SourceFile> inputs = ImmutableList.builder();
+    for (int i = 0; i < numFiles; i++) {
+      inputs.add(SourceFile.fromCode("synthetic" + i + ".js", syntheticFile(i)));
+    }
+    return inputs.build();
+  }
+
+  private static String syntheticFile(int index) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("/** @const */\nvar ns").append(index).append(" = {};\n\n");
+
+    sb.append("/**\n * @constructor\n * @param {number} value\n */\n");
+    sb.append("function Value").append(index).append("(value) {\n");
+    sb.append("  /** @private {number} */\n  this.value_ = value;\n");
+    sb.append("  /** @type {!Array<string>} */\n  this.names = [];\n}\n\n");
+    sb.append("/** @return {number} */\n");
+    sb.append("Value").append(index).append(".prototype.get = function() {\n");
+    sb.append("  return this.value_ + this.names.length;\n};\n\n");
+    sb.append("/** @param {string} name */\n");
+    sb.append("Value").append(index).append(".prototype.add = function(name) {\n");
+    sb.append("  this.names.push(name);\n};\n\n");
+
+    for (int j = 0; j < FUNCTIONS_PER_FILE; j++) {
+      sb.append("/**\n * @param {number} n\n * @param {string} s\n * @return {string}\n */\n");
+      sb.append("ns").append(index).append(".f").append(j).append(" = function(n, s) {\n");
+      sb.append("  var v = new Value").append(index).append("(n);\n");
+      sb.append("  var total = 0;\n");
+      sb.append("  for (var i = 0; i < n; i++) {\n");
+      sb.append("    total += i * ").append(j + 1).append(";\n");
+      sb.append("    if (total > 1000) {\n      v.add(s + i);\n      total -= s.length;\n    }\n");
+      sb.append("  }\n");
+      sb.append("  var result = {count: total, label: s + v.get()};\n");
+      if (j > 0) {
+        sb.append("  result.label += ns").append(index).append(".f").append(j - 1);
+        sb.append("(n - 1, s);\n");
+      }
+      if (index > 0) {
+        sb.append("  result.label += ns").append(index - 1).append(".f").append(j);
+        sb.append("(n, s.substring(1));\n");
+      }
+      sb.append("  return result.label + result.count;\n};\n\n");
+    }
+
+    // Keep the code alive under ADVANCED_OPTIMIZATIONS.
+    sb.append("window['entry").append(index).append("'] = function(/** number */ n) {\n");
+    sb.append("  return ns").append(index).append(".f").append(FUNCTIONS_PER_FILE - 1);
+    sb.append("(n, 'x');\n};\n");
+    return sb.toString();
+  }
+
+  /** Returns the externs for the browser environment that are bundled with the compiler. */
+  static ImmutableList<SourceFile> builtinExterns() throws IOException {
+    return ImmutableList.copyOf(
+        CommandLineRunner.getBuiltinExterns(CompilerOptions.Environment.BROWSER));
+  }
+
+  /** Returns a compiler that doesn't print diagnostics, to keep them out of the measurements. */
+  static Compiler newCompiler() {
+    return new Compiler(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  /** Fails the benchmark if the compilation had errors, since the results would be meaningless. */
+  static void checkNoErrors(Compiler compiler) {
+    if (compiler.hasErrors()) {
+      throw new IllegalStateException("Benchmark compilation failed: " + compiler.getErrors());
+    }
+  }
+
+  /** Returns the options that the command line runner uses for the given compilation level. */
+  static CompilerOptions optionsForLevel(CompilationLevel level) {
+    CompilerOptions options = new CompilerOptions();
+    level.setOptionsForCompilationLevel(options);
+    level.setTypeBasedOptimizationOptions(options);
+    return options;
+  }
+
+  /**
+   * Runs the checks of a compilation and returns the saved compiler state, so that benchmarks can
+   * start from it with {@link #restoreState} without measuring the checks.
+   */
+  static byte[] runChecksAndSaveState(
+      ImmutableList<SourceFile> externs, ImmutableList<SourceFile> inputs, CompilerOptions options)
+      throws IOException {
+    Compiler compiler = newCompiler();
+    compiler.init(externs, inputs, options);
+    compiler.parseForCompilation();
+    checkNoErrors(compiler);
+    compiler.stage1Passes();
+    checkNoErrors(compiler);
+    return saveState(compiler);
+  }
+
+  static byte[] saveState(Compiler compiler) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiler.saveState(out);
+    return out.toByteArray();
+  }
+
+  /** Returns a new compiler in the state saved by {@link #saveState}. */
+  static Compiler restoreState(
+      byte[] state,
+      ImmutableList<SourceFile> externs,
+      ImmutableList<SourceFile> inputs,
+      CompilerOptions options)
+      throws IOException, ClassNotFoundException {
+    Compiler compiler = newCompiler();
+    compiler.init(externs, inputs, options);
+    compiler.restoreState(new ByteArrayInputStream(state));
+    checkNoErrors(compiler);
+    return compiler;
+  }
+
+  private BenchmarkSupport() {}
+}
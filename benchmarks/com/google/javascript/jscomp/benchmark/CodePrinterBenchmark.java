@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.SourceMap;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures printing the output code, with and without generating a V3 source map. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodePrinterBenchmark {
+  @Param({"WHITESPACE_ONLY", "ADVANCED_OPTIMIZATIONS"})
+  public CompilationLevel level;
+
+  @Param({"false", "true"})
+  public boolean sourceMap;
+
+  @Param({"200"})
+  public int numFiles;
+
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void compile() throws IOException {
+    ImmutableList<SourceFile> externs = BenchmarkSupport.builtinExterns();
+    ImmutableList<SourceFile> inputs = BenchmarkSupport.syntheticInputs(numFiles);
+    CompilerOptions options = BenchmarkSupport.optionsForLevel(level);
+    if (sourceMap) {
+      options.setSourceMapFormat(SourceMap.Format.V3);
+      options.setSourceMapOutputPath("benchmark.js.map");
+    }
+    compiler = BenchmarkSupport.newCompiler();
+    compiler.compile(externs, inputs, options);
+    BenchmarkSupport.checkNoErrors(compiler);
+  }
+
+  @Benchmark
+  public String print() throws IOException {
+    SourceMap map = compiler.getSourceMap();
+    if (map == null) {
+      return compiler.toSource();
+    }
+    map.reset();
+    String source = compiler.toSource();
+    StringBuilder mapOutput = new StringBuilder();
+    map.appendTo(mapOutput, "benchmark.js");
+    return source + mapOutput;
+  }
+}
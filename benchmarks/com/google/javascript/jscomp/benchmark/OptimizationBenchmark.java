@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.CompilerOptions.SegmentOfCompilationToRun;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the optimization passes, including the PhaseOptimizer loops, on their own.
+ *
+ * <p>The checks run once per trial. Each invocation starts from their saved state, so neither
+ * parsing nor type checking is part of the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OptimizationBenchmark {
+  @Param({"SIMPLE_OPTIMIZATIONS", "ADVANCED_OPTIMIZATIONS"})
+  public CompilationLevel level;
+
+  @Param({"200"})
+  public int numFiles;
+
+  private ImmutableList<SourceFile> externs;
+  private ImmutableList<SourceFile> inputs;
+  private CompilerOptions options;
+  private byte[] stateAfterChecks;
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void runChecks() throws IOException {
+    externs = BenchmarkSupport.builtinExterns();
+    inputs = BenchmarkSupport.syntheticInputs(numFiles);
+    options = BenchmarkSupport.optionsForLevel(level);
+    stateAfterChecks = BenchmarkSupport.runChecksAndSaveState(externs, inputs, options);
+  }
+
+  @Setup(Level.Invocation)
+  public void restoreChecks() throws IOException, ClassNotFoundException {
+    compiler = BenchmarkSupport.restoreState(stateAfterChecks, externs, inputs, options);
+  }
+
+  @Benchmark
+  public Compiler optimize() {
+    compiler.stage2Passes(SegmentOfCompilationToRun.OPTIMIZATIONS);
+    BenchmarkSupport.checkNoErrors(compiler);
+    return compiler;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures parsing, including the conversion from the parse tree to the AST by IRFactory. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParserBenchmark {
+  /** Either "synthetic" or "externs". */
+  @Param({"synthetic", "externs"})
+  public String corpus;
+
+  /** Number of files of the synthetic corpus. */
+  @Param({"200"})
+  public int numFiles;
+
+  private ImmutableList<SourceFile> files;
+
+  @Setup
+  public void setUp() throws IOException {
+    files =
+        corpus.equals("externs")
+            ? BenchmarkSupport.builtinExterns()
+            : BenchmarkSupport.syntheticInputs(numFiles);
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    Compiler compiler = BenchmarkSupport.newCompiler();
+    compiler.initOptions(new CompilerOptions());
+    for (SourceFile file : files) {
+      blackhole.consume(compiler.parse(file));
+    }
+    BenchmarkSupport.checkNoErrors(compiler);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a checks-only compilation with type checking, which is dominated by TypedScopeCreator
+ * and TypeInference.
+ *
+ * <p>The synthetic corpus has {@link BenchmarkSupport#FUNCTIONS_PER_FILE} functions per file, so
+ * the cost per function is the score divided by {@code numFiles * FUNCTIONS_PER_FILE}. Compare
+ * with the parse time of {@link ParserBenchmark} to see how much of the score is parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypeCheckBenchmark {
+  @Param({"50", "200"})
+  public int numFiles;
+
+  private ImmutableList<SourceFile> externs;
+  private ImmutableList<SourceFile> inputs;
+
+  @Setup
+  public void setUp() throws IOException {
+    externs = BenchmarkSupport.builtinExterns();
+    inputs = BenchmarkSupport.syntheticInputs(numFiles);
+  }
+
+  @Benchmark
+  public Compiler check() {
+    CompilerOptions options = new CompilerOptions();
+    options.setChecksOnly(true);
+    options.setCheckTypes(true);
+    Compiler compiler = BenchmarkSupport.newCompiler();
+    compiler.compile(externs, inputs, options);
+    BenchmarkSupport.checkNoErrors(compiler);
+    return compiler;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilationLevel;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serializing the typed AST after the checks, and deserializing it again, as done when
+ * saving and restoring the compiler state between the stages of a multistage build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypedAstBenchmark {
+  @Param({"200"})
+  public int numFiles;
+
+  private ImmutableList<SourceFile> externs;
+  private ImmutableList<SourceFile> inputs;
+  private CompilerOptions options;
+  private byte[] stateAfterChecks;
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void runChecks() throws IOException {
+    externs = BenchmarkSupport.builtinExterns();
+    inputs = BenchmarkSupport.syntheticInputs(numFiles);
+    options = BenchmarkSupport.optionsForLevel(CompilationLevel.ADVANCED_OPTIMIZATIONS);
+    stateAfterChecks = BenchmarkSupport.runChecksAndSaveState(externs, inputs, options);
+  }
+
+  @Setup(Level.Invocation)
+  public void restoreChecks() throws IOException, ClassNotFoundException {
+    compiler = BenchmarkSupport.restoreState(stateAfterChecks, externs, inputs, options);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return BenchmarkSupport.saveState(compiler);
+  }
+
+  @Benchmark
+  public Compiler deserialize() throws IOException, ClassNotFoundException {
+    return BenchmarkSupport.restoreState(stateAfterChecks, externs, inputs, options);
+  }
+}
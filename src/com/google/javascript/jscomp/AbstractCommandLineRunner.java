@@ -74,6 +74,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -1015,16 +1016,12 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     if (!isOutputInJson()) {
       maybeCreateDirsForPath(fileName);
     }
+    writeOutput(out, compiler, lt, m, getChunkWrapper(fileName, m), "%s", null, fileName);
+  }
+
+  private String getChunkWrapper(String fileName, JSChunk chunk) {
     String baseName = new File(fileName).getName();
-    writeOutput(
-        out,
-        compiler,
-        lt,
-        m,
-        parsedModuleWrappers.get(m.getName()).replace("%basename%", baseName),
-        "%s",
-        null,
-        fileName);
+    return parsedModuleWrappers.get(chunk.getName()).replace("%basename%", baseName);
   }
 
   /**
@@ -1049,8 +1046,19 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     }
     checkState(compiler.getOptions().outputJs == OutputJs.NORMAL);
 
-    String code = chunk == null ? compiler.toSource() : compiler.toSource(licenseTracker, chunk);
-    writeOutput(out, compiler, code, wrapper, codePlaceholder, escaper, filename);
+    if (escaper != null && wrapper.contains(codePlaceholder)) {
+      // The code must be complete before it can be escaped.
+      String code = chunk == null ? compiler.toSource() : compiler.toSource(licenseTracker, chunk);
+      writeOutput(out, compiler, code, wrapper, codePlaceholder, escaper, filename);
+      return;
+    }
+    // Stream the code to the output instead of building it in memory first.
+    writeWrappedOutput(
+        out,
+        compiler.getSourceMap(),
+        wrapper,
+        codePlaceholder,
+        codeOut -> compiler.writeSource(codeOut, licenseTracker, chunk));
   }
 
   /**
@@ -1067,6 +1075,34 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
       @Nullable Function<String, String> escaper,
       String filename)
       throws IOException {
+    String escapedCode =
+        escaper != null && wrapper.contains(codePlaceholder) ? escaper.apply(code) : code;
+    writeWrappedOutput(
+        out,
+        compiler != null ? compiler.getSourceMap() : null,
+        wrapper,
+        codePlaceholder,
+        codeOut -> codeOut.append(escapedCode));
+  }
+
+  /** Writes code to an {@link Appendable}. */
+  private interface CodeWriter {
+    void writeTo(Appendable out) throws IOException;
+  }
+
+  /**
+   * Writes code to an output stream, wrapping it in the wrapper if it contains the placeholder where
+   * the code should be inserted.
+   *
+   * @param sourceMap the source map of the code, which is adjusted for the wrapper
+   */
+  private void writeWrappedOutput(
+      Appendable out,
+      @Nullable SourceMap sourceMap,
+      String wrapper,
+      String codePlaceholder,
+      CodeWriter code)
+      throws IOException {
     int pos = wrapper.indexOf(codePlaceholder);
     if (pos != -1) {
       String prefix = "";
@@ -1076,7 +1112,7 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
         out.append(prefix);
       }
 
-      out.append(escaper == null ? code : escaper.apply(code));
+      code.writeTo(out);
 
       int suffixStart = pos + codePlaceholder.length();
       if (suffixStart != wrapper.length()) {
@@ -1089,11 +1125,11 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
 
       // If we have a source map, adjust its offsets to match
       // the code WITHIN the wrapper.
-      if (compiler != null && compiler.getSourceMap() != null) {
-        compiler.getSourceMap().setWrapperPrefix(prefix);
+      if (sourceMap != null) {
+        sourceMap.setWrapperPrefix(prefix);
       }
     } else {
-      out.append(code);
+      code.writeTo(out);
       if (getCommandLineConfig().includeTrailingNewline) {
         out.append('\n');
       }
@@ -1213,6 +1249,25 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     List<SourceFile> sources =
         createSourceInputs(jsChunkSpecs, config.mixedJsSources, jsonFiles, config.moduleRoots);
 
+    @Nullable TypedAstCache typedAstCache = null;
+    @Nullable String typedAstCacheKey = null;
+    if (shouldUseTypedAstCache(options)) {
+      typedAstCache = new TypedAstCache(Path.of(config.typedAstCacheDirectory));
+      typedAstCacheKey =
+          TypedAstCache.computeKey(
+              getVersionText()
+                  + "\n"
+                  + CompilerBuildFingerprint.get()
+                  + "\n"
+                  + config.typedAstCacheConfiguration,
+              externs,
+              sources);
+      if (typedAstCache.restore(typedAstCacheKey, options.getTypedAstOutputFile())) {
+        metricsRecorder.recordActionName("typed ast cache hit");
+        return 0;
+      }
+    }
+
     if (!jsChunkSpecs.isEmpty()) {
       if (isInTestMode()) {
         chunks = chunksSupplierForTesting.get();
@@ -1308,9 +1363,31 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
             ? processResults(result, chunks, options)
             : getExitStatusForResult(result);
     metricsRecorder.recordResultMetrics(compiler, result);
+    if (typedAstCacheKey != null
+        && exitStatus == 0
+        && compiler.getErrorCount() == 0
+        && compiler.getWarningCount() == 0) {
+      // A cache hit doesn't report anything, so only cache compilations without diagnostics.
+      typedAstCache.store(typedAstCacheKey, options.getTypedAstOutputFile());
+    }
     return exitStatus;
   }
 
+  /**
+   * Whether the TypedAST output of this compilation can be restored from and stored in the {@link
+   * TypedAstCache}. This is only the case for checks-only compilations whose sole output is a
+   * TypedAST.
+   */
+  private boolean shouldUseTypedAstCache(CompilerOptions options) {
+    return config.typedAstCacheDirectory != null
+        && options.checksOnly
+        && options.getTypedAstOutputFile() != null
+        && config.jsOutputFile.isEmpty()
+        && config.typedAstListInputFilename == null
+        && config.restoredCompilationStage == -1
+        && config.getSaveCompilationStateToFilename() == null;
+  }
+
   private void performCompilation(CompileMetricsRecorderInterface metricsRecorder) {
     // Parse, restore from a save file, or initialize from a TypedAST list.
     initializeStateBeforeCompilation();
@@ -1665,6 +1742,13 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     }
 
     ChunkGraphAwareLicenseTracker mlicenseTracker = new ChunkGraphAwareLicenseTracker(compiler);
+    if (options.numParallelThreads > 1
+        && !isOutputInJson()
+        && options.outputJs == OutputJs.NORMAL) {
+      outputChunksInParallel(modules, options, mlicenseTracker);
+      return null;
+    }
+
     for (JSChunk m : modules) {
       if (m.getName().equals(JSChunk.WEAK_CHUNK_NAME)) {
         // Skip the weak module, which is always empty.
@@ -1703,6 +1787,47 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     return null;
   }
 
+  /**
+   * Writes the output of each chunk, and its source map, to its own files, printing the chunks on
+   * multiple threads. The files are the same as the ones written one chunk at a time.
+   */
+  private void outputChunksInParallel(
+      Iterable<JSChunk> chunks, B options, ChunkGraphAwareLicenseTracker licenseTracker)
+      throws IOException {
+    List<JSChunk> chunksToPrint = new ArrayList<>();
+    for (JSChunk chunk : chunks) {
+      if (chunk.getName().equals(JSChunk.WEAK_CHUNK_NAME)) {
+        // Skip the weak chunk, which is always empty.
+        continue;
+      }
+      chunksToPrint.add(chunk);
+      // Also initializes the output file names before they are read on other threads.
+      maybeCreateDirsForPath(getChunkOutputFileName(chunk));
+    }
+
+    new ParallelChunkPrinter(compiler, options.numParallelThreads)
+        .print(
+            chunksToPrint,
+            licenseTracker,
+            (chunk, code, sourceMap) -> {
+              String chunkFilename = getChunkOutputFileName(chunk);
+              try (Writer writer = fileNameToLegacyOutputWriter(chunkFilename)) {
+                writeWrappedOutput(
+                    writer,
+                    sourceMap,
+                    getChunkWrapper(chunkFilename, chunk),
+                    "%s",
+                    out -> out.append(code));
+              }
+              if (sourceMap != null) {
+                try (Writer mapFileOut =
+                    fileNameToOutputWriter2(expandSourceMapPath(options, chunk))) {
+                  sourceMap.appendTo(mapFileOut, chunkFilename);
+                }
+              }
+            });
+  }
+
   /** Given an output module, convert it to a JSONFileSpec with associated sourcemap */
   private JsonFileSpec createJsonFileFromModule(JSChunk chunk) throws IOException {
     compiler.resetAndIntitializeSourceMap();
@@ -2527,6 +2652,28 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
       return this;
     }
 
+    private @Nullable String typedAstCacheDirectory = null;
+    private String typedAstCacheConfiguration = "";
+
+    /**
+     * Sets a directory in which to cache the TypedAST output of checks-only compilations, keyed by
+     * the content of their inputs. See {@link TypedAstCache}.
+     *
+     * @param configuration a fingerprint of everything besides the inputs that affects the output,
+     *     e.g. the command line flags
+     */
+    @CanIgnoreReturnValue
+    public CommandLineConfig setTypedAstCache(@Nullable String directory, String configuration) {
+      this.typedAstCacheDirectory = directory;
+      this.typedAstCacheConfiguration = checkNotNull(configuration);
+      return this;
+    }
+
+    /** Returns the fingerprint of the flags for the TypedAST cache, or null if it isn't used. */
+    @Nullable String getTypedAstCacheConfiguration() {
+      return typedAstCacheDirectory != null ? typedAstCacheConfiguration : null;
+    }
+
     private @Nullable String saveCompilationStateToFilename = null;
 
     /** Set the compiler to perform the first phase and save the intermediate result to a file. */
@@ -69,6 +69,9 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
 
   abstract Supplier<Node> getTypedAstDeserializer(SourceFile file);
 
+  /** Returns the cache of parsed ASTs to use, or null if parse results are not cached. */
+  abstract @Nullable ParseCache getParseCache();
+
   /** Looks up an input (possibly an externs input) by input id. May return null. */
   @Override
   public abstract CompilerInput getInput(InputId inputId);
@@ -189,6 +192,18 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   /** Report an error or warning. */
   public abstract void report(JSError error);
 
+  /**
+   * Starts collecting the errors and warnings reported on the current thread instead of reporting
+   * them. Used to report diagnostics from concurrently running passes in a deterministic order.
+   */
+  abstract void startBufferingDiagnostics();
+
+  /**
+   * Stops collecting diagnostics on the current thread and returns the ones collected since {@link
+   * #startBufferingDiagnostics}, in the order they were reported.
+   */
+  abstract ImmutableList<JSError> stopBufferingDiagnostics();
+
   /** Report an internal error. */
   abstract void throwInternalError(String msg, Throwable cause);
 
@@ -228,6 +243,13 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
    */
   public abstract void reportAmbiguatePropertiesSummary(Supplier<String> summarySupplier);
 
+  /**
+   * Used by `InlineFunctions` to record a one-line summary of its cost estimates and decisions.
+   *
+   * <p>This information will be included in the tracer mode output, if that is enabled.
+   */
+  public abstract void reportInlineFunctionsSummary(Supplier<String> summarySupplier);
+
   /**
    * Gets a suitable SCRIPT node to serve as a parent for code insertion. If {@code module} contains
    * any inputs, the returned node will be the SCRIPT node corresponding to its first input. If
@@ -333,6 +355,15 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
 
   abstract ChangeTracker getChangeTracker();
 
+  /** Returns the {@link GlobalNamespace} instances shared by the passes that only read them. */
+  abstract GlobalNamespaceCache getGlobalNamespaceCache();
+
+  /** Returns the nodes collected by {@link OptimizeCalls}, kept for each change scope. */
+  abstract ReferenceMapCache getReferenceMapCache();
+
+  /** Returns the function cost estimates kept by {@link InlineFunctions}. */
+  abstract InlineCostCache getInlineCostCache();
+
   /** Register a provider for some type of index. */
   abstract void addIndexProvider(IndexProvider<?> indexProvider);
 
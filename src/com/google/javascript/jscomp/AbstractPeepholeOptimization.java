@@ -25,6 +25,7 @@ import com.google.javascript.jscomp.parsing.parser.FeatureSet.Feature;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.StaticSourceFile;
 import java.math.BigInteger;
+import java.util.Map;
 
 /**
  * An abstract class whose implementations run peephole optimizations:
@@ -109,6 +110,20 @@ abstract class AbstractPeepholeOptimization {
     astAnalyzer = null;
   }
 
+  /**
+   * Like {@link #endTraversal()}, but adds the features used by the new code to {@code
+   * addedFeatures}, keyed by SCRIPT node, instead of to the SCRIPT nodes themselves.
+   */
+  void endTraversal(Map<Node, FeatureSet> addedFeatures) {
+    for (StaticSourceFile file : newFeatures.keySet()) {
+      Node script = compiler.getScriptNode(file.getName());
+      addedFeatures.merge(
+          script, FeatureSet.BARE_MINIMUM.with(newFeatures.get(file)), FeatureSet::union);
+    }
+    this.compiler = null;
+    astAnalyzer = null;
+  }
+
   /** Returns whether the node may create new mutable state, or change existing state. */
   protected boolean mayEffectMutableState(Node n) {
     return astAnalyzer.mayEffectMutableState(n);
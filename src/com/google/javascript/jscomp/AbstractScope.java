@@ -63,6 +63,9 @@ import org.jspecify.annotations.Nullable;
  */
 public abstract class AbstractScope<S extends AbstractScope<S, V>, V extends AbstractVar<S, V>>
     implements StaticScope, Serializable {
+  // Scopes with more vars than this, typically global scopes, store them in a CompactVarTable.
+  private static final int COMPACT_VAR_TABLE_THRESHOLD = 1024;
+
   private Map<String, V> vars = ImmutableMap.of();
   private Map<ImplicitVar, V> implicitVars = ImmutableMap.of();
   private final Node rootNode;
@@ -154,6 +157,9 @@ public abstract class AbstractScope<S extends AbstractScope<S, V>, V extends Abs
       vars = Maps.newLinkedHashMapWithExpectedSize(1);
     }
     vars.put(name, var);
+    if (vars.size() > COMPACT_VAR_TABLE_THRESHOLD && !(vars instanceof CompactVarTable)) {
+      vars = new CompactVarTable<>(vars);
+    }
   }
 
   final void clearVarsInternal() {
@@ -187,13 +193,16 @@ public abstract class AbstractScope<S extends AbstractScope<S, V>, V extends Abs
       return null;
     }
 
-    // For memory savings, only initialize the map once it needs to add its first element
-    ImmutableMap<ImplicitVar, V> emptySentinel = ImmutableMap.of();
-    if (implicitVars == emptySentinel) {
-      implicitVars = new EnumMap<>(ImplicitVar.class);
-    }
+    // Typed scopes are read by multiple threads during parallel type inference.
+    synchronized (this) {
+      // For memory savings, only initialize the map once it needs to add its first element
+      ImmutableMap<ImplicitVar, V> emptySentinel = ImmutableMap.of();
+      if (implicitVars == emptySentinel) {
+        implicitVars = new EnumMap<>(ImplicitVar.class);
+      }
 
-    return implicitVars.computeIfAbsent(name, this::makeImplicitVar);
+      return implicitVars.computeIfAbsent(name, this::makeImplicitVar);
+    }
   }
 
   @Override
@@ -303,6 +312,17 @@ public abstract class AbstractScope<S extends AbstractScope<S, V>, V extends Abs
     return Collections.unmodifiableCollection(vars.values());
   }
 
+  /** Returns a one-line description of the vars in this scope and of the memory they take. */
+  final String getVarTableSummary() {
+    if (vars instanceof CompactVarTable<?> table) {
+      return vars.size()
+          + " vars in a compact table of ~"
+          + table.estimateFootprintBytes()
+          + " bytes";
+    }
+    return vars.size() + " vars in a hash map";
+  }
+
   /** Returns number of variables in this scope (excluding the special 'arguments' variable) */
   public final int getVarCount() {
     return vars.size();
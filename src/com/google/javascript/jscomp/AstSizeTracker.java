@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.Node;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the number of nodes of an AST up to date, like {@link NodeUtil#countAstSize}, by recounting
+ * only the change scopes that the {@link ChangeTracker} reports as changed.
+ *
+ * <p>Each change scope is counted without the nodes of the change scopes nested in it. Deleted and
+ * moved functions are noticed when the scope they were removed from is recounted. The count is
+ * exact as long as passes report their changes, which the optimization loop already relies on.
+ */
+final class AstSizeTracker {
+
+  /** The nodes of a change scope, excluding nested change scopes, and those nested scopes. */
+  private record ScopeSize(int ownSize, ImmutableList<Node> nestedScopes) {}
+
+  private final ChangeTracker changeTracker;
+  private final Node root;
+  // The name under which the time of the last count is marked in the change timeline.
+  private final String timelineName;
+  private final Map<Node, ScopeSize> sizes = new LinkedHashMap<>();
+  private int astSize = 0;
+
+  AstSizeTracker(ChangeTracker changeTracker, Node root, String timelineName) {
+    this.changeTracker = changeTracker;
+    this.root = root;
+    this.timelineName = timelineName;
+    var unused = changeTracker.getChangedScopeNodesForPass(timelineName);
+    recount(root);
+  }
+
+  /** Returns the number of nodes in the AST, recounting the scopes changed since the last call. */
+  int getAstSize() {
+    List<Node> changedScopes = changeTracker.getChangedScopeNodesForPass(timelineName);
+    // The root isn't a change scope, but only contains the scripts, so recounting it is cheap.
+    recount(root);
+    for (Node changeScopeRoot : changedScopes) {
+      // A scope that isn't in the AST anymore is dropped when its former parent is recounted.
+      if (isAttached(changeScopeRoot)) {
+        recount(changeScopeRoot);
+      }
+    }
+    return astSize;
+  }
+
+  private void recount(Node scopeRoot) {
+    ScopeSize oldSize = sizes.get(scopeRoot);
+    ScopeSize newSize = countScope(scopeRoot);
+    sizes.put(scopeRoot, newSize);
+    astSize += newSize.ownSize() - (oldSize == null ? 0 : oldSize.ownSize());
+
+    for (Node nested : newSize.nestedScopes()) {
+      if (!sizes.containsKey(nested)) {
+        // A new scope, which may contain new scopes itself.
+        recount(nested);
+      }
+    }
+    if (oldSize != null) {
+      Set<Node> stillNested = new LinkedHashSet<>(newSize.nestedScopes());
+      for (Node nested : oldSize.nestedScopes()) {
+        if (!stillNested.contains(nested)) {
+          removeIfDetached(nested);
+        }
+      }
+    }
+  }
+
+  private void removeIfDetached(Node scopeRoot) {
+    if (isAttached(scopeRoot)) {
+      // Moved to another scope.
+      return;
+    }
+    ScopeSize size = sizes.remove(scopeRoot);
+    if (size == null) {
+      return;
+    }
+    astSize -= size.ownSize();
+    for (Node nested : size.nestedScopes()) {
+      removeIfDetached(nested);
+    }
+  }
+
+  private boolean isAttached(Node n) {
+    for (Node ancestor = n; ancestor != null; ancestor = ancestor.getParent()) {
+      if (ancestor == root) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ScopeSize countScope(Node scopeRoot) {
+    ImmutableList.Builder<Node> nestedScopes = ImmutableList.builder();
+    int ownSize = 1 + countOwnDescendants(scopeRoot, nestedScopes);
+    return new ScopeSize(ownSize, nestedScopes.build());
+  }
+
+  private static int countOwnDescendants(Node n, ImmutableList.Builder<Node> nestedScopes) {
+    int count = 0;
+    for (Node c = n.getFirstChild(); c != null; c = c.getNext()) {
+      if (ChangeTracker.isChangeScopeRoot(c)) {
+        nestedScopes.add(c);
+      } else {
+        count += 1 + countOwnDescendants(c, nestedScopes);
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.rhino.Node;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pass that can be run on individual change scopes, created by a {@link
+ * PassFactory#isChangeScopeLocal() change-scope-local} factory.
+ *
+ * <p>In the optimization loop such passes are only run on the change scopes that changed since
+ * their last run, and independent change scopes are processed concurrently, see {@link
+ * ChangeScopeParallelPassRunner}.
+ */
+interface ChangeScopeLocalPass extends CompilerPass {
+
+  /**
+   * Processes the code of the given change scopes, excluding the change scopes nested in them.
+   *
+   * <p>Called on a worker thread that buffers the reported changes, see {@link
+   * ChangeTracker#getBufferedChanges}. Other threads may process unrelated change scopes at the
+   * same time, so the pass must not look at or modify code outside the given scopes and the scopes
+   * nested in them, and must not touch other state shared by the whole compilation, just like a
+   * {@link PassFactory#isScriptLocal() script-local} pass.
+   *
+   * <p>Change scopes of the same script may be processed concurrently, so the pass must not add
+   * features to the SCRIPT node either. It returns them instead, to be added on the calling thread.
+   *
+   * @return the features used by the new code, keyed by the SCRIPT node they should be added to
+   */
+  Map<Node, FeatureSet> processChangeScopes(List<Node> changeScopeRoots);
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs a {@link PassFactory#isChangeScopeLocal() change-scope-local} pass on the change scopes that
+ * changed since its last run, using multiple threads.
+ *
+ * <p>A changed scope is processed together with the changed scopes nested in it, so that no two
+ * threads work on the same part of the AST. Each such group gets its own instance of the pass, and
+ * the reported changes and diagnostics are replayed in the order of the groups, like in {@link
+ * ScriptParallelPassRunner}.
+ */
+class ChangeScopeParallelPassRunner {
+  private final AbstractCompiler compiler;
+  private final int numParallelThreads;
+
+  ChangeScopeParallelPassRunner(AbstractCompiler compiler, int numParallelThreads) {
+    checkArgument(numParallelThreads > 1, numParallelThreads);
+    this.compiler = compiler;
+    this.numParallelThreads = numParallelThreads;
+  }
+
+  void process(PassFactory factory, Node root) {
+    checkArgument(
+        factory.isChangeScopeLocal(), "Not a change-scope-local pass: %s", factory.getName());
+    List<Node> changedScopes =
+        compiler.getChangeTracker().getChangedScopeNodesForPass(factory.getName());
+    if (changedScopes == null) {
+      // This is the first run of the pass, so every scope counts as changed.
+      changedScopes = new ArrayList<>();
+      collectChangeScopes(root, changedScopes);
+    }
+
+    List<Runnable> tasks = new ArrayList<>();
+    List<Map<Node, FeatureSet>> addedFeatures = new ArrayList<>();
+    for (List<Node> group : groupNestedScopes(changedScopes)) {
+      Map<Node, FeatureSet> groupFeatures = new LinkedHashMap<>();
+      addedFeatures.add(groupFeatures);
+      tasks.add(() -> groupFeatures.putAll(createPass(factory).processChangeScopes(group)));
+    }
+    if (tasks.isEmpty()) {
+      return;
+    }
+    ScriptParallelPassRunner.runBuffered(
+        compiler, numParallelThreads, "jscompiler-ChangeScopeParallelPassRunner", tasks);
+
+    // Groups of the same script ran concurrently, so their features are only added now.
+    for (Map<Node, FeatureSet> groupFeatures : addedFeatures) {
+      for (Map.Entry<Node, FeatureSet> entry : groupFeatures.entrySet()) {
+        NodeUtil.addFeaturesToScript(entry.getKey(), entry.getValue(), compiler);
+      }
+    }
+  }
+
+  private ChangeScopeLocalPass createPass(PassFactory factory) {
+    CompilerPass pass = factory.create(compiler);
+    checkState(pass instanceof ChangeScopeLocalPass, "Not a ChangeScopeLocalPass: %s", pass);
+    return (ChangeScopeLocalPass) pass;
+  }
+
+  private static void collectChangeScopes(Node n, List<Node> changeScopes) {
+    for (Node c = n.getFirstChild(); c != null; c = c.getNext()) {
+      if (ChangeTracker.isChangeScopeRoot(c)) {
+        changeScopes.add(c);
+      }
+      collectChangeScopes(c, changeScopes);
+    }
+  }
+
+  /**
+   * Groups every changed scope with the outermost changed scope that contains it, keeping the
+   * order in which they were changed.
+   */
+  private static List<List<Node>> groupNestedScopes(List<Node> changedScopes) {
+    Set<Node> changed = new LinkedHashSet<>(changedScopes);
+    Map<Node, List<Node>> groups = new LinkedHashMap<>();
+    for (Node changeScopeRoot : changed) {
+      Node outermost = changeScopeRoot;
+      for (Node ancestor = changeScopeRoot.getParent();
+          ancestor != null;
+          ancestor = ancestor.getParent()) {
+        if (changed.contains(ancestor)) {
+          outermost = ancestor;
+        }
+      }
+      groups.computeIfAbsent(outermost, (Node k) -> new ArrayList<>()).add(changeScopeRoot);
+    }
+    return new ArrayList<>(groups.values());
+  }
+}
@@ -20,7 +20,9 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 /** Tracks various kind of changes during a single compilation */
 public final class ChangeTracker {
@@ -32,6 +34,11 @@ public final class ChangeTracker {
   private final Timeline<Node> changeTimeline = new Timeline<>();
   private final RecentChange recentChange = new RecentChange();
   private final List<CodeChangeHandler> codeChangeHandlers = new ArrayList<>();
+  // Set on threads running a script-local pass concurrently with other threads. Changes reported on
+  // such a thread are collected here instead of being recorded, see ScriptParallelPassRunner.
+  private final ThreadLocal<List<Node>> bufferedChanges = new ThreadLocal<>();
+  // Set while the control flow graphs of unchanged change scopes are reused.
+  private volatile @Nullable ControlFlowGraphCache cfgCache;
 
   /** Registers a listener for code change events. */
   void addChangeHandler(CodeChangeHandler handler) {
@@ -52,13 +59,22 @@ public final class ChangeTracker {
    * #isChangeScopeRoot(Node)}
    */
   public void reportChangeToEnclosingScope(Node n) {
-    recordChange(getChangeScopeForNode(n));
+    Node changeScopeRoot = getChangeScopeForNode(n);
+    invalidateControlFlowGraph(changeScopeRoot);
+    if (maybeBufferChange(changeScopeRoot)) {
+      return;
+    }
+    recordChange(changeScopeRoot);
     notifyChangeHandlers();
   }
 
   /** Marks modifications to a function or script node */
   public void reportChangeToChangeScope(Node changeScopeRoot) {
     checkState(changeScopeRoot.isScript() || changeScopeRoot.isFunction());
+    invalidateControlFlowGraph(changeScopeRoot);
+    if (maybeBufferChange(changeScopeRoot)) {
+      return;
+    }
     recordChange(changeScopeRoot);
     notifyChangeHandlers();
   }
@@ -80,9 +96,80 @@ public final class ChangeTracker {
   public void reportFunctionDeleted(Node n) {
     checkState(n.isFunction());
     n.setDeleted(true);
+    invalidateControlFlowGraph(n);
+    if (maybeBufferChange(n)) {
+      return;
+    }
     changeTimeline.remove(n);
   }
 
+  /**
+   * Starts reusing the control flow graphs of change scopes until {@link
+   * #stopCachingControlFlowGraphs} is called. A graph is dropped when a change to its scope is
+   * reported.
+   */
+  void startCachingControlFlowGraphs() {
+    checkState(cfgCache == null, "Already caching control flow graphs");
+    cfgCache = new ControlFlowGraphCache();
+  }
+
+  /** Stops reusing control flow graphs, and drops the cached ones. */
+  void stopCachingControlFlowGraphs() {
+    cfgCache = null;
+  }
+
+  /** Returns the cache of control flow graphs, or null if they are not currently cached. */
+  @Nullable ControlFlowGraphCache getControlFlowGraphCache() {
+    return cfgCache;
+  }
+
+  /**
+   * Starts collecting the changes reported on the current thread instead of recording them.
+   *
+   * <p>Recording a change updates state shared by the whole compilation, so threads that modify
+   * the AST concurrently must buffer their changes and have them replayed on a single thread.
+   */
+  void startBufferingChanges() {
+    checkState(bufferedChanges.get() == null, "Already buffering changes on this thread");
+    bufferedChanges.set(new ArrayList<>());
+  }
+
+  /**
+   * Stops collecting changes on the current thread.
+   *
+   * @return the changed and deleted change scope roots reported since {@link
+   *     #startBufferingChanges}, in the order they were reported.
+   */
+  List<Node> stopBufferingChanges() {
+    List<Node> changes = bufferedChanges.get();
+    checkState(changes != null, "Not buffering changes on this thread");
+    bufferedChanges.remove();
+    return changes;
+  }
+
+  /**
+   * Returns the changes buffered so far on the current thread, in the order they were reported.
+   *
+   * <p>The returned list grows as more changes are reported, until {@link #stopBufferingChanges}.
+   */
+  List<Node> getBufferedChanges() {
+    List<Node> changes = bufferedChanges.get();
+    checkState(changes != null, "Not buffering changes on this thread");
+    return Collections.unmodifiableList(changes);
+  }
+
+  /** Records changes returned by {@link #stopBufferingChanges} as if they were just reported. */
+  void replayBufferedChanges(List<Node> changes) {
+    for (Node changeScopeRoot : changes) {
+      if (changeScopeRoot.isDeleted()) {
+        changeTimeline.remove(changeScopeRoot);
+      } else {
+        recordChange(changeScopeRoot);
+        notifyChangeHandlers();
+      }
+    }
+  }
+
   /**
    * Returns an accumulation of changed scope nodes since the last time the given pass was run.
    *
@@ -154,6 +241,24 @@ public final class ChangeTracker {
     return enclosingScopeNode;
   }
 
+  private void invalidateControlFlowGraph(Node changeScopeRoot) {
+    // Done even when the change is buffered, because the thread that reported it may ask for the
+    // graph again before the change is replayed.
+    ControlFlowGraphCache cache = cfgCache;
+    if (cache != null) {
+      cache.invalidate(changeScopeRoot);
+    }
+  }
+
+  private boolean maybeBufferChange(Node changeScopeRoot) {
+    List<Node> changes = bufferedChanges.get();
+    if (changes == null) {
+      return false;
+    }
+    changes.add(changeScopeRoot);
+    return true;
+  }
+
   private void recordChange(Node n) {
     if (n.isDeleted()) {
       // Some complicated passes (like SmartNameRemoval) might both change and delete a scope in
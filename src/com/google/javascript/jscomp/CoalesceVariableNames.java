@@ -18,7 +18,6 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static java.util.Comparator.comparingInt;
 
 import com.google.common.base.Joiner;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
@@ -27,22 +26,15 @@ import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.LiveVariablesAnalysis.LiveVariableLattice;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
-import com.google.javascript.jscomp.graph.GraphColoring;
 import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
-import com.google.javascript.jscomp.graph.GraphNode;
-import com.google.javascript.jscomp.graph.LinkedUndirectedGraph;
-import com.google.javascript.jscomp.graph.UndiGraph;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Comparator;
 import java.util.Deque;
-import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import org.jspecify.annotations.Nullable;
@@ -65,22 +57,27 @@ import org.jspecify.annotations.Nullable;
  * <p>The pass operates similar to a typical register allocator found in an
  * optimizing compiler by first computing live ranges with
  * {@link LiveVariablesAnalysis} and a variable interference graph. Then it uses
- * graph coloring in {@link GraphColoring} to determine which two variables can
- * be merge together safely.
+ * graph coloring to determine which two variables can be merge together safely.
+ *
+ * <p>Only the first {@link #MAX_VARIABLES_TO_COALESCE} variables of a function are considered, so
+ * that the interference graph, a bit matrix, stays small in very large functions.
  */
 class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements CompilerPass {
 
+  /**
+   * The maximum number of variables of a function that may be coalesced. The other variables keep
+   * their names, and the liveness analysis doesn't track them.
+   */
+  static final int MAX_VARIABLES_TO_COALESCE = 1000;
+
   private final AbstractCompiler compiler;
   private final MemoizedScopeCreator scopeCreator;
-  private final Deque<GraphColoring<Var, Void>> colorings;
+  private final Deque<InterferenceGraph> colorings;
   private final Deque<LiveVariablesAnalysis> liveAnalyses;
   private final boolean usePseudoNames;
   private final AstFactory astFactory;
   private LiveVariablesAnalysis liveness;
 
-  private final Comparator<Var> coloringTieBreaker =
-      comparingInt((Var arg) -> liveness.getVarIndex(arg.getName()));
-
   /** A stack of shouldOptimizeScope results. */
   private final Deque<Boolean> shouldOptimizeScopeStack = new ArrayDeque<>();
 
@@ -122,12 +119,8 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     // pass in the global scope.
 
     if (t.getScopeRoot().isFunction()) {
-      AllVarsDeclaredInFunction allVarsDeclaredInFunction =
-          NodeUtil.getAllVarsDeclaredInFunction(t.getCompiler(), t.getScopeCreator(), t.getScope());
-      if (LiveVariablesAnalysis.MAX_VARIABLES_TO_ANALYZE
-          > allVarsDeclaredInFunction.getAllVariablesInOrder().size()) {
-        return allVarsDeclaredInFunction;
-      }
+      return NodeUtil.getAllVarsDeclaredInFunction(
+          t.getCompiler(), t.getScopeCreator(), t.getScope());
     }
 
     return null;
@@ -150,7 +143,13 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
 
     liveness =
         new LiveVariablesAnalysis(
-            cfg, scope, null, compiler, this.scopeCreator, allVarsDeclaredInFunction);
+            cfg,
+            scope,
+            null,
+            compiler,
+            this.scopeCreator,
+            allVarsDeclaredInFunction,
+            MAX_VARIABLES_TO_COALESCE);
 
     if (FeatureSet.ES3.contains(compiler.getOptions().getOutputFeatureSet())) {
       // If the function has exactly 2 params, mark them as escaped. This is a work-around for a
@@ -169,15 +168,13 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     // The interference graph has the function's variables as its nodes and any interference
     // between the variables as the edges. Interference between two variables means that they are
     // alive at overlapping times, which means that their variable names cannot be coalesced.
-    UndiGraph<Var, Void> interferenceGraph =
+    InterferenceGraph interferenceGraph =
         computeVariableNamesInterferenceGraph(cfg, liveness.getEscapedLocals());
 
     // Color any interfering variables with different colors and any variables that can be safely
     // coalesced wih the same color.
-    GraphColoring<Var, Void> coloring =
-        new GreedyGraphColoring<>(interferenceGraph, coloringTieBreaker);
-    coloring.color();
-    colorings.push(coloring);
+    interferenceGraph.color();
+    colorings.push(interferenceGraph);
   }
 
   @Override
@@ -198,15 +195,15 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     }
 
     Var var = liveness.getAllVariables().get(n.getString());
-    GraphNode<Var, Void> vNode = colorings.peek().getGraph().getNode(var);
-    if (vNode == null) {
+    if (var == null || !colorings.peek().hasNode(liveness.getVarIndex(var.getName()))) {
       // This is not a local.
       return;
     }
-    Var coalescedVar = colorings.peek().getPartitionSuperNode(var);
+    int varIndex = liveness.getVarIndex(var.getName());
+    Var coalescedVar = colorings.peek().getPartitionSuperNode(varIndex);
 
     if (!usePseudoNames) {
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (var.equals(coalescedVar)) {
         // The coalesced name is itself, nothing to do.
         return;
       }
@@ -220,12 +217,11 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       // we should not sacrifice performance for non-debugging compilation to
       // make this fast.
       Set<String> allMergedNames = new TreeSet<>();
-      for (Var iVar : liveness.getAllVariablesInOrder()) {
+      for (int i = 0; i < liveness.getTrackedVariableCount(); i++) {
         // Look for all the variables that can be merged (in the graph by now)
         // and it is merged with the current coalescedVar.
-        if (colorings.peek().getGraph().getNode(iVar) != null
-            && colorings.peek().haveSameColor(iVar, coalescedVar)) {
-          allMergedNames.add(iVar.getName());
+        if (colorings.peek().hasNode(i) && colorings.peek().haveSameColor(i, varIndex)) {
+          allMergedNames.add(liveness.getAllVariablesInOrder().get(i).getName());
         }
       }
 
@@ -244,7 +240,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       n.setString(pseudoName);
       compiler.reportChangeToEnclosingScope(n);
 
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (var.equals(coalescedVar)) {
         return;
       }
       updateDeclarationsPostCoalescing(n, coalescedVar, parent);
@@ -312,37 +308,30 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
   /**
    * In order to determine when it is appropriate to coalesce two variables, we use a live variables
    * analysis to make sure they are not alive at the same time. We take every CFG node and determine
-   * which pairs of variables are alive at the same time. These pairs are set to true in a bit map.
-   * We take every pairing of variables and use the bit map to check if the two variables are alive
-   * at the same time. If two variables are alive at the same time, we create an edge between them
-   * in the interference graph. The interference graph is the input to a graph coloring algorithm
-   * that ensures any interfering variables are marked in different color groups, while variables
-   * that can safely be coalesced are assigned the same color group.
+   * which pairs of variables are alive at the same time. These pairs are set to true in a bit
+   * matrix, which is the interference graph. If two variables are alive at the same time, there is
+   * an edge between them. The interference graph is the input to a graph coloring algorithm that
+   * ensures any interfering variables are marked in different color groups, while variables that
+   * can safely be coalesced are assigned the same color group.
    *
    * @param escaped we don't want to coalesce any escaped variables
    * @return graph with variable nodes and edges representing variable interference
    */
-  private UndiGraph<Var, Void> computeVariableNamesInterferenceGraph(
+  private InterferenceGraph computeVariableNamesInterferenceGraph(
       ControlFlowGraph<Node> cfg, Set<? extends Var> escaped) {
-    UndiGraph<Var, Void> interferenceGraph = LinkedUndirectedGraph.create();
-
-    // First create a node for each non-escaped variable. We add these nodes in the order in which
-    // they appear in the code because we want the names that appear earlier in the code to be used
-    // when coalescing to variables that appear later in the code.
-    Var[] orderedVariables = liveness.getAllVariablesInOrder().toArray(new Var[0]);
-
-    // index i in interferenceGraphNodes is set to true when interferenceGraph
-    // has node orderedVariables[i]
-    BitSet interferenceGraphNodes = new BitSet();
-
-    // interferenceBitSet[i] = indices of all variables that should have an edge with
-    // orderedVariables[i]
-    BitSet[] interferenceBitSet = new BitSet[orderedVariables.length];
-    Arrays.setAll(interferenceBitSet, i -> new BitSet());
-
-    int vIndex = -1;
-    for (Var v : orderedVariables) {
-      vIndex++;
+    // Variables are identified by their index in the order in which they appear in the code,
+    // because we want the names that appear earlier in the code to be used when coalescing to
+    // variables that appear later in the code.
+    Var[] orderedVariables =
+        liveness
+            .getAllVariablesInOrder()
+            .subList(0, liveness.getTrackedVariableCount())
+            .toArray(new Var[0]);
+    InterferenceGraph interferenceGraph = new InterferenceGraph(orderedVariables);
+
+    // First create a node for each non-escaped variable.
+    for (int vIndex = 0; vIndex < orderedVariables.length; vIndex++) {
+      Var v = orderedVariables[vIndex];
       if (escaped.contains(v)) {
         continue;
       }
@@ -374,12 +363,11 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
         continue;
       }
 
-      interferenceGraph.createNode(v);
-      interferenceGraphNodes.set(vIndex);
+      interferenceGraph.addNode(vIndex);
     }
 
     // Go through every CFG node in the program and look at variables that are live.
-    // Set the pair of live variables in interferenceBitSet so we can add an edge between them.
+    // Mark the pairs of live variables as interfering.
     for (DiGraphNode<Node, Branch> cfgNode : cfg.getNodes()) {
       if (cfg.isImplicitReturn(cfgNode)) {
         continue;
@@ -390,50 +378,24 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       // Check the live states and add edge when possible. An edge between two variables
       // means that they are alive at overlapping times, which means that their
       // variable names cannot be coalesced.
-      LiveVariableLattice livein = state.getIn();
-      for (int i = livein.nextSetBit(0); i >= 0; i = livein.nextSetBit(i + 1)) {
-        for (int j = livein.nextSetBit(i); j >= 0; j = livein.nextSetBit(j + 1)) {
-          interferenceBitSet[i].set(j);
-        }
-      }
-      LiveVariableLattice liveout = state.getOut();
-      for (int i = liveout.nextSetBit(0); i >= 0; i = liveout.nextSetBit(i + 1)) {
-        for (int j = liveout.nextSetBit(i); j >= 0; j = liveout.nextSetBit(j + 1)) {
-          interferenceBitSet[i].set(j);
-        }
-      }
+      interferenceGraph.connectAll(state.getIn());
+      interferenceGraph.connectAll(state.getOut());
 
       LiveRangeChecker liveRangeChecker =
-          new LiveRangeChecker(cfgNode.getValue(), orderedVariables, state);
+          new LiveRangeChecker(cfgNode.getValue(), liveness, state);
       liveRangeChecker.check(cfgNode.getValue());
-      liveRangeChecker.setCrossingVariables(interferenceBitSet);
+      liveRangeChecker.setCrossingVariables(interferenceGraph);
     }
 
-    // Go through each variable and try to connect them.
-    int v1Index = -1;
-    for (Var v1 : orderedVariables) {
-      v1Index++;
-
-      int v2Index = -1;
-      for (Var v2 : orderedVariables) {
-        v2Index++;
-        // Skip duplicate pairs. Also avoid merging a variable with itself.
-        if (v1Index > v2Index) {
-          continue;
-        }
-
-        if (!interferenceGraphNodes.get(v1Index) || !interferenceGraphNodes.get(v2Index)) {
-          // Skip nodes that were not added. They are globals and escaped locals.
-          continue;
-        }
-
-        if ((v1.isParam() && v2.isParam()) || interferenceBitSet[v1Index].get(v2Index)) {
-          // Add an edge between variable pairs that are both parameters
-          // because we don't want parameters to share a name.
-          interferenceGraph.connectIfNotFound(v1, null, v2);
-        }
+    // Add an edge between variable pairs that are both parameters because we don't want parameters
+    // to share a name.
+    BitSet params = new BitSet();
+    for (int vIndex = 0; vIndex < orderedVariables.length; vIndex++) {
+      if (orderedVariables[vIndex].isParam()) {
+        params.set(vIndex);
       }
     }
+    interferenceGraph.connectAll(params);
     return interferenceGraph;
   }
 
@@ -576,24 +538,173 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     return NodeUtil.isWithinLoop(letParent);
   }
 
+  /**
+   * The interference graph of the variables of a function, and its coloring.
+   *
+   * <p>The variables are identified by their index in the order in which they appear in the code,
+   * and the edges are stored in a bit matrix. Coloring gives the same result as {@link
+   * GreedyGraphColoring} on the equivalent linked graph, with the index as tie-breaker, but doesn't
+   * allocate per node or per edge.
+   */
+  private static final class InterferenceGraph {
+    private final Var[] variables;
+    // The number of words in a row of the matrix.
+    private final int rowWords;
+    // Bit j of row i is set iff variables i and j interfere. Row i starts at index i * rowWords.
+    private final long[] matrix;
+    // The variables that may be coalesced, i.e. the nodes of the graph.
+    private final BitSet nodes = new BitSet();
+    // The color of each node, only valid for the nodes of the graph.
+    private final int[] colors;
+    // Maps a color to the variable whose name is used for all the variables of that color.
+    private Var @Nullable [] colorToVar;
+
+    InterferenceGraph(Var[] variables) {
+      this.variables = variables;
+      this.rowWords = (variables.length + 63) >>> 6;
+      this.matrix = new long[variables.length * rowWords];
+      this.colors = new int[variables.length];
+    }
+
+    void addNode(int index) {
+      nodes.set(index);
+    }
+
+    boolean hasNode(int index) {
+      return nodes.get(index);
+    }
+
+    /** Adds an edge between two variables. */
+    void connect(int i, int j) {
+      matrix[i * rowWords + (j >>> 6)] |= 1L << j;
+      matrix[j * rowWords + (i >>> 6)] |= 1L << i;
+    }
+
+    /** Adds an edge between every pair of variables that are live together. */
+    void connectAll(LiveVariableLattice live) {
+      long[] liveWords = new long[rowWords];
+      for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+        liveWords[i >>> 6] |= 1L << i;
+      }
+      connectAll(liveWords);
+    }
+
+    /** Adds an edge between every pair of variables in the set. */
+    void connectAll(BitSet vars) {
+      connectAll(Arrays.copyOf(vars.toLongArray(), rowWords));
+    }
+
+    private void connectAll(long[] words) {
+      for (int w = 0; w < rowWords; w++) {
+        for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+          int row = ((w << 6) + Long.numberOfTrailingZeros(bits)) * rowWords;
+          for (int k = 0; k < rowWords; k++) {
+            matrix[row + k] |= words[k];
+          }
+        }
+      }
+    }
+
+    /** Returns the number of neighbors of a node. Like in a linked graph, a self-edge counts two. */
+    private int getDegree(int index, long[] nodeWords) {
+      int row = index * rowWords;
+      int degree = 0;
+      for (int k = 0; k < nodeWords.length; k++) {
+        degree += Long.bitCount(matrix[row + k] & nodeWords[k]);
+      }
+      if ((matrix[row + (index >>> 6)] & (1L << index)) != 0) {
+        degree++;
+      }
+      return degree;
+    }
+
+    /**
+     * From the highest to lowest degree, assigns any uncolored node the current color if none of
+     * its neighbors has been assigned that color, then moves on to the next color.
+     */
+    void color() {
+      long[] nodeWords = nodes.toLongArray();
+      int[] degrees = new int[variables.length];
+      Integer[] order = new Integer[nodes.cardinality()];
+      int count = 0;
+      for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+        degrees[i] = getDegree(i, nodeWords);
+        order[count++] = i;
+      }
+      Arrays.sort(order, (a, b) -> degrees[a] != degrees[b] ? degrees[b] - degrees[a] : a - b);
+
+      int[] worklist = new int[order.length];
+      Arrays.setAll(worklist, i -> order[i]);
+      int remaining = worklist.length;
+      long[] colorMembers = new long[rowWords];
+      int color = 0;
+      while (remaining > 0) {
+        Arrays.fill(colorMembers, 0);
+        int kept = 0;
+        for (int k = 0; k < remaining; k++) {
+          int node = worklist[k];
+          if (isIndependentOf(node, colorMembers)) {
+            colors[node] = color;
+            colorMembers[node >>> 6] |= 1L << node;
+          } else {
+            worklist[kept++] = node;
+          }
+        }
+        remaining = kept;
+        color++;
+      }
+      colorToVar = new Var[color];
+    }
+
+    private boolean isIndependentOf(int index, long[] members) {
+      int row = index * rowWords;
+      for (int k = 0; k < rowWords; k++) {
+        if ((matrix[row + k] & members[k]) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Using the coloring as partitions, finds the variable that represents that partition. The
+     * first to retrieve its partition will become the representative.
+     */
+    Var getPartitionSuperNode(int index) {
+      checkNotNull(colorToVar, "No coloring found. color() should be called first.");
+      checkState(hasNode(index), index);
+      Var headVar = colorToVar[colors[index]];
+      if (headVar == null) {
+        headVar = variables[index];
+        colorToVar[colors[index]] = headVar;
+      }
+      return headVar;
+    }
+
+    boolean haveSameColor(int first, int second) {
+      checkNotNull(colorToVar, "No coloring found. color() should be called first.");
+      return colors[first] == colors[second];
+    }
+  }
+
   /**
    * Used to find written and read variables in the same CFG node so that the variable pairs can be
-   * marked as interfering in an interference bit map. Indices of written and read variables are put
-   * in a list. These two lists are used to mark each written variable as "crossing" all read
+   * marked as interfering in the interference graph. Indices of written and read variables are put
+   * in sets. These two sets are used to mark each written variable as "crossing" all read
    * variables.
    */
   private static class LiveRangeChecker {
 
     private final Node root;
     private final LinearFlowState<LiveVariableLattice> state;
-    private final Var[] orderedVariables;
-    private final List<Integer> isAssignToList = new ArrayList<>(); // indices of written variables
-    private final List<Integer> isReadFromList = new ArrayList<>(); // indices of read variables
+    private final LiveVariablesAnalysis liveness;
+    private final BitSet writtenVars = new BitSet(); // indices of written variables
+    private final BitSet readVars = new BitSet(); // indices of read variables
 
     LiveRangeChecker(
-        Node root, Var[] orderedVariables, LinearFlowState<LiveVariableLattice> state) {
+        Node root, LiveVariablesAnalysis liveness, LinearFlowState<LiveVariableLattice> state) {
       this.root = root;
-      this.orderedVariables = orderedVariables;
+      this.liveness = liveness;
       this.state = state;
     }
 
@@ -619,59 +730,72 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     }
 
     void visit(Node n, Node parent) {
-      for (int iVar = 0; iVar < orderedVariables.length; iVar++) {
-        if (isAssignTo(orderedVariables[iVar], n, parent)) {
-          isAssignToList.add(iVar);
+      Node assignedName = getAssignedName(n, parent);
+      int written = assignedName != null ? getTrackedIndex(assignedName) : -1;
+      if (written >= 0) {
+        if (writtenVars.isEmpty()) {
+          // Every variable that is live after the CFG node is read after the write.
+          LiveVariableLattice liveOut = state.getOut();
+          for (int i = liveOut.nextSetBit(0); i >= 0; i = liveOut.nextSetBit(i + 1)) {
+            readVars.set(i);
+          }
         }
+        writtenVars.set(written);
       }
-      if (!isAssignToList.isEmpty()) {
-        for (int iVar = 0; iVar < orderedVariables.length; iVar++) {
-          boolean varOutLive = state.getOut().isLive(iVar);
-          if (varOutLive || isReadFrom(orderedVariables[iVar], n)) {
-            isReadFromList.add(iVar);
-          }
+      if (!writtenVars.isEmpty() && isRead(n)) {
+        int read = getTrackedIndex(n);
+        if (read >= 0) {
+          readVars.set(read);
         }
       }
     }
 
-    void setCrossingVariables(BitSet[] interferenceBitSet) {
-      for (Integer iWrittenVar : isAssignToList) {
-        for (Integer iReadVar : isReadFromList) {
-          interferenceBitSet[iWrittenVar].set(iReadVar);
-          interferenceBitSet[iReadVar].set(iWrittenVar);
+    void setCrossingVariables(InterferenceGraph interferenceGraph) {
+      for (int w = writtenVars.nextSetBit(0); w >= 0; w = writtenVars.nextSetBit(w + 1)) {
+        for (int r = readVars.nextSetBit(0); r >= 0; r = readVars.nextSetBit(r + 1)) {
+          interferenceGraph.connect(w, r);
         }
       }
     }
 
+    /** Returns the index of the variable with the name, or -1 if its liveness isn't tracked. */
+    private int getTrackedIndex(Node name) {
+      Var var = liveness.getAllVariables().get(name.getString());
+      if (var == null) {
+        return -1;
+      }
+      int index = liveness.getVarIndex(var.getName());
+      return index < liveness.getTrackedVariableCount() ? index : -1;
+    }
+
     /** Returns whether any LiveRangeChecker would be interested in the node. */
     public static boolean shouldVisit(Node n) {
       return (n.isName() || (n.hasChildren() && n.getFirstChild().isName()));
     }
 
-    static boolean isAssignTo(Var var, Node n, Node parent) {
+    /** Returns the name that is assigned by the node, if any. */
+    static @Nullable Node getAssignedName(Node n, Node parent) {
       if (n.isName()) {
         if (parent.isParamList()) {
           // In a function declaration, the formal parameters are assigned.
-          return var.getName().equals(n.getString());
+          return n;
         } else if (NodeUtil.isNameDeclaration(parent) && n.hasChildren()) {
           // If this is a VAR declaration, if the name node has a child, we are
           // assigning to that name.
-          return var.getName().equals(n.getString());
+          return n;
         } else if (NodeUtil.isLhsByDestructuring(n)) {
-          return var.getName().equals(n.getString());
+          return n;
         }
       } else if (NodeUtil.isAssignmentOp(n)) {
         // Lastly, any assignmentOP is also an assign.
         Node name = n.getFirstChild();
-        return name.isName() && var.getName().equals(name.getString());
+        return name.isName() ? name : null;
       }
-      return false; // Definitely a read.
+      return null; // Definitely a read.
     }
 
-    static boolean isReadFrom(Var var, Node name) {
-      return name.isName()
-          && var.getName().equals(name.getString())
-          && !NodeUtil.isNameDeclOrSimpleAssignLhs(name, name.getParent());
+    static boolean isRead(Node name) {
+      return name.isName() && !NodeUtil.isNameDeclOrSimpleAssignLhs(name, name.getParent());
     }
   }
 }
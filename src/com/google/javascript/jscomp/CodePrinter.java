@@ -16,6 +16,7 @@
 
 package com.google.javascript.jscomp;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.javascript.jscomp.base.JSCompDoubles.isPositive;
 
@@ -30,6 +31,7 @@ import com.google.javascript.rhino.StaticSourceFile;
 import com.google.javascript.rhino.Token;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -50,6 +52,9 @@ public final class CodePrinter {
   // version.
 
   private abstract static class MappedCodePrinter extends CodeConsumer {
+    // When streaming, the buffered code is written out once it grows beyond this many characters.
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
     private final @Nullable Deque<SourceMap.Mapping> mappings;
     private final @Nullable List<SourceMap.Mapping> allMappings;
     // The ordered list of finalized mappings since the last line break. See #reportLineCut.
@@ -61,6 +66,13 @@ public final class CodePrinter {
     private final SourceMap.DetailLevel sourceMapDetailLevel;
     private final @Nullable LicenseTracker licenseTracker;
     protected final StringBuilder code = new StringBuilder(1024);
+    // Where finished code is written while printing, or null to keep all of the code in memory.
+    private final @Nullable Appendable output;
+    // The number of characters that were written to the output and removed from the buffer.
+    private int flushedLength = 0;
+    // The lengths of the lines written to the output, needed to adjust the source mappings.
+    private final List<Integer> flushedLineLengths = new ArrayList<>();
+    private int flushedColumn = 0;
     protected final int lineLengthThreshold;
     protected int lineLength = 0;
     protected int lineIndex = 0;
@@ -69,7 +81,8 @@ public final class CodePrinter {
         int lineLengthThreshold,
         boolean createSrcMap,
         SourceMap.DetailLevel sourceMapDetailLevel,
-        @Nullable LicenseTracker licenseTracker) {
+        @Nullable LicenseTracker licenseTracker,
+        @Nullable Appendable output) {
       checkState(sourceMapDetailLevel != null);
       this.lineLengthThreshold = lineLengthThreshold <= 0 ? Integer.MAX_VALUE :
         lineLengthThreshold;
@@ -79,6 +92,7 @@ public final class CodePrinter {
       this.allMappings = createSrcMap ? new ArrayList<>() : null;
       this.completeMappings = createSrcMap ? new ArrayList<>() : null;
       this.licenseTracker = licenseTracker;
+      this.output = output;
     }
 
     /** Appends a string to the code, keeping track of the current line length. */
@@ -86,6 +100,58 @@ public final class CodePrinter {
     void append(String str) {
       code.append(str);
       lineLength += str.length();
+      if (output != null && code.length() > FLUSH_THRESHOLD) {
+        flushUpTo(getFinalizedLength());
+      }
+    }
+
+    /**
+     * Returns the length of the prefix of the code that can no longer change, and so can be written
+     * to the output. The last character is always kept in the buffer for {@link #getLastChar}.
+     */
+    int getFinalizedLength() {
+      return getCodeLength() - 1;
+    }
+
+    /** Writes the code up to the given position to the output and removes it from the buffer. */
+    private void flushUpTo(int end) {
+      int count = end - flushedLength;
+      if (count <= 0) {
+        return;
+      }
+      if (createSrcMap) {
+        for (int i = 0; i < count; i++) {
+          if (code.charAt(i) == '\n') {
+            flushedLineLengths.add(flushedColumn);
+            flushedColumn = 0;
+          } else {
+            flushedColumn++;
+          }
+        }
+      }
+      try {
+        output.append(code, 0, count);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      code.delete(0, count);
+      flushedLength = end;
+    }
+
+    /** Writes all of the remaining code to the output. Only valid when streaming. */
+    void flushAll() {
+      checkState(output != null);
+      flushUpTo(getCodeLength());
+    }
+
+    /** Returns the length of all code printed so far, including code written to the output. */
+    protected final int getCodeLength() {
+      return flushedLength + code.length();
+    }
+
+    /** Returns the number of characters that were written to the output. */
+    protected final int getFlushedLength() {
+      return flushedLength;
     }
 
     @Override
@@ -137,12 +203,15 @@ public final class CodePrinter {
     /**
      * Returns a list of sourcemap mappings that were generated while printing this code. Only
      * useful if createSrcMap was true for this MappedCodePrinter.
+     *
+     * @param code the printed code, or null if it was streamed to the output
      */
-    @Nullable List<SourceMap.Mapping> getSourceMappings(String code) {
+    @Nullable List<SourceMap.Mapping> getSourceMappings(@Nullable String code) {
       if (!createSrcMap) {
         return null;
       }
-      ImmutableList<Integer> lineLengths = computeLineLengths(code);
+      // When streaming, the whole output has been flushed so all line lengths are known.
+      List<Integer> lineLengths = code != null ? computeLineLengths(code) : flushedLineLengths;
       List<SourceMap.Mapping> fixedMappings = new ArrayList<>();
       for (SourceMap.Mapping mapping : allMappings) {
         SourceMap.Mapping adjusted = new SourceMap.Mapping();
@@ -208,6 +277,7 @@ public final class CodePrinter {
     }
 
     public String getCode() {
+      checkState(output == null, "The code was written to the output");
       return code.toString();
     }
 
@@ -286,13 +356,15 @@ public final class CodePrinter {
      * @param sourceMapDetailLevel A filter to control which nodes get mapped into the source map.
      * @param licenseTracker A license tracking implementation to manage license text emit. The
      *     CodePrinter will never emit license information directly.
+     * @param output Where to write the code while printing, or null to keep it in memory.
      */
     private PrettyCodePrinter(
         int lineLengthThreshold,
         boolean createSourceMap,
         SourceMap.DetailLevel sourceMapDetailLevel,
-        @Nullable LicenseTracker licenseTracker) {
-      super(lineLengthThreshold, createSourceMap, sourceMapDetailLevel, licenseTracker);
+        @Nullable LicenseTracker licenseTracker,
+        @Nullable Appendable output) {
+      super(lineLengthThreshold, createSourceMap, sourceMapDetailLevel, licenseTracker, output);
     }
 
     /**
@@ -590,14 +662,16 @@ public final class CodePrinter {
      * @param licenseTracker A license tracking implementation to manage license text emit. The
      *     CodePrinter will never emit license information directly - it only ever passes nodes to
      *     the license tracker to request tracking.
+     * @param output Where to write the code while printing, or null to keep it in memory.
      */
     private CompactCodePrinter(
         boolean lineBreak,
         int lineLengthThreshold,
         boolean createSrcMap,
         SourceMap.DetailLevel sourceMapDetailLevel,
-        LicenseTracker licenseTracker) {
-      super(lineLengthThreshold, createSrcMap, sourceMapDetailLevel, licenseTracker);
+        LicenseTracker licenseTracker,
+        @Nullable Appendable output) {
+      super(lineLengthThreshold, createSrcMap, sourceMapDetailLevel, licenseTracker, output);
       this.lineBreak = lineBreak;
     }
 
@@ -613,7 +687,14 @@ public final class CodePrinter {
       code.append('\n');
       lineLength = 0;
       lineIndex++;
-      lineStartPosition = code.length();
+      lineStartPosition = getCodeLength();
+    }
+
+    @Override
+    int getFinalizedLength() {
+      // Lines are only ever cut at the preferred break position, and only on the current line.
+      return Math.min(
+          Math.max(lineStartPosition, preferredBreakPosition), super.getFinalizedLength());
     }
 
     @Override
@@ -628,9 +709,9 @@ public final class CodePrinter {
       // Since we are at a legal line break, can we upgrade the
       // preferred break position?  We prefer to break after a
       // semicolon rather than before it.
-      int len = code.length();
+      int len = getCodeLength();
       if (preferredBreakPosition == len - 1) {
-        char ch = code.charAt(len - 1);
+        char ch = getLastChar();
         if (ch == ';') {
           preferredBreakPosition = len;
         }
@@ -652,7 +733,7 @@ public final class CodePrinter {
       if (preferredBreakPosition > lineStartPosition
           && preferredBreakPosition < lineStartPosition + lineLength) {
         // If the preferred break position is on the current line.
-        code.insert(preferredBreakPosition, '\n');
+        code.insert(preferredBreakPosition - getFlushedLength(), '\n');
         reportLineCut(lineIndex, preferredBreakPosition - lineStartPosition);
         lineIndex++;
         lineLength -= (preferredBreakPosition - lineStartPosition);
@@ -664,7 +745,7 @@ public final class CodePrinter {
 
     @Override
     void notePreferredLineBreak() {
-      preferredBreakPosition = code.length();
+      preferredBreakPosition = getCodeLength();
     }
   }
 
@@ -803,6 +884,28 @@ public final class CodePrinter {
     }
 
     public SourceAndMappings buildWithSourceMappings() {
+      return buildInternal(null);
+    }
+
+    /**
+     * Generates the source code and writes it to {@code out} while it is generated, so that the
+     * complete output never has to be held in memory. The charset of the output should match the
+     * output charset of the compiler options, since that determines which characters are escaped.
+     *
+     * @return the source mappings for the written code, or null if the compiler options don't
+     *     gather source map info.
+     */
+    public @Nullable List<SourceMap.Mapping> writeWithSourceMappings(Appendable out)
+        throws IOException {
+      checkNotNull(out);
+      try {
+        return buildInternal(out).mappings;
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    private SourceAndMappings buildInternal(@Nullable Appendable output) {
       if (root == null) {
         throw new IllegalStateException("Cannot build without root node being specified");
       }
@@ -815,7 +918,8 @@ public final class CodePrinter {
           tagAsTypeSummary,
           tagAsStrict,
           lineBreak,
-          codeGeneratorFactory);
+          codeGeneratorFactory,
+          output);
     }
   }
 
@@ -846,7 +950,10 @@ public final class CodePrinter {
     @Nullable List<SourceMap.Mapping> mappings;
   }
 
-  /** Converts a tree to JS code */
+  /**
+   * Converts a tree to JS code. If an output is given the code is written to it, and the returned
+   * source is null.
+   */
   private static SourceAndMappings toSource(
       Node root,
       Format outputFormat,
@@ -855,7 +962,8 @@ public final class CodePrinter {
       boolean tagAsTypeSummary,
       boolean tagAsStrict,
       boolean lineBreak,
-      CodeGeneratorFactory codeGeneratorFactory) {
+      CodeGeneratorFactory codeGeneratorFactory,
+      @Nullable Appendable output) {
     checkState(options.sourceMapDetailLevel != null);
 
     MappedCodePrinter mcp =
@@ -865,12 +973,14 @@ public final class CodePrinter {
                 options.lineLengthThreshold,
                 options.shouldGatherSourceMapInfo(),
                 options.sourceMapDetailLevel,
-                licenseTracker)
+                licenseTracker,
+                output)
             : new PrettyCodePrinter(
                 options.lineLengthThreshold,
                 options.shouldGatherSourceMapInfo(),
                 options.sourceMapDetailLevel,
-                licenseTracker);
+                licenseTracker,
+                output);
     CodeGenerator cg = codeGeneratorFactory.getCodeGenerator(outputFormat, mcp);
 
     if (tagAsTypeSummary) {
@@ -884,7 +994,11 @@ public final class CodePrinter {
     mcp.endFile();
 
     SourceAndMappings result = new SourceAndMappings();
-    result.source = mcp.getCode();
+    if (output != null) {
+      mcp.flushAll();
+    } else {
+      result.source = mcp.getCode();
+    }
 
     if (options.shouldGatherSourceMapInfo()) {
       result.mappings = mcp.getSourceMappings(result.source);
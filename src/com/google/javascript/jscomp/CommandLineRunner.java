@@ -564,6 +564,24 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
         hidden = true)
     private @Nullable String typedAstOutputFile = null;
 
+    @Option(
+        name = "--typed_ast_cache_dir",
+        usage =
+            "Directory in which to cache the TypedAST output of checks-only compilations, keyed by"
+                + " the content of their inputs and flags. A compilation whose inputs have not"
+                + " changed copies its TypedAST from the cache instead of running checks.",
+        hidden = true)
+    private @Nullable String typedAstCacheDir = null;
+
+    @Option(
+        name = "--parse_cache_dir",
+        usage =
+            "Directory in which to cache the ASTs of parsed input files, keyed by their name,"
+                + " content and the parser configuration. Files that have not changed since a"
+                + " previous compilation are read from the cache instead of being parsed again.",
+        hidden = true)
+    private @Nullable String parseCacheDir = null;
+
     @Option(
         name = "--generate_exports",
         handler = BooleanOptionHandler.class,
@@ -1769,6 +1787,14 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
           .setJsonStreamMode(flags.jsonStreamMode)
           .setErrorFormat(flags.errorFormat);
 
+      if (flags.typedAstCacheDir != null) {
+        String typedAstCacheConfiguration =
+            getTypedAstCacheConfiguration(processedArgs, sourceMapInputs);
+        if (typedAstCacheConfiguration != null) {
+          config.setTypedAstCache(flags.typedAstCacheDir, typedAstCacheConfiguration);
+        }
+      }
+
       SegmentOfCompilationToRun segmentOfCompilationToRun = flags.segmentOfCompilationToRun;
       switch (segmentOfCompilationToRun) {
         case CHECKS -> {
@@ -1797,6 +1823,55 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
     errorStream = null;
   }
 
+  /**
+   * Returns a fingerprint of the flags for the {@link TypedAstCache}: the command line arguments,
+   * the content of the flag files they refer to, and the content of the other files they tell the
+   * compiler to read, e.g. conformance configs.
+   *
+   * <p>Returns null if one of those other files can't be read, in which case the cache is not used
+   * and the compilation reports the problem.
+   */
+  private @Nullable String getTypedAstCacheConfiguration(
+      List<String> processedArgs, @Nullable ImmutableMap<String, String> sourceMapInputs) {
+    StringBuilder configuration = new StringBuilder();
+    for (String arg : processedArgs) {
+      configuration.append(arg).append('\0');
+    }
+    for (String flagFile : flags.flagFiles) {
+      try {
+        configuration.append(Files.asCharSource(new File(flagFile), UTF_8).read()).append('\0');
+      } catch (IOException e) {
+        reportError("ERROR - " + flagFile + " read error.");
+      }
+    }
+
+    List<String> inputFiles = new ArrayList<>();
+    inputFiles.addAll(flags.conformanceConfigs);
+    if (sourceMapInputs != null) {
+      inputFiles.addAll(sourceMapInputs.values());
+    }
+    inputFiles.add(flags.warningsAllowlistFile);
+    inputFiles.add(flags.translationsFile);
+    inputFiles.add(flags.variableMapInputFile);
+    inputFiles.add(flags.propertyMapInputFile);
+    inputFiles.add(flags.outputWrapperFile);
+    for (String inputFile : inputFiles) {
+      if (inputFile.isEmpty()) {
+        continue;
+      }
+      try {
+        configuration
+            .append(inputFile)
+            .append('\0')
+            .append(Files.asCharSource(new File(inputFile), UTF_8).read())
+            .append('\0');
+      } catch (IOException e) {
+        return null;
+      }
+    }
+    return configuration.toString();
+  }
+
   @Override
   protected void addAllowlistWarningsGuard(CompilerOptions options, File allowlistFile) {
     options.addWarningsGuard(AllowlistWarningsGuard.fromFile(allowlistFile));
@@ -1883,6 +1958,9 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
     if (flags.typedAstOutputFile != null) {
       options.setTypedAstOutputFile(Path.of(flags.typedAstOutputFile));
     }
+    if (flags.parseCacheDir != null) {
+      options.setParseCache(Path.of(flags.parseCacheDir), getVersionText());
+    }
     options.setGenerateExports(flags.generateExports);
     options.setExportLocalPropertyDefinitions(flags.exportLocalPropertyDefinitions);
 
@@ -2077,12 +2155,23 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
     if (isInTestMode()) {
       return externs;
     } else {
-      List<SourceFile> builtinExterns = getBuiltinExterns(options.getEnvironment());
+      List<SourceFile> builtinExterns = loadBuiltinExterns(options.getEnvironment());
       builtinExterns.addAll(externs);
       return builtinExterns;
     }
   }
 
+  /**
+   * Returns a mutable list of the builtin externs for the given environment.
+   *
+   * <p>Subclasses that run many compilations in the same process may override this to reuse
+   * externs that were already loaded, see {@link CompileServer}.
+   */
+  protected List<SourceFile> loadBuiltinExterns(CompilerOptions.Environment env)
+      throws IOException {
+    return getBuiltinExterns(env);
+  }
+
   private static ImmutableList<ConformanceConfig> loadConformanceConfigs(List<String> configPaths) {
     ImmutableList.Builder<ConformanceConfig> configs = ImmutableList.builder();
 
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A map from names to the vars declared in a scope, for scopes with many vars.
+ *
+ * <p>A {@link java.util.LinkedHashMap} spends an entry object of about 40 bytes on every var. This
+ * table instead keeps the vars in an array in declaration order, and finds them through an open
+ * addressing table of ints. The names aren't stored at all, since every var knows its own name.
+ *
+ * <p>Iterates in insertion order and fails fast on concurrent modification, like {@link
+ * java.util.LinkedHashMap}. Null keys and values are not supported.
+ */
+final class CompactVarTable<V extends AbstractVar<?, ?>> extends AbstractMap<String, V>
+    implements Serializable {
+
+  private static final int EMPTY = 0;
+  private static final int REMOVED = -1;
+  private static final int MIN_CAPACITY = 8;
+
+  // The vars in declaration order. Removing a var leaves a null behind until the next rebuild.
+  private @Nullable Object[] vars;
+  // The number of used positions in vars, including the removed ones.
+  private int end;
+  private int size;
+  // The position in vars plus one of each var, at the first free slot after the hash of its name.
+  // The length is a power of two, and at least half of the slots are EMPTY.
+  private int[] slots;
+  // The number of slots that aren't EMPTY.
+  private int usedSlots;
+  private int modCount;
+
+  CompactVarTable(Map<String, V> vars) {
+    allocate(vars.size());
+    putAll(vars);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return key instanceof String name && findSlot(name) >= 0;
+  }
+
+  @Override
+  public @Nullable V get(@Nullable Object key) {
+    if (!(key instanceof String name)) {
+      return null;
+    }
+    int slot = findSlot(name);
+    return slot < 0 ? null : varAt(slots[slot] - 1);
+  }
+
+  @Override
+  public @Nullable V put(String key, V value) {
+    checkArgument(key.equals(value.getName()), "%s is not the name of %s", key, value);
+    int slot = findSlot(key);
+    if (slot >= 0) {
+      // Keep the declaration order, like LinkedHashMap does.
+      int position = slots[slot] - 1;
+      V old = varAt(position);
+      vars[position] = value;
+      return old;
+    }
+
+    if (end == vars.length || usedSlots >= slots.length / 2) {
+      rebuild(Math.max(size * 2, MIN_CAPACITY));
+    }
+    vars[end] = value;
+    end++;
+    size++;
+    modCount++;
+    insertSlot(key, end);
+    return null;
+  }
+
+  @Override
+  public @Nullable V remove(@Nullable Object key) {
+    if (!(key instanceof String name)) {
+      return null;
+    }
+    int slot = findSlot(name);
+    if (slot < 0) {
+      return null;
+    }
+    int position = slots[slot] - 1;
+    V old = varAt(position);
+    vars[position] = null;
+    slots[slot] = REMOVED;
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(vars, 0, end, null);
+    Arrays.fill(slots, EMPTY);
+    end = 0;
+    size = 0;
+    usedSlots = 0;
+    modCount++;
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new VarIterator<>(CompactVarTable.this::varAt);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Map.Entry<String, V>> entrySet() {
+    return new AbstractSet<Map.Entry<String, V>>() {
+      @Override
+      public Iterator<Map.Entry<String, V>> iterator() {
+        return new VarIterator<>(
+            position -> {
+              V var = varAt(position);
+              return new AbstractMap.SimpleImmutableEntry<>(var.getName(), var);
+            });
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Returns an estimate of the number of bytes used by this table, assuming compressed 4-byte
+   * references. Doesn't include the vars themselves.
+   */
+  long estimateFootprintBytes() {
+    long objectHeader = 16;
+    long fields = 4 * 6;
+    long varsArray = objectHeader + 4L * vars.length;
+    long slotsArray = objectHeader + 4L * slots.length;
+    return objectHeader + fields + varsArray + slotsArray;
+  }
+
+  @SuppressWarnings("unchecked") // Only Vs are stored.
+  private V varAt(int position) {
+    return (V) vars[position];
+  }
+
+  /** Returns the index in slots of the var with the given name, or -1 if there is none. */
+  private int findSlot(String name) {
+    int mask = slots.length - 1;
+    for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+      int slot = slots[i];
+      if (slot == EMPTY) {
+        return -1;
+      }
+      if (slot != REMOVED && varAt(slot - 1).getName().equals(name)) {
+        return i;
+      }
+    }
+  }
+
+  /** Stores the position of a var that isn't in the table yet, reusing removed slots. */
+  private void insertSlot(String name, int positionPlusOne) {
+    int mask = slots.length - 1;
+    int i = hash(name) & mask;
+    while (slots[i] != EMPTY && slots[i] != REMOVED) {
+      i = (i + 1) & mask;
+    }
+    if (slots[i] == EMPTY) {
+      usedSlots++;
+    }
+    slots[i] = positionPlusOne;
+  }
+
+  private void allocate(int capacity) {
+    capacity = Math.max(capacity, MIN_CAPACITY);
+    vars = new Object[capacity];
+    // At least twice as many slots as vars, so that probe sequences stay short.
+    slots = new int[Integer.highestOneBit(capacity - 1) << 2];
+    end = 0;
+    size = 0;
+    usedSlots = 0;
+  }
+
+  /** Drops the removed vars and makes room for the given number of vars. */
+  private void rebuild(int capacity) {
+    Object[] oldVars = vars;
+    int oldEnd = end;
+    allocate(capacity);
+    for (int position = 0; position < oldEnd; position++) {
+      @SuppressWarnings("unchecked") // Only Vs are stored.
+      V var = (V) oldVars[position];
+      if (var != null) {
+        vars[end] = var;
+        end++;
+        size++;
+        insertSlot(var.getName(), end);
+      }
+    }
+  }
+
+  private static int hash(String name) {
+    int h = name.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /** Iterates over the positions of the vars that weren't removed, in declaration order. */
+  private final class VarIterator<T> implements Iterator<T> {
+    private final IntFunction<T> valueAt;
+    private final int expectedModCount = modCount;
+    private int next = 0;
+
+    VarIterator(IntFunction<T> valueAt) {
+      this.valueAt = valueAt;
+    }
+
+    @Override
+    public boolean hasNext() {
+      checkForComodification();
+      while (next < end && vars[next] == null) {
+        next++;
+      }
+      return next < end;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T value = valueAt.apply(next);
+      next++;
+      return value;
+    }
+
+    private void checkForComodification() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.javascript.jscomp.CompilerOptions.Environment;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A long-lived compiler process that runs many {@link CommandLineRunner} invocations in the same
+ * JVM.
+ *
+ * <p>Starting a new compiler process for every build pays for JVM startup, JIT warm-up and loading
+ * the builtin externs each time. The server keeps the JVM warm and loads the builtin externs for
+ * each {@link Environment} only once. Everything else, including the {@link Compiler}, its options
+ * and the type registry, is created fresh for each request, so requests can't observe each other.
+ *
+ * <p>The protocol is line based. Each request is one line on stdin containing a JSON array of the
+ * command line arguments that would have been passed to {@link CommandLineRunner}. For each request
+ * the server writes one line to stdout containing a JSON object with the fields {@code exitCode},
+ * {@code stdout} and {@code stderr}. Requests are handled one at a time, in order. The server exits
+ * when stdin is closed.
+ *
+ * <p>Because stdin carries the protocol, compilations can't read their inputs from stdin; output
+ * that would have gone to stdout is returned in the response instead.
+ */
+public final class CompileServer {
+
+  private final BufferedReader requests;
+  private final PrintStream responses;
+  private final Gson gson = new Gson();
+  private final Map<Environment, ImmutableList<SourceFile>> builtinExterns =
+      new EnumMap<>(Environment.class);
+
+  CompileServer(InputStream requests, PrintStream responses) {
+    this.requests = new BufferedReader(new InputStreamReader(checkNotNull(requests), UTF_8));
+    this.responses = checkNotNull(responses);
+  }
+
+  /** Handles requests until the request stream is closed. */
+  void serve() throws IOException {
+    for (String line = requests.readLine(); line != null; line = requests.readLine()) {
+      if (line.isBlank()) {
+        continue;
+      }
+      responses.println(gson.toJson(handleRequest(line)));
+      responses.flush();
+    }
+  }
+
+  @VisibleForTesting
+  Response handleRequest(String request) {
+    String[] args;
+    try {
+      args = gson.fromJson(request, String[].class);
+    } catch (JsonParseException e) {
+      return new Response(-1, "", "ERROR - Malformed compile request: " + e.getMessage() + "\n");
+    }
+    if (args == null) {
+      return new Response(-1, "", "ERROR - Empty compile request\n");
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int[] exitCode = {0};
+    try (PrintStream outStream = new PrintStream(out, true, UTF_8);
+        PrintStream errStream = new PrintStream(err, true, UTF_8)) {
+      ServerCommandLineRunner runner = new ServerCommandLineRunner(args, outStream, errStream);
+      if (runner.shouldRunCompiler()) {
+        runner.setExitCodeReceiver(
+            code -> {
+              exitCode[0] = code;
+              return null;
+            });
+        runner.run();
+      } else if (runner.hasErrors()) {
+        exitCode[0] = -1;
+      }
+    }
+    return new Response(exitCode[0], out.toString(UTF_8), err.toString(UTF_8));
+  }
+
+  /**
+   * Returns a mutable copy of the builtin externs for the given environment, loading them the first
+   * time they are requested.
+   *
+   * <p>The {@link SourceFile}s are shared between requests. This is safe because their contents
+   * are preloaded, and each compilation parses them into its own AST.
+   */
+  private List<SourceFile> getBuiltinExterns(Environment env) throws IOException {
+    ImmutableList<SourceFile> externs = builtinExterns.get(env);
+    if (externs == null) {
+      externs = ImmutableList.copyOf(CommandLineRunner.getBuiltinExterns(env));
+      builtinExterns.put(env, externs);
+    }
+    return new ArrayList<>(externs);
+  }
+
+  /** A {@link CommandLineRunner} that reuses the builtin externs loaded by the server. */
+  private final class ServerCommandLineRunner extends CommandLineRunner {
+    ServerCommandLineRunner(String[] args, PrintStream out, PrintStream err) {
+      super(args, new ByteArrayInputStream(new byte[0]), out, err);
+    }
+
+    @Override
+    protected List<SourceFile> loadBuiltinExterns(Environment env) throws IOException {
+      return getBuiltinExterns(env);
+    }
+  }
+
+  /** The result of a single compile request. */
+  @VisibleForTesting
+  static final class Response {
+    final int exitCode;
+    final String stdout;
+    final String stderr;
+
+    Response(int exitCode, String stdout, String stderr) {
+      this.exitCode = exitCode;
+      this.stdout = stdout;
+      this.stderr = stderr;
+    }
+  }
+
+  private static final Logger phaseLogger = Logger.getLogger(PhaseOptimizer.class.getName());
+
+  public static void main(String[] args) throws IOException {
+    // disable any logging messages that can interfere with the protocol on stdout
+    if (phaseLogger != null) {
+      phaseLogger.setLevel(Level.OFF);
+    }
+    new CompileServer(System.in, System.out).serve();
+  }
+}
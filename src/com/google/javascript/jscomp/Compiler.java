@@ -101,6 +101,7 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.AbstractSet;
@@ -181,6 +182,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   // Warnings guard for filtering warnings.
   private WarningsGuard warningsGuard;
 
+  // Diagnostics reported on threads that are buffering them, see #startBufferingDiagnostics.
+  private final ThreadLocal<List<JSError>> bufferedDiagnostics = new ThreadLocal<>();
+
   // Compile-time injected libraries
   private final LinkedHashSet<String> injectedLibraries = new LinkedHashSet<>();
 
@@ -289,6 +293,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   private static final Joiner pathJoiner = Joiner.on(Platform.getFileSeperator());
 
   private final ChangeTracker changeTracker = new ChangeTracker();
+  private final GlobalNamespaceCache globalNamespaceCache = new GlobalNamespaceCache(this);
+  private final ReferenceMapCache referenceMapCache = new ReferenceMapCache(this);
+  private final InlineCostCache inlineCostCache = new InlineCostCache(this);
 
   /**
    * When mapping symbols from a source map, we must repeatedly combine the path of the original
@@ -317,6 +324,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   /** Creates a Compiler that reports errors and warnings to an output stream. */
   public Compiler(@Nullable PrintStream outStream) {
     changeTracker.addChangeHandler(changeTracker.getRecentChange());
+    changeTracker.addChangeHandler(globalNamespaceCache.getCodeChangeHandler());
     this.outStream = outStream;
     this.moduleTypesByName = new LinkedHashMap<>();
   }
@@ -411,6 +419,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       options.setRuntimeLibraryMode(CompilerOptions.RuntimeLibraryMode.NO_OP);
     }
 
+    // Comments are not cached, so ASTs can't be restored if they are needed.
+    Path parseCacheDirectory = options.getParseCacheDirectory();
+    parseCache =
+        parseCacheDirectory != null && !options.preservesDetailedSourceInfo()
+            ? new ParseCache(this, parseCacheDirectory, options.getParseCacheCompilerVersion())
+            : null;
+
     moduleLoader = ModuleLoader.EMPTY;
 
     reconcileOptionsWithGuards();
@@ -611,6 +626,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private @Nullable ConcurrentMap<SourceFile, Supplier<Node>> typedAstFilesystem;
 
+  private @Nullable ParseCache parseCache;
+
+  @Override
+  @Nullable ParseCache getParseCache() {
+    return parseCache;
+  }
+
   @Override
   @Nullable Supplier<Node> getTypedAstDeserializer(SourceFile file) {
     if (this.typedAstFilesystem == null) {
@@ -827,10 +849,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     inputSourceMaps.putAll(options.inputSourceMaps);
     // Create the source map if necessary.
     if (options.shouldGatherSourceMapInfo()) {
-      sourceMap = options.sourceMapFormat.getInstance();
-      sourceMap.setPrefixMappings(options.sourceMapLocationMappings);
+      sourceMap = newSourceMap();
       if (options.applyInputSourceMaps) {
-        sourceMap.setSourceFileMapping(this);
         if (options.sourceMapIncludeSourcesContent) {
           for (SourceMapInput inputSourceMap : inputSourceMaps.values()) {
             addSourceMapSourceFiles(inputSourceMap);
@@ -840,6 +860,16 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
   }
 
+  /** Returns a new, empty source map in the format of the compiler options. */
+  private SourceMap newSourceMap() {
+    SourceMap map = options.sourceMapFormat.getInstance();
+    map.setPrefixMappings(options.sourceMapLocationMappings);
+    if (options.applyInputSourceMaps) {
+      map.setSourceFileMapping(this);
+    }
+    return map;
+  }
+
   private static final DiagnosticType EMPTY_MODULE_LIST_ERROR =
       DiagnosticType.error("JSC_EMPTY_MODULE_LIST_ERROR", "At least one module must be provided");
 
@@ -914,6 +944,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     jsRoot = IR.root();
     externsRoot = IR.root();
     externAndJsRoot = IR.root(externsRoot, jsRoot);
+    inlineCostCache.clear();
   }
 
   /** Compiles a single source file and a single externs file. */
@@ -1927,7 +1958,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       symbolTable.findScopes(externsRoot, jsRoot);
     }
 
-    GlobalNamespace globalNamespace = new GlobalNamespace(this, this.externsRoot, this.jsRoot);
+    GlobalNamespace globalNamespace = globalNamespaceCache.get(this.externsRoot, this.jsRoot);
     symbolTable.addSymbolsFrom(globalNamespace);
 
     ReferenceCollector refCollector =
@@ -1967,6 +1998,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   void setTopScope(@Nullable TypedScope x) {
     checkState(x == null || x.getParent() == null, x);
     this.topScope = x;
+    if (x != null && tracker != null) {
+      tracker.setGlobalScopeSummary(x.getVarTableSummary());
+    }
   }
 
   @Override
@@ -2029,7 +2063,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return;
     }
 
-    tracker = new PerformanceTracker(externsRoot, jsRoot, options.getTracerMode());
+    tracker = new PerformanceTracker(externsRoot, jsRoot, options.getTracerMode(), changeTracker);
     changeTracker.addChangeHandler(tracker.getCodeChangeHandler());
   }
 
@@ -2609,20 +2643,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
             // We are emitting all the sources at once, so use the SingleBinaryLicenseTracker
             // to de-dupe seen licenses across all inputs.
             SingleBinaryLicenseTracker lt = new SingleBinaryLicenseTracker(this);
-            if (jsRoot != null) {
-              int i = 0;
-              if (options.shouldPrintExterns()) {
-                for (Node scriptNode = externsRoot.getFirstChild();
-                    scriptNode != null;
-                    scriptNode = scriptNode.getNext()) {
-                  toSource(cb, lt, i++, scriptNode);
-                }
-              }
-              for (Node scriptNode = jsRoot.getFirstChild();
-                  scriptNode != null;
-                  scriptNode = scriptNode.getNext()) {
-                toSource(cb, lt, i++, scriptNode);
-              }
+            int i = 0;
+            for (Node scriptNode : getScriptsToPrint(null)) {
+              toSource(cb, lt, i++, scriptNode);
             }
             return cb.toString();
           } finally {
@@ -2655,23 +2678,139 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public String toSource(final LicenseTracker licenseTracker, final JSChunk chunk) {
     return runInCompilerThread(
         () -> {
-          ImmutableList<CompilerInput> inputs = chunk.getInputs();
-          int numInputs = inputs.size();
-          if (numInputs == 0) {
-            return "";
-          }
           CodeBuilder cb = new CodeBuilder();
-          for (int i = 0; i < numInputs; i++) {
-            Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
-            if (scriptNode == null) {
-              throw new IllegalArgumentException("Bad module: " + chunk.getName());
-            }
-            toSource(cb, licenseTracker, i, scriptNode);
+          int i = 0;
+          for (Node scriptNode : getScriptsToPrint(chunk)) {
+            toSource(cb, licenseTracker, i++, scriptNode);
           }
           return cb.toString();
         });
   }
 
+  /**
+   * Writes the JS code for the main parse tree, or for a single chunk, to {@code out}.
+   *
+   * <p>This produces the same code as {@link #toSource()} or {@link #toSource(LicenseTracker,
+   * JSChunk)}, but writes it one input at a time instead of building the complete output in
+   * memory first.
+   *
+   * @param chunk the chunk to write, or null to write the whole program
+   */
+  public void writeSource(
+      Appendable out, final LicenseTracker licenseTracker, final @Nullable JSChunk chunk)
+      throws IOException {
+    try {
+      runInCompilerThread(
+          () -> {
+            Tracer tracer = newTracer("writeSource");
+            try {
+              CodeBuilder cb = new CodeBuilder(out);
+              // Licenses are written before the code of a script but are only known once it has
+              // been printed, so a script can only be printed straight to the output if there are
+              // no licenses to write.
+              boolean printToOutput = !mayEmitLicenses(licenseTracker);
+              int i = 0;
+              for (Node scriptNode : getScriptsToPrint(chunk)) {
+                if (printToOutput) {
+                  writeScript(cb, licenseTracker, i++, scriptNode);
+                } else {
+                  toSource(cb, licenseTracker, i++, scriptNode);
+                }
+              }
+            } finally {
+              stopTracer(tracer, "writeSource");
+            }
+            return null;
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Returns whether the license tracker may emit licenses. The license trackers of the compiler
+   * only emit the licenses of scripts, so they can't if no script has a license.
+   */
+  private boolean mayEmitLicenses(LicenseTracker licenseTracker) {
+    if (!(licenseTracker instanceof SeenSetLicenseTracker)
+        && !(licenseTracker instanceof ChunkGraphAwareLicenseTracker)) {
+      return true;
+    }
+    for (Node root : new Node[] {externsRoot, jsRoot}) {
+      if (root == null) {
+        continue;
+      }
+      for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+        JSDocInfo info = script.getJSDocInfo();
+        if (info != null && info.getLicense() != null) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Prints a script straight to the output of {@code cb}. This writes the same code as {@link
+   * #toSource(CodeBuilder, LicenseTracker, int, Node)}, without building the code of the script as
+   * a String first. The license tracker must not emit any licenses for the script.
+   */
+  private void writeScript(
+      CodeBuilder cb, LicenseTracker licenseTracker, int inputSeqNum, Node root) {
+    appendInputDelimiter(cb, inputSeqNum, root);
+
+    // The starting position is only used by the mappings of this script, so it doesn't matter if
+    // the script turns out to be empty.
+    if (options.shouldGatherSourceMapInfo()) {
+      sourceMap.setStartingPosition(cb.getLineIndex(), cb.getColumnIndex());
+    }
+
+    int start = cb.getLength();
+    List<SourceMap.Mapping> mappings;
+    try {
+      mappings =
+          newCodePrinterBuilder(root, inputSeqNum == 0, licenseTracker)
+              .writeWithSourceMappings(cb.asAppendable());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    checkState(licenseTracker.emitLicenses().isEmpty(), "Unexpected license in %s", root);
+
+    int length = cb.getLength() - start;
+    if (length == 0) {
+      return;
+    }
+    if (!endsWithSemicolon(cb.charFromEnd(1), length >= 2 ? cb.charFromEnd(2) : '\0')) {
+      cb.append(";");
+    }
+
+    if (options.shouldGatherSourceMapInfo()) {
+      for (SourceMap.Mapping mapping : mappings) {
+        sourceMap.addMapping(mapping);
+      }
+    }
+  }
+
+  /** Returns the scripts to print for the given chunk, or for the whole program if it is null. */
+  private ImmutableList<Node> getScriptsToPrint(@Nullable JSChunk chunk) {
+    ImmutableList.Builder<Node> scripts = ImmutableList.builder();
+    if (chunk != null) {
+      for (CompilerInput input : chunk.getInputs()) {
+        Node scriptNode = input.getAstRoot(this);
+        if (scriptNode == null) {
+          throw new IllegalArgumentException("Bad module: " + chunk.getName());
+        }
+        scripts.add(scriptNode);
+      }
+    } else if (jsRoot != null) {
+      if (options.shouldPrintExterns()) {
+        scripts.addAll(externsRoot.children());
+      }
+      scripts.addAll(jsRoot.children());
+    }
+    return scripts.build();
+  }
+
   /**
    * Writes out JS code from a root node. If printing input delimiters, this method will attach a
    * comment to the start of the text indicating which input the output derived from. If there were
@@ -2689,75 +2828,100 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       final Node root) {
     runInCompilerThread(
         () -> {
-          if (options.printInputDelimiter) {
-            if ((cb.getLength() > 0) && !cb.endsWith("\n")) {
-              cb.append("\n"); // Make sure that the label starts on a new line
-            }
-            checkState(root.isScript());
+          CodePrinter.SourceAndMappings sourceAndMappings =
+              toSourceAndMappings(root, inputSeqNum == 0, licenseTracker);
+          appendScript(cb, licenseTracker, inputSeqNum, root, sourceAndMappings, sourceMap);
+          return null;
+        });
+  }
+
+  /**
+   * Appends a printed script to the code builder, preceded by its input delimiter and by the
+   * licenses that the license tracker emits, and adds its mappings to the source map.
+   *
+   * @param printed the code and mappings printed for {@code root} while tracking its licenses with
+   *     {@code licenseTracker}
+   */
+  void appendScript(
+      CodeBuilder cb,
+      LicenseTracker licenseTracker,
+      int inputSeqNum,
+      Node root,
+      CodePrinter.SourceAndMappings printed,
+      @Nullable SourceMap sourceMap) {
+    appendInputDelimiter(cb, inputSeqNum, root);
+
+    String code = printed.source;
+
+    // Check whether there is any license information that should be emitted.
+    for (String license : licenseTracker.emitLicenses()) {
+      cb.append("/*\n").append(license).append("*/\n");
+    }
+
+    // Check whether there's any actual code to emit.
+    // This is deliberately done after the license tracker is given an opportunity to emit
+    // licenses, as some trackers might want to emit license info from this Node's tree
+    // regardless of whether it emits visible code. One example of this would be the case
+    // where inlining has moved the contents from this file to another file, but the license
+    // tracker can't be sure if the license for this code will ever be emitted.
+    if (code.isEmpty()) {
+      // Nothing to do.
+      return;
+    }
 
-            String delimiter = options.inputDelimiter;
+    // If there is a valid source map, then indicate to it that the current
+    // root node's mappings are offset by the given string builder buffer.
+    // This offset is a result of licenses being added to the output buffer.
+    if (options.shouldGatherSourceMapInfo()) {
+      sourceMap.setStartingPosition(cb.getLineIndex(), cb.getColumnIndex());
+    }
 
-            String inputName = root.getInputId().getIdName();
-            String sourceName = root.getSourceFileName();
-            checkState(sourceName != null);
-            checkState(!sourceName.isEmpty());
+    cb.append(code);
 
-            delimiter =
-                delimiter
-                    .replace("%name%", inputName)
-                    .replace("%num%", String.valueOf(inputSeqNum))
-                    .replace("%n%", "\n");
+    // In order to avoid parse ambiguity when files are concatenated
+    // together, all files should end in a semi-colon. Do a quick
+    // heuristic check if there's an obvious semi-colon already there.
+    int length = code.length();
+    if (!endsWithSemicolon(code.charAt(length - 1), length >= 2 ? code.charAt(length - 2) : '\0')) {
+      cb.append(";");
+    }
 
-            cb.append(delimiter).append("\n");
-          }
+    if (options.shouldGatherSourceMapInfo()) {
+      for (SourceMap.Mapping mapping : printed.mappings) {
+        sourceMap.addMapping(mapping);
+      }
+    }
+  }
 
-          CodePrinter.SourceAndMappings sourceAndMappings =
-              toSourceAndMappings(root, inputSeqNum == 0, licenseTracker);
-          String code = sourceAndMappings.source;
+  /** Appends the input delimiter for a script if the options ask for one. */
+  private void appendInputDelimiter(CodeBuilder cb, int inputSeqNum, Node root) {
+    if (options.printInputDelimiter) {
 
-          // Check whether there is any license information that should be emitted.
-          for (String license : licenseTracker.emitLicenses()) {
-            cb.append("/*\n").append(license).append("*/\n");
-          }
+      if ((cb.getLength() > 0) && !cb.endsWith("\n")) {
+        cb.append("\n"); // Make sure that the label starts on a new line
+      }
+      checkState(root.isScript());
 
-          // Check whether there's any actual code to emit.
-          // This is deliberately done after the license tracker is given an opportunity to emit
-          // licenses, as some trackers might want to emit license info from this Node's tree
-          // regardless of whether it emits visible code. One example of this would be the case
-          // where inlining has moved the contents from this file to another file, but the license
-          // tracker can't be sure if the license for this code will ever be emitted.
-          if (code.isEmpty()) {
-            // Nothing to do.
-            return null;
-          }
+      String delimiter = options.inputDelimiter;
 
-          // If there is a valid source map, then indicate to it that the current
-          // root node's mappings are offset by the given string builder buffer.
-          // This offset is a result of licenses being added to the output buffer.
-          if (options.shouldGatherSourceMapInfo()) {
-            sourceMap.setStartingPosition(cb.getLineIndex(), cb.getColumnIndex());
-          }
+      String inputName = root.getInputId().getIdName();
+      String sourceName = root.getSourceFileName();
+      checkState(sourceName != null);
+      checkState(!sourceName.isEmpty());
 
-          cb.append(code);
-
-          // In order to avoid parse ambiguity when files are concatenated
-          // together, all files should end in a semi-colon. Do a quick
-          // heuristic check if there's an obvious semi-colon already there.
-          int length = code.length();
-          char lastChar = code.charAt(length - 1);
-          char secondLastChar = length >= 2 ? code.charAt(length - 2) : '\0';
-          boolean hasSemiColon = lastChar == ';' || (lastChar == '\n' && secondLastChar == ';');
-          if (!hasSemiColon) {
-            cb.append(";");
-          }
+      delimiter =
+          delimiter
+              .replace("%name%", inputName)
+              .replace("%num%", String.valueOf(inputSeqNum))
+              .replace("%n%", "\n");
 
-          if (options.shouldGatherSourceMapInfo()) {
-            for (SourceMap.Mapping mapping : sourceAndMappings.mappings) {
-              sourceMap.addMapping(mapping);
-            }
-          }
-          return null;
-        });
+      cb.append(delimiter).append("\n");
+    }
+  }
+
+  /** Returns whether code with the given last two characters obviously ends in a semicolon. */
+  private static boolean endsWithSemicolon(char lastChar, char secondLastChar) {
+    return lastChar == ';' || (lastChar == '\n' && secondLastChar == ';');
   }
 
   /** Generates JavaScript source code for an AST, doesn't generate source map info. */
@@ -2997,14 +3161,19 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   }
 
   /** Generates JavaScript source code for an AST. */
-  private CodePrinter.SourceAndMappings toSourceAndMappings(
+  CodePrinter.SourceAndMappings toSourceAndMappings(
+      Node n, boolean firstOutput, LicenseTracker licenseTracker) {
+    return newCodePrinterBuilder(n, firstOutput, licenseTracker).buildWithSourceMappings();
+  }
+
+  private CodePrinter.Builder newCodePrinterBuilder(
       Node n, boolean firstOutput, LicenseTracker licenseTracker) {
     CodePrinter.Builder builder = new CodePrinter.Builder(n);
     builder.setCompilerOptions(options);
     builder.setTagAsTypeSummary(options.shouldGenerateTypedExterns());
     builder.setTagAsStrict(firstOutput && options.shouldEmitUseStrict());
     builder.setLicenseTracker(licenseTracker);
-    return builder.buildWithSourceMappings();
+    return builder;
   }
 
   public static @Nullable String getLicenseForFile(
@@ -3063,19 +3232,51 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
    * that we also track the number of lines.
    */
   public static class CodeBuilder {
+    // The number of characters kept in the buffer when the text is written to an output.
+    private static final int RETAINED_LENGTH_WHEN_WRITING = 2;
+
     private final StringBuilder sb = new StringBuilder();
+    // Where the text is written as it is appended, or null to keep all of it in the buffer.
+    private final @Nullable Appendable out;
+    // The number of characters removed from the buffer after they were written to the output.
+    private int flushedLength = 0;
     private int lineCount = 0;
     private int colCount = 0;
 
+    public CodeBuilder() {
+      this(null);
+    }
+
+    /**
+     * Creates a builder that writes all text to {@code out} as it is appended, and only keeps the
+     * last two characters in its buffer. Write errors are thrown as {@link UncheckedIOException}.
+     */
+    CodeBuilder(@Nullable Appendable out) {
+      this.out = out;
+    }
+
     /** Removes all text, but leaves the line count unchanged. */
     void reset() {
       sb.setLength(0);
+      flushedLength = 0;
     }
 
     /** Appends the given string to the text buffer. */
     @CanIgnoreReturnValue
     CodeBuilder append(String str) {
       sb.append(str);
+      if (out != null) {
+        try {
+          out.append(str);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        int excess = sb.length() - RETAINED_LENGTH_WHEN_WRITING;
+        if (excess > 0) {
+          sb.delete(0, excess);
+          flushedLength += excess;
+        }
+      }
 
       // Adjust the line and column information for the new text.
       int index = -1;
@@ -3095,15 +3296,44 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return this;
     }
 
-    /** Returns all text in the text buffer. */
+    /** Returns an {@link Appendable} that appends to this builder. */
+    Appendable asAppendable() {
+      return new Appendable() {
+        @Override
+        public Appendable append(CharSequence csq) {
+          CodeBuilder.this.append(csq.toString());
+          return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+          return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+          return append(String.valueOf(c));
+        }
+      };
+    }
+
+    /**
+     * Returns the character {@code offset} positions from the end of the text, where 1 is the last
+     * character. When writing to an output, only the last two characters can be read.
+     */
+    char charFromEnd(int offset) {
+      return sb.charAt(sb.length() - offset);
+    }
+
+    /** Returns all text in the text buffer that was not written to an output. */
     @Override
     public String toString() {
       return sb.toString();
     }
 
-    /** Returns the length of the text buffer. */
+    /** Returns the length of the text buffer, including text written to an output. */
     public int getLength() {
-      return sb.length();
+      return flushedLength + sb.length();
     }
 
     /** Returns the (zero-based) index of the last line in the text buffer. */
@@ -3116,9 +3346,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return colCount;
     }
 
-    /** Determines whether the text ends with the given suffix. */
+    /**
+     * Determines whether the text ends with the given suffix. When writing to an output, only
+     * suffixes of up to two characters are reliable.
+     */
     boolean endsWith(String suffix) {
-      return (sb.length() > suffix.length())
+      return (getLength() > suffix.length())
+          && sb.length() >= suffix.length()
           && suffix.equals(sb.substring(sb.length() - suffix.length()));
     }
   }
@@ -3270,6 +3504,21 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return changeTracker;
   }
 
+  @Override
+  GlobalNamespaceCache getGlobalNamespaceCache() {
+    return globalNamespaceCache;
+  }
+
+  @Override
+  ReferenceMapCache getReferenceMapCache() {
+    return referenceMapCache;
+  }
+
+  @Override
+  InlineCostCache getInlineCostCache() {
+    return inlineCostCache;
+  }
+
   @Override
   void addIndexProvider(IndexProvider<?> indexProvider) {
     Class<?> type = indexProvider.getType();
@@ -3330,6 +3579,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
   }
 
+  @Override
+  public void reportInlineFunctionsSummary(Supplier<String> summarySupplier) {
+    if (tracker != null) {
+      tracker.setInlineFunctionsSummary(summarySupplier.get());
+    }
+  }
+
   @Override
   public void reportChangeToEnclosingScope(Node n) {
     changeTracker.reportChangeToEnclosingScope(n);
@@ -3408,6 +3664,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   public void report(JSError error) {
+    List<JSError> buffer = bufferedDiagnostics.get();
+    if (buffer != null) {
+      buffer.add(error);
+      return;
+    }
+
     CheckLevel level = error.defaultLevel();
     if (warningsGuard != null) {
       CheckLevel newLevel = warningsGuard.level(error);
@@ -3430,6 +3692,20 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     report(error);
   }
 
+  @Override
+  void startBufferingDiagnostics() {
+    checkState(bufferedDiagnostics.get() == null, "Already buffering diagnostics on this thread");
+    bufferedDiagnostics.set(new ArrayList<>());
+  }
+
+  @Override
+  ImmutableList<JSError> stopBufferingDiagnostics() {
+    List<JSError> diagnostics = bufferedDiagnostics.get();
+    checkState(diagnostics != null, "Not buffering diagnostics on this thread");
+    bufferedDiagnostics.remove();
+    return ImmutableList.copyOf(diagnostics);
+  }
+
   @Override
   public CheckLevel getErrorLevel(JSError error) {
     checkNotNull(options);
@@ -3535,7 +3811,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
    * populate sourcesContent array in the output source map even for sources embedded in the input
    * source map.
    */
-  private synchronized void addSourceMapSourceFiles(SourceMapInput inputSourceMap) {
+  private void addSourceMapSourceFiles(SourceMapInput inputSourceMap) {
+    addSourceMapSourceFiles(sourceMap, inputSourceMap);
+  }
+
+  private synchronized void addSourceMapSourceFiles(
+      SourceMap sourceMap, SourceMapInput inputSourceMap) {
     // synchronized annotation guards concurrent access to sourceMap during parsing.
     SourceMapConsumerV3 consumer = inputSourceMap.getSourceMap(errorManager);
     if (consumer == null) {
@@ -4167,12 +4448,17 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return moduleLoader;
   }
 
-  private synchronized void addFilesToSourceMap(Iterable<SourceFile> files) {
+  private void addFilesToSourceMap(Iterable<SourceFile> files) {
+    addFilesToSourceMap(getSourceMap(), files);
+  }
+
+  private synchronized void addFilesToSourceMap(
+      @Nullable SourceMap sourceMap, Iterable<SourceFile> files) {
     // synchronized annotation guards concurrent access to sourceMap during parsing.
-    if (getOptions().sourceMapIncludeSourcesContent && getSourceMap() != null) {
+    if (getOptions().sourceMapIncludeSourcesContent && sourceMap != null) {
       for (SourceFile file : files) {
         try {
-          getSourceMap().addSourceFile(file.getName(), file.getCode());
+          sourceMap.addSourceFile(file.getName(), file.getCode());
         } catch (IOException e) {
           throw new RuntimeException("Cannot read code of a source map's source file.", e);
         }
@@ -4394,6 +4680,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     jsRoot = externAndJsRoot.getLastChild();
     inputsById.clear();
     externs.clear();
+    // The estimates are keyed by the nodes of the replaced AST.
+    inlineCostCache.clear();
 
     colorRegistry = deserializedAst.getColorRegistry().orNull();
 
@@ -4536,11 +4824,27 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return;
     }
     sourceMap.reset();
+    initializeSourceMap(sourceMap);
+  }
+
+  /**
+   * Returns a new source map, initialized like {@link #resetAndIntitializeSourceMap} initializes
+   * the compiler's source map. Used to create a separate source map for each output chunk when
+   * the chunks are printed concurrently.
+   */
+  SourceMap createInitializedSourceMap() {
+    checkState(options.shouldGatherSourceMapInfo());
+    SourceMap map = newSourceMap();
+    initializeSourceMap(map);
+    return map;
+  }
+
+  private void initializeSourceMap(SourceMap sourceMap) {
     if (options.sourceMapIncludeSourcesContent) {
       if (options.applyInputSourceMaps) {
         // Add any input source map content files to the source map as potential sources
         for (SourceMapInput inputSourceMap : inputSourceMaps.values()) {
-          addSourceMapSourceFiles(inputSourceMap);
+          addSourceMapSourceFiles(sourceMap, inputSourceMap);
         }
       }
 
@@ -4558,7 +4862,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
             sourceFiles.add(input.getSourceFile());
           }
         }
-        addFilesToSourceMap(sourceFiles);
+        addFilesToSourceMap(sourceMap, sourceFiles);
       }
     }
   }
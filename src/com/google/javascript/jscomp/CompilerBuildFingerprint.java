@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Identifies the build of the running compiler, for the caches whose entries are kept on disk
+ * between compilations and must never be read by another build.
+ *
+ * <p>The release version is not enough for this, since it is "unspecified" in development and
+ * snapshot builds. The fingerprint covers the AST schema, i.e. the names of the {@link Token}s and
+ * node properties, and the content of the jar the compiler was loaded from. A compiler that wasn't
+ * loaded from a jar, e.g. one running from a directory of classes, can't be identified, so its
+ * fingerprint is unique to the running process.
+ */
+final class CompilerBuildFingerprint {
+  private static final Logger logger = Logger.getLogger(CompilerBuildFingerprint.class.getName());
+
+  private static final Supplier<String> fingerprint =
+      Suppliers.memoize(CompilerBuildFingerprint::compute);
+
+  private CompilerBuildFingerprint() {}
+
+  /** Returns the fingerprint of the running compiler. */
+  static String get() {
+    return fingerprint.get();
+  }
+
+  private static String compute() {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putSchema(hasher);
+    hasher.putString(getJarFingerprint(), UTF_8);
+    return hasher.hash().toString();
+  }
+
+  /** Adds the names of the tokens and node properties, which ASTs may be stored by ordinal. */
+  private static void putSchema(Hasher hasher) {
+    for (Token token : Token.values()) {
+      hasher.putString(token.name(), UTF_8).putChar(',');
+    }
+    hasher.putChar(';');
+    for (String prop : Node.getPropNames()) {
+      hasher.putString(prop, UTF_8).putChar(',');
+    }
+    hasher.putChar(';');
+  }
+
+  private static String getJarFingerprint() {
+    try {
+      CodeSource codeSource = Compiler.class.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        Path location = Path.of(codeSource.getLocation().toURI());
+        if (Files.isRegularFile(location)) {
+          return MoreFiles.asByteSource(location).hash(Hashing.sha256()).toString();
+        }
+      }
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      logger.log(Level.FINE, "Could not read the compiler jar", e);
+    }
+    return UUID.randomUUID().toString();
+  }
+}
@@ -25,7 +25,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import org.jspecify.annotations.Nullable;
 
@@ -57,14 +59,30 @@ class CompilerExecutor {
   }
 
   static ExecutorService getDefaultExecutorService() {
-    return Executors.newSingleThreadExecutor(new ThreadFactory() {
-      @Override
-      public Thread newThread(Runnable r) {
-        Thread t = new Thread(null, r, "jscompiler", COMPILER_STACK_SIZE);
-        t.setDaemon(true);  // Do not prevent the JVM from exiting.
-        return t;
-      }
-    });
+    return Executors.newSingleThreadExecutor(newDaemonThreadFactory("jscompiler"));
+  }
+
+  /**
+   * Returns a factory of daemon threads with the given name and the stack size of the compiler
+   * thread, for work that a pass runs on other threads.
+   */
+  static ThreadFactory newDaemonThreadFactory(String threadName) {
+    return r -> {
+      Thread t = new Thread(null, r, threadName, COMPILER_STACK_SIZE);
+      t.setDaemon(true); // Do not prevent the JVM from exiting.
+      return t;
+    };
+  }
+
+  /** Returns a pool of {@code numThreads} threads from {@link #newDaemonThreadFactory}. */
+  static ThreadPoolExecutor newFixedThreadPool(int numThreads, String threadName) {
+    return new ThreadPoolExecutor(
+        numThreads,
+        numThreads,
+        Integer.MAX_VALUE,
+        SECONDS,
+        new LinkedBlockingQueue<Runnable>(),
+        newDaemonThreadFactory(threadName));
   }
 
   void disableThreads() {
@@ -31,6 +31,7 @@ import com.google.javascript.jscomp.deps.JsFileRegexParser;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
 import com.google.javascript.jscomp.deps.SimpleDependencyInfo;
+import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.ParserRunner;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
@@ -668,15 +669,17 @@ public class CompilerInput implements DependencyInfo {
 
     private void parse(AbstractCompiler compiler) {
       try {
+        String code = sourceFile.getCode();
+        Config config =
+            compiler.getParserConfig(
+                sourceFile.isExtern()
+                    ? AbstractCompiler.ConfigContext.EXTERNS
+                    : AbstractCompiler.ConfigContext.DEFAULT);
+        ParseCache parseCache = compiler.getParseCache();
         ParserRunner.ParseResult result =
-            ParserRunner.parse(
-                sourceFile,
-                sourceFile.getCode(),
-                compiler.getParserConfig(
-                    sourceFile.isExtern()
-                        ? AbstractCompiler.ConfigContext.EXTERNS
-                        : AbstractCompiler.ConfigContext.DEFAULT),
-                compiler.getDefaultErrorReporter());
+            parseCache != null
+                ? parseCache.parse(sourceFile, code, config, compiler.getDefaultErrorReporter())
+                : ParserRunner.parse(sourceFile, code, config, compiler.getDefaultErrorReporter());
         root = result.ast;
         features = result.features;
 
@@ -258,6 +258,29 @@ public class CompilerOptions {
     return this.typedAstOutputFile;
   }
 
+  private @Nullable Path parseCacheDirectory = null;
+  private String parseCacheCompilerVersion = "";
+
+  /**
+   * Sets a directory in which to cache the ASTs of parsed files between compilations. See {@link
+   * ParseCache}.
+   *
+   * @param compilerVersion identifies the compiler build, so that entries written by other builds
+   *     are not used
+   */
+  public void setParseCache(@Nullable Path directory, String compilerVersion) {
+    this.parseCacheDirectory = directory;
+    this.parseCacheCompilerVersion = checkNotNull(compilerVersion);
+  }
+
+  @Nullable Path getParseCacheDirectory() {
+    return parseCacheDirectory;
+  }
+
+  String getParseCacheCompilerVersion() {
+    return parseCacheCompilerVersion;
+  }
+
   private boolean mergedPrecompiledLibraries = false;
 
   void setMergedPrecompiledLibraries(boolean mergedPrecompiledLibraries) {
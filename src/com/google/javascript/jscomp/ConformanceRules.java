@@ -2521,7 +2521,8 @@ public final class ConformanceRules {
             >= GLOBAL_NAMESPACE_ANALYSIS_LIMIT) {
           performGlobalNamespaceAnalysis = false;
         } else {
-          globalNamespace = new GlobalNamespace(compiler, compiler.getJsRoot());
+          globalNamespace =
+              compiler.getGlobalNamespaceCache().getWithoutExterns(compiler.getJsRoot());
         }
       }
       return globalNamespace;
@@ -174,9 +174,23 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
       return this;
     }
 
+    /**
+     * Computes the graph, or returns the graph computed earlier for the same function or script if
+     * the compiler currently caches graphs and the code didn't change since.
+     */
     public ControlFlowGraph<Node> computeCfg() {
       Preconditions.checkNotNull(compiler, "Need to call setCompiler()");
       Preconditions.checkNotNull(cfgRoot, "Need to call setCfgRoot()");
+      if (!shouldTraverseFunctions && ChangeTracker.isChangeScopeRoot(cfgRoot)) {
+        ControlFlowGraphCache cache = compiler.getChangeTracker().getControlFlowGraphCache();
+        if (cache != null) {
+          return cache.getOrCompute(cfgRoot, edgeAnnotations, this::computeUncachedCfg);
+        }
+      }
+      return computeUncachedCfg();
+    }
+
+    private ControlFlowGraph<Node> computeUncachedCfg() {
       ControlFlowAnalysis cfa =
           new ControlFlowAnalysis(compiler, shouldTraverseFunctions, edgeAnnotations);
       cfa.computeCfg(this.cfgRoot);
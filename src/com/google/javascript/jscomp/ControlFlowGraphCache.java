@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.javascript.rhino.Node;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Reuses the control flow graphs of functions and scripts whose code didn't change since their
+ * graph was computed.
+ *
+ * <p>The {@link ChangeTracker} drops the graph of a change scope as soon as a change to that scope
+ * is reported, so every pass that modifies the AST must report its changes, as it already must for
+ * the optimization loop to work. Changes to a nested function don't invalidate the graph of the
+ * enclosing scope, which doesn't contain the nodes of nested functions.
+ *
+ * <p>Graphs are only cached while the optimization loop runs, where most change scopes stay
+ * unchanged between the many runs of the passes that compute them.
+ */
+final class ControlFlowGraphCache {
+
+  private record Entry(ControlFlowGraph<Node> cfg, boolean edgeAnnotations) {}
+
+  // Passes running on several scripts at once share the cache.
+  private final ConcurrentHashMap<Node, Entry> cfgs = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the cached graph of the change scope, or computes and caches it if there is none.
+   *
+   * <p>The annotations of a cached graph are cleared, so that it looks like a new graph.
+   */
+  ControlFlowGraph<Node> getOrCompute(
+      Node changeScopeRoot, boolean edgeAnnotations, Supplier<ControlFlowGraph<Node>> computeCfg) {
+    checkArgument(ChangeTracker.isChangeScopeRoot(changeScopeRoot), changeScopeRoot);
+    Entry entry = cfgs.get(changeScopeRoot);
+    if (entry != null && entry.edgeAnnotations() == edgeAnnotations) {
+      ControlFlowGraph<Node> cfg = entry.cfg();
+      cfg.clearNodeAnnotations();
+      if (edgeAnnotations) {
+        cfg.clearEdgeAnnotations();
+      }
+      return cfg;
+    }
+    ControlFlowGraph<Node> cfg = computeCfg.get();
+    cfgs.put(changeScopeRoot, new Entry(cfg, edgeAnnotations));
+    return cfg;
+  }
+
+  /** Drops the graph of a change scope whose code changed or that was deleted. */
+  void invalidate(Node changeScopeRoot) {
+    cfgs.remove(changeScopeRoot);
+  }
+
+  /** Returns the number of cached graphs. */
+  int size() {
+    return cfgs.size();
+  }
+}
@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.collect.Sets;
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
 import com.google.javascript.jscomp.graph.Annotation;
@@ -28,12 +29,13 @@ import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
@@ -82,13 +84,20 @@ import org.jspecify.annotations.Nullable;
  * annotated with a {@link FlowState} object that represents maximum fixed point solution. Any
  * previous annotations at the nodes of the control flow graph will be lost.
  *
+ * <p>The order in which nodes are revisited can be chosen with {@link #getWorklistOrder()}. An
+ * analysis whose result doesn't depend on the order, i.e. any monotone analysis, should prefer
+ * {@link WorklistOrder#REVERSE_POSTORDER}.
+ *
  * @param <N> The control flow graph's node value type.
  * @param <L> Lattice element type.
  */
 abstract class DataFlowAnalysis<N, L extends LatticeElement> {
 
   private final ControlFlowGraph<N> cfg;
-  private final UniqueQueue<DiGraphNode<N, Branch>> workQueue;
+  private @Nullable Worklist<N> workQueue;
+
+  /** The number of times a node was processed by the last call to {@link #analyze()}. */
+  private int iterationCount = 0;
 
   /**
    * The maximum number of steps per individual CFG node before we assume the analysis is divergent.
@@ -118,7 +127,6 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   DataFlowAnalysis(ControlFlowGraph<N> cfg) {
     this.cfg = cfg;
-    this.workQueue = new UniqueQueue<>(cfg.getOptionalNodeComparator(isForward()));
 
     if (this.isBranched()) {
       checkState(this.isForward());
@@ -141,6 +149,39 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
    */
   abstract boolean isForward();
 
+  /** The order in which the nodes on the worklist are processed. */
+  enum WorklistOrder {
+    /**
+     * The order of the {@link ControlFlowGraph#getOptionalNodeComparator comparator} of the graph,
+     * i.e. roughly the order of the AST, or first-in first-out if the graph has none.
+     */
+    CFG_PRIORITY,
+
+    /**
+     * The reverse postorder of a depth-first search in the direction of the flow. Apart from back
+     * edges, every node is processed after the nodes that flow into it, so a single pass over an
+     * acyclic region reaches its fixed point.
+     */
+    REVERSE_POSTORDER
+  }
+
+  /**
+   * Returns the order in which the nodes whose inputs changed are processed. The result of an
+   * analysis that isn't monotone may depend on the order.
+   */
+  WorklistOrder getWorklistOrder() {
+    return WorklistOrder.CFG_PRIORITY;
+  }
+
+  /**
+   * Returns the number of times a node was processed by the last call to {@link #analyze()}. A
+   * number that is much larger than the number of nodes means the analysis took many passes to
+   * converge.
+   */
+  final int getIterationCount() {
+    return iterationCount;
+  }
+
   /** Whether or not {@link #createFlowBrancher} should be used. */
   boolean isBranched() {
     return false;
@@ -215,6 +256,7 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     while (!this.workQueue.isEmpty()) {
       DiGraphNode<N, Branch> curNode = this.workQueue.removeFirst();
       LinearFlowState<L> curState = curNode.getAnnotation();
+      iterationCount++;
       if (curState.stepCount++ > MAX_STEPS_PER_NODE) {
         throw new IllegalStateException("Dataflow analysis appears to diverge around: " + curNode);
       }
@@ -236,6 +278,8 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     if (isForward()) {
       joinInputs(getCfg().getImplicitReturn());
     }
+    // The worklist is as large as the graph, and is not needed anymore.
+    this.workQueue = null;
   }
 
   /**
@@ -254,13 +298,13 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
 
   /** Initializes the work list and the control flow graph. */
   private void initialize() {
-    // TODO(user): Calling clear doesn't deallocate the memory in a
-    // LinkedHashSet. Consider creating a new work set if we plan to repeatedly
-    // call analyze.
-    workQueue.clear();
+    iterationCount = 0;
     for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
       node.setAnnotation(
           new LinearFlowState<>(createInitialEstimateLattice(), createInitialEstimateLattice()));
+    }
+    workQueue = createWorklist();
+    for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
       if (node != cfg.getImplicitReturn()) {
         workQueue.add(node);
       }
@@ -272,6 +316,73 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     }
   }
 
+  private Worklist<N> createWorklist() {
+    Comparator<DiGraphNode<N, Branch>> comparator = cfg.getOptionalNodeComparator(isForward());
+    return switch (getWorklistOrder()) {
+      case CFG_PRIORITY -> {
+        if (comparator == null) {
+          yield new FifoWorklist<>();
+        }
+        List<DiGraphNode<N, Branch>> order = new ArrayList<>();
+        for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
+          if (node != cfg.getImplicitReturn()) {
+            order.add(node);
+          }
+        }
+        order.sort(comparator);
+        yield new OrderedWorklist<>(order);
+      }
+      case REVERSE_POSTORDER -> new OrderedWorklist<>(computeReversePostorder());
+    };
+  }
+
+  /**
+   * Returns the nodes of the graph, except the implicit return, in reverse postorder of a
+   * depth-first search in the direction of the flow. The nodes the search doesn't reach, e.g.
+   * unreachable code, come last.
+   */
+  private List<DiGraphNode<N, Branch>> computeReversePostorder() {
+    DiGraphNode<N, Branch> start = isForward() ? cfg.getEntry() : cfg.getImplicitReturn();
+    Set<DiGraphNode<N, Branch>> visited = Sets.newIdentityHashSet();
+    List<DiGraphNode<N, Branch>> postorder = new ArrayList<>();
+    ArrayDeque<DiGraphNode<N, Branch>> nodeStack = new ArrayDeque<>();
+    ArrayDeque<Iterator<? extends DiGraphNode<N, Branch>>> nextStack = new ArrayDeque<>();
+    visited.add(start);
+    nodeStack.push(start);
+    nextStack.push(flowSuccessors(start).iterator());
+    while (!nodeStack.isEmpty()) {
+      Iterator<? extends DiGraphNode<N, Branch>> next = nextStack.peek();
+      if (next.hasNext()) {
+        DiGraphNode<N, Branch> node = next.next();
+        if (visited.add(node)) {
+          nodeStack.push(node);
+          nextStack.push(flowSuccessors(node).iterator());
+        }
+      } else {
+        postorder.add(nodeStack.pop());
+        nextStack.pop();
+      }
+    }
+
+    List<DiGraphNode<N, Branch>> order = new ArrayList<>(cfg.getNodes().size());
+    for (int i = postorder.size() - 1; i >= 0; i--) {
+      DiGraphNode<N, Branch> node = postorder.get(i);
+      if (node != cfg.getImplicitReturn()) {
+        order.add(node);
+      }
+    }
+    for (DiGraphNode<N, Branch> node : cfg.getNodes()) {
+      if (!visited.contains(node) && node != cfg.getImplicitReturn()) {
+        order.add(node);
+      }
+    }
+    return order;
+  }
+
+  private List<? extends DiGraphNode<N, Branch>> flowSuccessors(DiGraphNode<N, Branch> node) {
+    return isForward() ? cfg.getDirectedSuccNodes(node) : cfg.getDirectedPredNodes(node);
+  }
+
   /**
    * Performs a single flow through a node.
    *
@@ -360,6 +471,8 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
   /** The in and out states of a node. */
   static final class LinearFlowState<L> implements Annotation {
     private int stepCount = 0;
+    // The position of the node in the order of an OrderedWorklist.
+    private int worklistIndex = -1;
     private L in;
     private L out;
 
@@ -467,33 +580,73 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     }
   }
 
-  private static final class UniqueQueue<T> {
-    private final LinkedHashSet<T> seenSet = new LinkedHashSet<>();
-    private final Queue<T> queue;
+  /** The nodes whose inputs changed since they were last processed. */
+  private interface Worklist<N> {
+    boolean isEmpty();
 
-    UniqueQueue(@Nullable Comparator<T> priority) {
-      this.queue = (priority == null) ? new ArrayDeque<>() : new PriorityQueue<>(priority);
-    }
+    DiGraphNode<N, Branch> removeFirst();
+
+    void add(DiGraphNode<N, Branch> node);
+  }
 
-    boolean isEmpty() {
+  /** Processes nodes in the order in which they were added. */
+  private static final class FifoWorklist<N> implements Worklist<N> {
+    private final LinkedHashSet<DiGraphNode<N, Branch>> queue = new LinkedHashSet<>();
+
+    @Override
+    public boolean isEmpty() {
       return this.queue.isEmpty();
     }
 
-    T removeFirst() {
-      T t = this.queue.poll();
-      this.seenSet.remove(t);
-      return t;
+    @Override
+    public DiGraphNode<N, Branch> removeFirst() {
+      return this.queue.removeFirst();
     }
 
-    void add(T t) {
-      if (this.seenSet.add(t)) {
-        this.queue.add(t);
+    @Override
+    public void add(DiGraphNode<N, Branch> node) {
+      this.queue.add(node);
+    }
+  }
+
+  /**
+   * Processes nodes in a fixed order. The pending nodes are kept as bits of their position in the
+   * order, so that adding and removing a node doesn't allocate.
+   */
+  private static final class OrderedWorklist<N> implements Worklist<N> {
+    private final List<DiGraphNode<N, Branch>> order;
+    private final BitSet pending = new BitSet();
+    // No node before this position is pending.
+    private int lowestPending = 0;
+
+    OrderedWorklist(List<DiGraphNode<N, Branch>> order) {
+      this.order = order;
+      for (int i = 0; i < order.size(); i++) {
+        LinearFlowState<?> state = order.get(i).getAnnotation();
+        state.worklistIndex = i;
       }
     }
 
-    void clear() {
-      this.seenSet.clear();
-      this.queue.clear();
+    @Override
+    public boolean isEmpty() {
+      return this.pending.isEmpty();
+    }
+
+    @Override
+    public DiGraphNode<N, Branch> removeFirst() {
+      int index = this.pending.nextSetBit(this.lowestPending);
+      this.pending.clear(index);
+      this.lowestPending = index + 1;
+      return this.order.get(index);
+    }
+
+    @Override
+    public void add(DiGraphNode<N, Branch> node) {
+      LinearFlowState<?> state = node.getAnnotation();
+      int index = state.worklistIndex;
+      checkState(index >= 0, "Not in the worklist order: %s", node);
+      this.pending.set(index);
+      this.lowestPending = Math.min(this.lowestPending, index);
     }
   }
 }
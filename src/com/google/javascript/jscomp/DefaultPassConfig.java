@@ -1740,6 +1740,7 @@ public final class DefaultPassConfig extends PassConfig {
       PassFactory.builder()
           .setName(PassNames.PEEPHOLE_OPTIMIZATIONS)
           .setRunInFixedPointLoop(true)
+          .setChangeScopeLocal(true)
           .setInternalFactory(
               (compiler) ->
                   createPeepholeOptimizationsPass(compiler, PassNames.PEEPHOLE_OPTIMIZATIONS))
@@ -2439,6 +2440,7 @@ public final class DefaultPassConfig extends PassConfig {
       PassFactory.builder()
           .setName(PassNames.COLLAPSE_VARIABLE_DECLARATIONS)
           .setInternalFactory(CollapseVariableDeclarations::new)
+          .setScriptLocal(true)
           .build();
 
   /** Extracts common sub-expressions. */
@@ -2846,6 +2848,7 @@ public final class DefaultPassConfig extends PassConfig {
       PassFactory.builder()
           .setName("optimizeToEs6")
           .setInternalFactory(SubstituteEs6Syntax::new)
+          .setScriptLocal(true)
           .build();
 
   /** Rewrites goog.module in whitespace only mode */
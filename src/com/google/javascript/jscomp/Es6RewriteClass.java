@@ -68,9 +68,11 @@ public final class Es6RewriteClass implements NodeTraversal.Callback, CompilerPa
     // have an invalid AST state between passes.
     // TODO(bradfordcsmith): It would probably be more readable and efficient to merge the super
     //     constructor rewriting logic into this class.
-    // The code here only creates the GlobalNamespace object which is very cheap. The expensive
-    // building of global namespace happens inside es6ConvertSuperConstructorCalls pass.
-    convertSuperConstructorCalls.setGlobalNamespace(new GlobalNamespace(compiler, externs, root));
+    // The code here only looks up the GlobalNamespace object, which is cheap. The expensive
+    // building of global namespace happens inside es6ConvertSuperConstructorCalls pass, unless
+    // an earlier pass already built it and the code didn't change since.
+    convertSuperConstructorCalls.setGlobalNamespace(
+        compiler.getGlobalNamespaceCache().get(externs, root));
     NodeTraversal.traverse(compiler, root, convertSuperConstructorCalls);
     TranspilationPasses.maybeMarkFeaturesAsTranspiledAway(compiler, root, features);
   }
@@ -899,7 +899,8 @@ class FunctionInjector {
       Collection<? extends Reference> refs,
       Set<String> namesToAlias,
       boolean isRemovable,
-      boolean referencesThis) {
+      boolean referencesThis,
+      boolean hasInnerFunctions) {
     int referenceCount = refs.size();
     if (referenceCount == 0) {
       return true;
@@ -941,11 +942,15 @@ class FunctionInjector {
     int callCost = estimateCallCost(fnNode, referencesThis);
     int overallCallCost = callCost * referenceCount;
 
-    int costDeltaDirect = inlineCostDelta(fnNode, namesToAlias, InliningMode.DIRECT);
-    int costDeltaBlock = inlineCostDelta(fnNode, namesToAlias, InliningMode.BLOCK);
+    // Functions with inner functions aren't marked as changed along with them, so their estimates
+    // can't be kept.
+    boolean cacheable = !hasInnerFunctions;
+    int costDeltaDirect = inlineCostDelta(fnNode, namesToAlias, InliningMode.DIRECT, cacheable);
+    int costDeltaBlock = inlineCostDelta(fnNode, namesToAlias, InliningMode.BLOCK, cacheable);
 
     return doesLowerCost(
         fnNode,
+        cacheable,
         overallCallCost,
         referencesUsingDirectInlining,
         costDeltaDirect,
@@ -957,8 +962,9 @@ class FunctionInjector {
   /**
    * @return Whether inlining will lower cost.
    */
-  private static boolean doesLowerCost(
+  private boolean doesLowerCost(
       Node fnNode,
+      boolean cacheable,
       int callCost,
       int directInlines,
       int costDeltaDirect,
@@ -983,7 +989,7 @@ class FunctionInjector {
     int costDelta = (directInlines * -costDeltaDirect) + (blockInlines * -costDeltaBlock);
     int threshold = (callCost + costDelta) / fnInstanceCount;
 
-    return InlineCostEstimator.getCost(fnNode, threshold + 1) <= threshold;
+    return compiler.getInlineCostCache().isCostAtMost(fnNode, threshold, cacheable);
   }
 
   /**
@@ -1013,7 +1019,8 @@ class FunctionInjector {
   /**
    * @return The difference between the function definition cost and inline cost.
    */
-  private static int inlineCostDelta(Node fnNode, Set<String> namesToAlias, InliningMode mode) {
+  private int inlineCostDelta(
+      Node fnNode, Set<String> namesToAlias, InliningMode mode, boolean cacheable) {
     // The part of the function that is never inlined:
     //    "function xx(xx,xx){}" (15 + (param count * 3) -1;
     int paramCount = NodeUtil.getFunctionParameters(fnNode).getChildCount();
@@ -1048,11 +1055,8 @@ class FunctionInjector {
       final int perReturnResultOverhead = 3; // "XX="
       final int perAliasOverhead = 3; // "XX="
 
-      // TODO(johnlenz): Counting the number of returns is relatively expensive.
-      //   This information should be determined during the traversal and cached.
-      int returnCount =
-          NodeUtil.getNodeTypeReferenceCount(
-              block, Token.RETURN, new NodeUtil.MatchShallowStatement());
+      // Counting the number of returns is relatively expensive, so it is cached.
+      int returnCount = compiler.getInlineCostCache().getReturnCount(fnNode, cacheable);
       int resultCount = (returnCount > 0) ? returnCount - 1 : 0;
       int baseOverhead = (returnCount > 0) ? inlineBlockOverhead : 0;
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.javascript.rhino.Node;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Shares the {@link GlobalNamespace} of the program between the passes that only read it, so that
+ * it is only rebuilt after the code changed.
+ *
+ * <p>Building a namespace walks the whole AST and creates a {@link GlobalNamespace.Name} and
+ * {@link GlobalNamespace.Ref} for every qualified name. The shared namespaces are released as soon
+ * as the {@link ChangeTracker} reports a change to any script or function, through the handler
+ * from {@link #getCodeChangeHandler}, so that a stale namespace isn't kept alive until the next
+ * lookup. Passes that edit the names or refs of a shared namespace must call {@link #invalidate},
+ * since such edits aren't reported as code changes.
+ *
+ * <p>The namespace isn't patched in place for the changed scripts: the state of each name, like
+ * its declaration and its JSDoc, depends on the order of its refs across all scripts.
+ */
+final class GlobalNamespaceCache {
+
+  private record Entry(@Nullable Node externsRoot, Node root, GlobalNamespace namespace) {
+    boolean hasRoots(@Nullable Node externsRoot, Node root) {
+      return this.externsRoot == externsRoot && this.root == root;
+    }
+  }
+
+  private final AbstractCompiler compiler;
+  private @Nullable Entry withExterns;
+  private @Nullable Entry withoutExterns;
+  private final CodeChangeHandler codeChangeHandler = this::invalidate;
+
+  GlobalNamespaceCache(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  /**
+   * Returns the namespace of the given externs and code, like {@code new
+   * GlobalNamespace(compiler, externsRoot, root)}. Only namespaces of the roots of the compiler
+   * are shared.
+   */
+  GlobalNamespace get(Node externsRoot, Node root) {
+    if (root != compiler.getJsRoot() || externsRoot.getParent() != root.getParent()) {
+      return new GlobalNamespace(compiler, externsRoot, root);
+    }
+    if (withExterns == null || !withExterns.hasRoots(externsRoot, root)) {
+      withExterns = new Entry(externsRoot, root, new GlobalNamespace(compiler, externsRoot, root));
+    }
+    return withExterns.namespace();
+  }
+
+  /** Returns the namespace of the given code, without externs, like {@link #get}. */
+  GlobalNamespace getWithoutExterns(Node root) {
+    if (root != compiler.getJsRoot()) {
+      return new GlobalNamespace(compiler, root);
+    }
+    if (withoutExterns == null || !withoutExterns.hasRoots(null, root)) {
+      withoutExterns = new Entry(null, root, new GlobalNamespace(compiler, root));
+    }
+    return withoutExterns.namespace();
+  }
+
+  /** Drops the shared namespaces, so that the next lookup builds a new one. */
+  void invalidate() {
+    withExterns = null;
+    withoutExterns = null;
+  }
+
+  /** Whether no namespace is currently shared. */
+  @VisibleForTesting
+  boolean isEmpty() {
+    return withExterns == null && withoutExterns == null;
+  }
+
+  /** Returns the handler to register with the {@link ChangeTracker} of the compiler. */
+  CodeChangeHandler getCodeChangeHandler() {
+    return codeChangeHandler;
+  }
+}
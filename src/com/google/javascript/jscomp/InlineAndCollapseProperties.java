@@ -2339,7 +2339,7 @@ class InlineAndCollapseProperties implements CompilerPass {
 
     @Override
     public void process(Node externs, Node root) {
-      namespace = new GlobalNamespace(compiler, externs, root);
+      namespace = compiler.getGlobalNamespaceCache().get(externs, root);
       NodeTraversal.traverseRoots(compiler, new AliasesCollector(), externs, root);
       NodeTraversal.traverseRoots(compiler, new AliasesInliner(), externs, root);
     }
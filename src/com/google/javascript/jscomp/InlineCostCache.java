@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the estimated costs of the functions that {@link InlineFunctions} considers, so that
+ * the code of a function is only printed again by {@link InlineCostEstimator} after it changed.
+ *
+ * <p>An estimate is kept along with the change time of its function. It is only reused while the
+ * function has the same change time, and only if that time is before the current change stamp,
+ * since later changes in the current pass would get the same time. Functions containing other
+ * functions aren't kept, as changes to the inner functions don't change the time of the outer one.
+ *
+ * <p>The estimator stops printing once it reaches the largest cost of interest. Such an estimate
+ * is only a lower bound on the cost, which still answers later checks against lower thresholds.
+ */
+final class InlineCostCache {
+
+  /**
+   * The cost of a function when it had the given change time. If {@code exact} is false, the cost
+   * is a lower bound. A negative return count is unknown.
+   */
+  private record Estimate(int changeTime, int cost, boolean exact, int returnCount) {}
+
+  private final AbstractCompiler compiler;
+  private final Map<Node, Estimate> estimates = new HashMap<>();
+
+  private int costChecks = 0;
+  private int reusedCostChecks = 0;
+  private int costDecisions = 0;
+  private int inliningDecisions = 0;
+
+  InlineCostCache(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  /**
+   * Returns whether the estimated cost of the function is at most the threshold, like {@code
+   * InlineCostEstimator.getCost(fnNode, threshold + 1) <= threshold}.
+   *
+   * @param cacheable whether the function contains no other functions
+   */
+  boolean isCostAtMost(Node fnNode, int threshold, boolean cacheable) {
+    costChecks++;
+    Estimate estimate = cacheable ? getValidEstimate(fnNode) : null;
+    if (estimate != null && estimate.cost() >= 0) {
+      if (estimate.exact()) {
+        reusedCostChecks++;
+        return estimate.cost() <= threshold;
+      } else if (estimate.cost() > threshold) {
+        reusedCostChecks++;
+        return false;
+      }
+    }
+
+    int cost = InlineCostEstimator.getCost(fnNode, threshold + 1);
+    // The estimator only stops early once the cost reaches its limit.
+    boolean exact = cost <= threshold;
+    if (cacheable && isStable(fnNode)) {
+      int returnCount = estimate != null ? estimate.returnCount() : -1;
+      estimates.put(fnNode, new Estimate(fnNode.getChangeTime(), cost, exact, returnCount));
+    }
+    return exact;
+  }
+
+  /**
+   * Returns the number of return statements of the function, not counting those of inner
+   * functions.
+   *
+   * @param cacheable whether the function contains no other functions
+   */
+  int getReturnCount(Node fnNode, boolean cacheable) {
+    Estimate estimate = cacheable ? getValidEstimate(fnNode) : null;
+    if (estimate != null && estimate.returnCount() >= 0) {
+      return estimate.returnCount();
+    }
+
+    int returnCount =
+        NodeUtil.getNodeTypeReferenceCount(
+            fnNode.getLastChild(), Token.RETURN, new NodeUtil.MatchShallowStatement());
+    if (cacheable && isStable(fnNode)) {
+      estimates.put(
+          fnNode,
+          estimate != null
+              ? new Estimate(estimate.changeTime(), estimate.cost(), estimate.exact(), returnCount)
+              : new Estimate(fnNode.getChangeTime(), -1, false, returnCount));
+    }
+    return returnCount;
+  }
+
+  /** Records whether a function was found to lower the code size when inlined. */
+  void recordInliningDecision(boolean lowersCost) {
+    costDecisions++;
+    if (lowersCost) {
+      inliningDecisions++;
+    }
+  }
+
+  /** Drops all estimates, e.g. because the AST was replaced. */
+  void clear() {
+    estimates.clear();
+  }
+
+  /** Drops the estimates of functions that were removed from the AST. */
+  void removeDeletedFunctions() {
+    estimates.keySet().removeIf(Node::isDeleted);
+  }
+
+  String getSummary() {
+    return String.format(
+        "%d of %d cost checks reused an estimate, %d functions inlined of %d decided by cost",
+        reusedCostChecks, costChecks, inliningDecisions, costDecisions);
+  }
+
+  private Estimate getValidEstimate(Node fnNode) {
+    Estimate estimate = estimates.get(fnNode);
+    if (estimate == null) {
+      return null;
+    }
+    if (estimate.changeTime() != fnNode.getChangeTime() || fnNode.isDeleted()) {
+      estimates.remove(fnNode);
+      return null;
+    }
+    return estimate;
+  }
+
+  /** Whether a later change to the function is guaranteed to give it a new change time. */
+  private boolean isStable(Node fnNode) {
+    return fnNode.getChangeTime() < compiler.getChangeTracker().getChangeStamp();
+  }
+}
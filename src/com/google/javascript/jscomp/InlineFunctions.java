@@ -74,6 +74,7 @@ class InlineFunctions implements CompilerPass {
 
   private final FunctionInjector injector;
   private final FunctionArgumentInjector functionArgumentInjector;
+  private final InlineCostCache costCache;
 
   private final Reach reach;
   private final boolean assumeMinimumCapture;
@@ -93,6 +94,7 @@ class InlineFunctions implements CompilerPass {
     checkArgument(reach != Reach.NONE);
 
     this.compiler = compiler;
+    this.costCache = compiler.getInlineCostCache();
 
     this.reach = reach;
     this.assumeMinimumCapture = assumeMinimumCapture;
@@ -125,6 +127,7 @@ class InlineFunctions implements CompilerPass {
   public void process(Node externs, Node root) {
     checkState(compiler.getLifeCycleStage().isNormalized());
 
+    costCache.removeDeletedFunctions();
     NodeTraversal.traverse(compiler, root, new FindCandidateFunctions());
     if (fns.isEmpty()) {
       return; // Nothing left to do.
@@ -704,6 +707,7 @@ class InlineFunctions implements CompilerPass {
       if (functionState.hasReferences()) {
         // Only inline function if it decreases the code size.
         boolean lowersCost = minimizeCost(functionState);
+        costCache.recordInliningDecision(lowersCost);
         if (!lowersCost) {
           // It shouldn't be inlined; remove it from the list.
           i.remove();
@@ -714,6 +718,7 @@ class InlineFunctions implements CompilerPass {
         i.remove();
       }
     }
+    compiler.reportInlineFunctionsSummary(costCache::getSummary);
   }
 
   /**
@@ -754,7 +759,8 @@ class InlineFunctions implements CompilerPass {
             functionState.getReferences(),
             functionState.getNamesToAlias(),
             functionState.canRemove(),
-            functionState.getReferencesThis());
+            functionState.getReferencesThis(),
+            functionState.hasInnerFunctions());
   }
 
   /**
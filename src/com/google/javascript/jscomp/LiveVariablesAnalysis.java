@@ -50,7 +50,7 @@ class LiveVariablesAnalysis
   static final int MAX_VARIABLES_TO_ANALYZE = 100;
 
   private final class LiveVariableJoinOp implements FlowJoiner<LiveVariableLattice> {
-    final LiveVariableLattice result = new LiveVariableLattice(orderedVars.size());
+    final LiveVariableLattice result = new LiveVariableLattice(numTrackedVars);
 
     @Override
     public void joinFlow(LiveVariableLattice x) {
@@ -129,8 +129,19 @@ class LiveVariablesAnalysis
   // obtain variables in the order in which they appear in the code
   private final List<Var> orderedVars;
 
+  // Only the liveness of the variables with a smaller index is computed. The others are treated
+  // like escaped variables.
+  private final int numTrackedVars;
+
   private final Map<String, Var> allVarsInFn;
 
+  /** The GEN and KILL sets of a CFG node. */
+  private record GenKill(BitSet gen, BitSet kill) {}
+
+  // The GEN and KILL sets only depend on the CFG node and the escaped variables, so they are
+  // computed once per node rather than on every visit. Cleared when more variables escape.
+  private final Map<Node, GenKill> genKillCache = new LinkedHashMap<>();
+
   /**
    * Live Variables Analysis using the ES6 scope creator. This analysis should only be done on
    * function where jsScope is the function scope. If we call LiveVariablesAnalysis from the
@@ -153,6 +164,29 @@ class LiveVariablesAnalysis
       AbstractCompiler compiler,
       ScopeCreator scopeCreator,
       AllVarsDeclaredInFunction allVarsDeclaredInFunction) {
+    this(
+        cfg,
+        jsScope,
+        jsScopeChild,
+        compiler,
+        scopeCreator,
+        allVarsDeclaredInFunction,
+        Integer.MAX_VALUE);
+  }
+
+  /**
+   * Live Variables Analysis that only computes the liveness of the first {@code
+   * maxTrackedVariables} variables in the order in which they appear in the code. This bounds the
+   * size of the lattice in functions with very many variables.
+   */
+  LiveVariablesAnalysis(
+      ControlFlowGraph<Node> cfg,
+      Scope jsScope,
+      @Nullable Scope jsScopeChild,
+      AbstractCompiler compiler,
+      ScopeCreator scopeCreator,
+      AllVarsDeclaredInFunction allVarsDeclaredInFunction,
+      int maxTrackedVariables) {
     super(cfg);
     checkState(jsScope.isFunctionScope(), jsScope);
 
@@ -161,6 +195,7 @@ class LiveVariablesAnalysis
     this.escaped = new LinkedHashSet<>();
     this.scopeVariables = new LinkedHashMap<>();
     this.orderedVars = allVarsDeclaredInFunction.getAllVariablesInOrder();
+    this.numTrackedVars = Math.min(orderedVars.size(), maxTrackedVariables);
     this.allVarsInFn = allVarsDeclaredInFunction.getAllVariables();
 
     computeEscaped(jsScope, escaped, compiler, scopeCreator, allVarsInFn);
@@ -197,19 +232,32 @@ class LiveVariablesAnalysis
     return scopeVariables.get(var);
   }
 
+  /**
+   * Returns the number of variables whose liveness is computed. These are the variables with an
+   * index smaller than this number.
+   */
+  public int getTrackedVariableCount() {
+    return numTrackedVars;
+  }
+
   @Override
   boolean isForward() {
     return false;
   }
 
+  @Override
+  WorklistOrder getWorklistOrder() {
+    return WorklistOrder.REVERSE_POSTORDER;
+  }
+
   @Override
   LiveVariableLattice createEntryLattice() {
-    return new LiveVariableLattice(orderedVars.size());
+    return new LiveVariableLattice(numTrackedVars);
   }
 
   @Override
   LiveVariableLattice createInitialEstimateLattice() {
-    return new LiveVariableLattice(orderedVars.size());
+    return new LiveVariableLattice(numTrackedVars);
   }
 
   @Override
@@ -219,22 +267,27 @@ class LiveVariablesAnalysis
 
   @Override
   LiveVariableLattice flowThrough(Node node, LiveVariableLattice input) {
-    final BitSet gen = new BitSet(input.liveSet.size());
-    final BitSet kill = new BitSet(input.liveSet.size());
-
-    // Make kills conditional if the node can end abruptly by an exception.
-    boolean conditional = false;
-    List<? extends DiGraphEdge<Node, Branch>> edgeList = getCfg().getOutEdges(node);
-    for (DiGraphEdge<Node, Branch> edge : edgeList) {
-      if (Branch.ON_EX.equals(edge.getValue())) {
-        conditional = true;
+    GenKill genKill = genKillCache.get(node);
+    if (genKill == null) {
+      final BitSet gen = new BitSet(numTrackedVars);
+      final BitSet kill = new BitSet(numTrackedVars);
+
+      // Make kills conditional if the node can end abruptly by an exception.
+      boolean conditional = false;
+      List<? extends DiGraphEdge<Node, Branch>> edgeList = getCfg().getOutEdges(node);
+      for (DiGraphEdge<Node, Branch> edge : edgeList) {
+        if (Branch.ON_EX.equals(edge.getValue())) {
+          conditional = true;
+        }
       }
+      computeGenKill(node, gen, kill, conditional);
+      genKill = new GenKill(gen, kill);
+      genKillCache.put(node, genKill);
     }
-    computeGenKill(node, gen, kill, conditional);
     LiveVariableLattice result = new LiveVariableLattice(input);
     // L_in = L_out - Kill + Gen
-    result.liveSet.andNot(kill);
-    result.liveSet.or(gen);
+    result.liveSet.andNot(genKill.kill());
+    result.liveSet.or(genKill.gen());
     return result;
   }
 
@@ -387,7 +440,10 @@ class LiveVariablesAnalysis
     }
 
     if (!escaped.contains(var)) {
-      set.set(getVarIndex(var.getName()));
+      int index = getVarIndex(var.getName());
+      if (index < numTrackedVars) {
+        set.set(index);
+      }
     }
   }
 
@@ -417,8 +473,8 @@ class LiveVariablesAnalysis
   void markAllParametersEscaped() {
     Node paramList = NodeUtil.getFunctionParameters(jsScope.getRootNode());
     for (Node param = paramList.getFirstChild(); param != null; param = param.getNext()) {
-      if (param.isName()) {
-        escaped.add(jsScope.getVar(param.getString()));
+      if (param.isName() && escaped.add(jsScope.getVar(param.getString()))) {
+        genKillCache.clear();
       }
     }
   }
@@ -200,6 +200,11 @@ class MaybeReachingVariableUse extends DataFlowAnalysis<Node, ReachingUses> {
     return false;
   }
 
+  @Override
+  WorklistOrder getWorklistOrder() {
+    return WorklistOrder.REVERSE_POSTORDER;
+  }
+
   @Override
   ReachingUses createEntryLattice() {
     return new ReachingUses();
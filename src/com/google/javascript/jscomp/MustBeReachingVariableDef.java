@@ -23,10 +23,13 @@ import com.google.javascript.jscomp.ControlFlowGraph.AbstractCfgNodeTraversalCal
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.graph.GraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
+import com.google.javascript.rhino.HamtPMap;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.PMap;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jspecify.annotations.Nullable;
@@ -66,6 +69,9 @@ final class MustBeReachingVariableDef
    * N: a = b + foo.bar(c). The definition node will be N, the depending set would be {b,c}.
    */
   static class Definition {
+    /** Stands for BOTTOM in {@link MustDef}, i.e. more than one definition may reach. */
+    private static final Definition BOTTOM = new Definition(null);
+
     final Node node;
     final Set<Var> depends = new LinkedHashSet<>();
     private boolean unknownDependencies = false;
@@ -91,7 +97,7 @@ final class MustBeReachingVariableDef
 
     @Override
     public int hashCode() {
-      return node.hashCode();
+      return System.identityHashCode(node);
     }
   }
 
@@ -107,19 +113,19 @@ final class MustBeReachingVariableDef
    */
   static final class MustDef implements LatticeElement {
 
-    // TODO(user): Use bit vector instead of maps might get better
-    // performance. Change it after this is tested to be fully functional.
-
-    // When a Var "A" = "TOP", "A" does not exist in reachingDef's keySet.
-    // When a Var "A" = Node N, "A" maps to that node.
-    // When a Var "A" = "BOTTOM", "A" maps to null.
-    final LinkedHashMap<Var, Definition> reachingDef = new LinkedHashMap<>();
+    // When a Var "A" = "TOP", "A" does not exist in reachingDef's keys.
+    // When a Var "A" = Node N, "A" maps to the definition at that node.
+    // When a Var "A" = "BOTTOM", "A" maps to Definition.BOTTOM.
+    //
+    // The map is persistent, so that the many copies made during the analysis share structure,
+    // like the lattice of MaybeReachingVariableUse.
+    private PMap<Var, Definition> reachingDef = HamtPMap.empty();
 
     public MustDef() {}
 
     public MustDef(Collection<Var> vars) {
       for (Var var : vars) {
-        reachingDef.put(var, new Definition(var.getScope().getRootNode()));
+        reachingDef = reachingDef.plus(var, new Definition(var.getScope().getRootNode()));
       }
     }
 
@@ -129,42 +135,52 @@ final class MustBeReachingVariableDef
      * @param other The constructed object is a replicated copy of this element.
      */
     public MustDef(MustDef other) {
-      this.reachingDef.putAll(other.reachingDef);
+      this.reachingDef = other.reachingDef;
+    }
+
+    /** Returns the definition of {@code var} that must reach, or null if there is none. */
+    @Nullable Definition get(Var var) {
+      Definition def = reachingDef.get(var);
+      return def == Definition.BOTTOM ? null : def;
     }
 
     @Override
     public boolean equals(Object other) {
-      return (other instanceof MustDef mustDef) && mustDef.reachingDef.equals(this.reachingDef);
+      return (other instanceof MustDef mustDef)
+          && mustDef.reachingDef.equivalent(this.reachingDef, Definition::equals);
     }
 
     @Override
     public int hashCode() {
-      return reachingDef.hashCode();
+      throw new UnsupportedOperationException("the hashcode of this object is not stable");
     }
   }
 
   private static class MustDefJoin implements FlowJoiner<MustDef> {
 
     final MustDef result = new MustDef();
-    final LinkedHashMap<Var, Definition> resultMap = result.reachingDef;
+    private boolean hasInput = false;
 
     @Override
     public void joinFlow(MustDef input) {
-      input.reachingDef.forEach(this::mergeVarDef);
-    }
-
-    private void mergeVarDef(Var var, Definition def) {
-      final Definition resultDef;
-      if (def == null) {
-        resultDef = null;
-      } else if (!this.resultMap.containsKey(var)) {
-        resultDef = def;
-      } else if (def.equals(this.resultMap.get(var))) {
+      if (!hasInput) {
+        // Joining with the initial TOP state gives the input itself.
+        hasInput = true;
+        result.reachingDef = input.reachingDef;
         return;
-      } else {
-        resultDef = null;
       }
-      this.resultMap.put(var, resultDef);
+      // Equal definitions are kept without calling the reconciler.
+      result.reachingDef =
+          result.reachingDef.reconcile(
+              input.reachingDef,
+              (Var var, Definition resultDef, Definition inputDef) -> {
+                if (resultDef == null) {
+                  return inputDef;
+                } else if (inputDef == null) {
+                  return resultDef;
+                }
+                return Definition.BOTTOM;
+              });
     }
 
     @Override
@@ -178,6 +194,11 @@ final class MustBeReachingVariableDef
     return true;
   }
 
+  @Override
+  WorklistOrder getWorklistOrder() {
+    return WorklistOrder.REVERSE_POSTORDER;
+  }
+
   @Override
   MustDef createEntryLattice() {
     return new MustDef(allVarsInFn.values());
@@ -353,25 +374,26 @@ final class MustBeReachingVariableDef
       return;
     }
 
-    for (Map.Entry<Var, Definition> pair : def.reachingDef.entrySet()) {
-      Definition otherDef = pair.getValue();
-      if (otherDef == null) {
-        continue;
-      }
-      if (otherDef.depends.contains(var)) {
-        pair.setValue(null);
+    List<Var> invalidated = new ArrayList<>();
+    for (Var other : def.reachingDef.keys()) {
+      Definition otherDef = def.reachingDef.get(other);
+      if (otherDef != Definition.BOTTOM && otherDef.depends.contains(var)) {
+        invalidated.add(other);
       }
     }
+    for (Var other : invalidated) {
+      def.reachingDef = def.reachingDef.plus(other, Definition.BOTTOM);
+    }
 
     if (!escaped.contains(var)) {
       if (node == null) {
-        def.reachingDef.put(var, null);
+        def.reachingDef = def.reachingDef.plus(var, Definition.BOTTOM);
       } else {
         Definition definition = new Definition(node);
         if (rValue != null) {
           computeDependence(definition, rValue);
         }
-        def.reachingDef.put(var, definition);
+        def.reachingDef = def.reachingDef.plus(var, definition);
       }
     }
   }
@@ -381,23 +403,27 @@ final class MustBeReachingVariableDef
       if (isParameter(v)) {
         // Assume we no longer know where the parameter comes from
         // anymore.
-        output.reachingDef.put(v, null);
+        output.reachingDef = output.reachingDef.plus(v, Definition.BOTTOM);
       }
     }
 
     // Also, assume we no longer know anything that depends on a parameter.
-    for (Map.Entry<Var, Definition> pair : output.reachingDef.entrySet()) {
-      Definition value = pair.getValue();
-      if (value == null) {
+    List<Var> invalidated = new ArrayList<>();
+    for (Var var : output.reachingDef.keys()) {
+      Definition value = output.reachingDef.get(var);
+      if (value == Definition.BOTTOM) {
         continue;
       }
       for (Var dep : value.depends) {
         if (isParameter(dep)) {
-          pair.setValue(null);
+          invalidated.add(var);
           break;
         }
       }
     }
+    for (Var var : invalidated) {
+      output.reachingDef = output.reachingDef.plus(var, Definition.BOTTOM);
+    }
   }
 
   private static boolean isParameter(Var v) {
@@ -438,7 +464,7 @@ final class MustBeReachingVariableDef
     checkArgument(getCfg().hasNode(useNode));
     GraphNode<Node, Branch> n = getCfg().getNode(useNode);
     LinearFlowState<MustDef> state = n.getAnnotation();
-    return state.getIn().reachingDef.get(allVarsInFn.get(name));
+    return state.getIn().get(allVarsInFn.get(name));
   }
 
   @Nullable Node getDefNode(String name, Node useNode) {
@@ -119,16 +119,64 @@ class OptimizeCalls implements CompilerPass {
       return;
     }
 
-    final ReferenceMap references = new ReferenceMap();
-    NodeTraversal.traverseRoots(
-        compiler, new ReferenceMapBuildingCallback(references), externs, root);
-    eliminateAccessorsFrom(references);
+    final ReferenceMap references;
+    ReferenceMapCache cache = compiler.getReferenceMapCache();
+    if (cache.isCacheable(externs, root)) {
+      references = buildReferenceMapFromCache(cache, externs, root);
+      if (cache.shouldVerifyAgainstFullRebuild()) {
+        verifyReferenceMap(references, buildReferenceMap(externs, root));
+      }
+    } else {
+      references = buildReferenceMap(externs, root);
+    }
 
     for (CallGraphCompilerPass pass : passes) {
       pass.process(externs, root, references);
     }
   }
 
+  private ReferenceMap buildReferenceMap(Node externs, Node root) {
+    ReferenceMap references = new ReferenceMap();
+    NodeTraversal.traverseRoots(
+        compiler, new ReferenceMapBuildingCallback(references), externs, root);
+    eliminateAccessorsFrom(references);
+    return references;
+  }
+
+  /**
+   * Builds the same map as {@link #buildReferenceMap}, but only traverses the change scopes that
+   * changed since the cache was last used.
+   */
+  private ReferenceMap buildReferenceMapFromCache(
+      ReferenceMapCache cache, Node externs, Node root) {
+    ReferenceMap references = new ReferenceMap();
+    ReferenceMapBuildingCallback callback = new ReferenceMapBuildingCallback(references);
+    callback.setGlobalScope(
+        new SyntacticScopeCreator(compiler).createScope(externs.getParent(), null));
+    cache.forEachReferenceNode(externs, root, considerExterns, callback::addReferences);
+    eliminateAccessorsFrom(references);
+    return references;
+  }
+
+  private static void verifyReferenceMap(ReferenceMap cached, ReferenceMap rebuilt) {
+    checkState(
+        hasSameReferences(cached.names, rebuilt.names),
+        "Cached name references differ from a full rebuild:\n%s\n%s",
+        cached.names.keySet(),
+        rebuilt.names.keySet());
+    checkState(
+        hasSameReferences(cached.props, rebuilt.props),
+        "Cached property references differ from a full rebuild:\n%s\n%s",
+        cached.props.keySet(),
+        rebuilt.props.keySet());
+  }
+
+  /** Whether both maps have the same references to the same names, in the same order. */
+  private static boolean hasSameReferences(
+      LinkedHashMap<String, ArrayList<Node>> a, LinkedHashMap<String, ArrayList<Node>> b) {
+    return ImmutableList.copyOf(a.entrySet()).equals(ImmutableList.copyOf(b.entrySet()));
+  }
+
   /**
    * Delete getter and setter names from {@code references}.
    *
@@ -423,8 +471,18 @@ class OptimizeCalls implements CompilerPass {
       this.references = references;
     }
 
+    void setGlobalScope(Scope globalScope) {
+      this.globalScope = globalScope;
+      references.globalScope = globalScope;
+    }
+
     @Override
     public void visit(NodeTraversal t, Node n, Node unused) {
+      addReferences(n);
+    }
+
+    /** Adds the references made by the given node, which must be attached to the program. */
+    void addReferences(Node n) {
       switch (n.getToken()) {
         case NAME -> maybeAddNameReference(n.getString(), n);
         case OPTCHAIN_GETPROP, GETPROP -> maybeAddPropReference(n.getString(), n);
@@ -512,8 +570,7 @@ class OptimizeCalls implements CompilerPass {
     @Override
     public void enterScope(NodeTraversal t) {
       if (t.inGlobalScope()) {
-        this.globalScope = t.getScope();
-        references.globalScope = this.globalScope;
+        setGlobalScope(t.getScope());
       }
     }
 
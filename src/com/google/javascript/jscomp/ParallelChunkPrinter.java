@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.CodePrinter.LicenseTracker;
+import com.google.javascript.jscomp.Compiler.ChunkGraphAwareLicenseTracker;
+import com.google.javascript.jscomp.Compiler.CodeBuilder;
+import com.google.javascript.rhino.Node;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Prints the code of the output chunks on multiple threads, and writes each chunk as soon as it is
+ * ready.
+ *
+ * <p>Generating the code of a chunk only reads the AST, so the chunks are printed concurrently.
+ * Which licenses a chunk emits depends on the licenses emitted by the chunks it depends on though,
+ * so the licenses that each printed script asked to track are recorded, and replayed into the
+ * {@link ChunkGraphAwareLicenseTracker} on the calling thread, in chunk order. The resulting code
+ * and source map of each chunk are identical to those of printing the chunks one at a time.
+ *
+ * <p>Only a bounded number of chunks is printed ahead of the one being assembled, so that the
+ * output of all chunks is never held in memory at once.
+ */
+final class ParallelChunkPrinter {
+
+  /** Writes the output of a chunk. Called on the worker threads, possibly concurrently. */
+  interface ChunkWriter {
+    void write(JSChunk chunk, String code, @Nullable SourceMap sourceMap) throws IOException;
+  }
+
+  private final Compiler compiler;
+  private final int numParallelThreads;
+
+  ParallelChunkPrinter(Compiler compiler, int numParallelThreads) {
+    checkArgument(numParallelThreads > 1, numParallelThreads);
+    this.compiler = compiler;
+    this.numParallelThreads = numParallelThreads;
+  }
+
+  /** Prints the given chunks, and passes the output of each one of them to {@code writer}. */
+  void print(
+      List<JSChunk> chunks, ChunkGraphAwareLicenseTracker licenseTracker, ChunkWriter writer)
+      throws IOException {
+    ExecutorService executor =
+        CompilerExecutor.newFixedThreadPool(numParallelThreads, "jscompiler-ParallelChunkPrinter");
+    try {
+      Deque<Future<List<PrintedScript>>> printed = new ArrayDeque<>();
+      List<Future<?>> written = new ArrayList<>();
+      int maxPrintedAhead = 2 * numParallelThreads;
+      int next = 0;
+      for (JSChunk chunk : chunks) {
+        while (next < chunks.size() && printed.size() < maxPrintedAhead) {
+          JSChunk chunkToPrint = chunks.get(next++);
+          printed.add(executor.submit(() -> printChunk(chunkToPrint)));
+        }
+        List<PrintedScript> scripts = getUnchecked(printed.remove());
+
+        licenseTracker.setCurrentChunkContext(chunk);
+        SourceMap sourceMap =
+            compiler.getOptions().shouldGatherSourceMapInfo()
+                ? compiler.createInitializedSourceMap()
+                : null;
+        CodeBuilder cb = new CodeBuilder();
+        for (int i = 0; i < scripts.size(); i++) {
+          PrintedScript script = scripts.get(i);
+          for (Node node : script.trackedNodes()) {
+            licenseTracker.trackLicensesForNode(node);
+          }
+          compiler.appendScript(cb, licenseTracker, i, script.root(), script.output(), sourceMap);
+        }
+        String code = cb.toString();
+        written.add(
+            executor.submit(
+                () -> {
+                  writer.write(chunk, code, sourceMap);
+                  return null;
+                }));
+      }
+      for (Future<?> future : written) {
+        getUnchecked(future);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<PrintedScript> printChunk(JSChunk chunk) {
+    ImmutableList<CompilerInput> inputs = chunk.getInputs();
+    List<PrintedScript> scripts = new ArrayList<>(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      Node root = inputs.get(i).getAstRoot(compiler);
+      if (root == null) {
+        throw new IllegalArgumentException("Bad module: " + chunk.getName());
+      }
+      RecordingLicenseTracker tracker = new RecordingLicenseTracker();
+      CodePrinter.SourceAndMappings output = compiler.toSourceAndMappings(root, i == 0, tracker);
+      scripts.add(new PrintedScript(root, output, tracker.trackedNodes));
+    }
+    return scripts;
+  }
+
+  private static <T> T getUnchecked(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** The output of printing a script, and the nodes whose licenses it asked to track. */
+  private record PrintedScript(
+      Node root, CodePrinter.SourceAndMappings output, List<Node> trackedNodes) {}
+
+  /**
+   * Records the nodes passed to {@link #trackLicensesForNode}, so that they can be replayed later.
+   * Consecutive nodes from the same file are only recorded once, since {@link
+   * ChunkGraphAwareLicenseTracker} only looks at the file of a node.
+   */
+  private static final class RecordingLicenseTracker implements LicenseTracker {
+    private final List<Node> trackedNodes = new ArrayList<>();
+    private @Nullable String lastSeenFile = null;
+
+    @Override
+    public void trackLicensesForNode(Node node) {
+      String sourceFile = node.getSourceFileName();
+      if (node.isRoot() || node.isScript() || sourceFile == null) {
+        return;
+      }
+      if (!sourceFile.equals(lastSeenFile)) {
+        lastSeenFile = sourceFile;
+        trackedNodes.add(node);
+      }
+    }
+
+    @Override
+    public ImmutableSet<String> emitLicenses() {
+      return ImmutableSet.of();
+    }
+  }
+}
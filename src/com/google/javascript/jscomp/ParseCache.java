@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.ParserRunner;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.serialization.ParsedScript;
+import com.google.javascript.jscomp.serialization.ParsedScriptSerializer;
+import com.google.javascript.rhino.ErrorReporter;
+import com.google.javascript.rhino.Node;
+import com.google.protobuf.ExtensionRegistry;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An on-disk cache of the ASTs produced by the parser, shared between compilations.
+ *
+ * <p>Parsing a file only depends on its name, its content and the parser configuration, so the
+ * cache key is a hash of those plus the compiler version and {@link CompilerBuildFingerprint},
+ * which covers the tokens and node properties of the build. Entries are {@link ParsedScript}
+ * protos in the TypedAST encoding, and a cache hit deserializes the AST instead of scanning and
+ * parsing the file again.
+ *
+ * <p>The TypedAST encoding only keeps the JSDoc that optimizations use, so an AST is only stored if
+ * it is deserialized to the exact AST of the parser. In practice this leaves out files with type
+ * annotations. For such files an empty marker entry is stored instead, so that the check only runs
+ * once per version of the file. A cache hit reports no diagnostics, so the ASTs of files whose
+ * parse reported an error or a warning are not stored either. Comments are not stored, so the cache
+ * must not be used when the compiler preserves detailed source info. Entries that can't be read are
+ * parsed again.
+ */
+final class ParseCache {
+  private static final Logger logger = Logger.getLogger(ParseCache.class.getName());
+
+  private static final String FILE_EXTENSION = ".ast";
+  private static final String UNCACHEABLE_FILE_EXTENSION = ".uncacheable";
+
+  /** Changes whenever the format of the entries changes. */
+  private static final int FORMAT_VERSION = 2;
+
+  private final AbstractCompiler compiler;
+  private final Path directory;
+  private final String compilerVersion;
+
+  /**
+   * @param compilerVersion identifies the compiler build; entries written by another build are
+   *     never used
+   */
+  ParseCache(AbstractCompiler compiler, Path directory, String compilerVersion) {
+    this.compiler = checkNotNull(compiler);
+    this.directory = checkNotNull(directory);
+    this.compilerVersion = checkNotNull(compilerVersion);
+  }
+
+  /**
+   * Returns the cached parse result of the given file, or parses the file and stores the result if
+   * it isn't cached.
+   */
+  ParserRunner.ParseResult parse(
+      SourceFile sourceFile, String code, Config config, ErrorReporter errorReporter) {
+    String key = computeKey(sourceFile, code, config);
+    ParserRunner.ParseResult cached = load(key, sourceFile);
+    if (cached != null) {
+      return cached;
+    }
+    DiagnosticCountingErrorReporter countingReporter =
+        new DiagnosticCountingErrorReporter(errorReporter);
+    ParserRunner.ParseResult result =
+        ParserRunner.parse(sourceFile, code, config, countingReporter);
+    if (countingReporter.count == 0 && !Files.exists(getUncacheablePath(key))) {
+      store(key, result, sourceFile);
+    }
+    return result;
+  }
+
+  String computeKey(SourceFile sourceFile, String code, Config config) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(FORMAT_VERSION);
+    putString(hasher, compilerVersion);
+    putString(hasher, CompilerBuildFingerprint.get());
+    putString(hasher, config.toString());
+    // The name of the file is part of the AST, e.g. of its type expressions.
+    putString(hasher, sourceFile.getName());
+    hasher.putInt(sourceFile.getKind().ordinal());
+    HashCode contentHash = Hashing.sha256().hashString(code, UTF_8);
+    hasher.putBytes(contentHash.asBytes());
+    return hasher.hash().toString();
+  }
+
+  private static void putString(Hasher hasher, String s) {
+    // Prefix with the length so that adjacent strings can't be confused with each other.
+    hasher.putInt(s.length());
+    hasher.putString(s, UTF_8);
+  }
+
+  /** Returns the cached parse result for the key, or null if there is none or it can't be read. */
+  ParserRunner.@Nullable ParseResult load(String key, SourceFile sourceFile) {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(getCachePath(key)))) {
+      ParsedScript parsed = ParsedScript.parseFrom(in, ExtensionRegistry.getEmptyRegistry());
+      Node root = ParsedScriptSerializer.deserialize(parsed, sourceFile);
+      return new ParserRunner.ParseResult(
+          root,
+          ImmutableList.of(),
+          (FeatureSet) root.getProp(Node.FEATURE_SET),
+          parsed.hasSourceMappingUrl() ? parsed.getSourceMappingUrl() : null);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Ignoring unreadable parse cache entry for " + sourceFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the parse result for the key, or marks the key as uncacheable if the result doesn't
+   * survive serialization unchanged.
+   */
+  void store(String key, ParserRunner.ParseResult result, SourceFile sourceFile) {
+    Path temp = null;
+    try {
+      ParsedScript parsed =
+          ParsedScriptSerializer.serialize(compiler, result.ast, result.sourceMapURL);
+      Files.createDirectories(directory);
+      if (!isExactCopy(ParsedScriptSerializer.deserialize(parsed, sourceFile), result)) {
+        logger.log(Level.FINE, "Not caching the AST of " + sourceFile + ", it can't be restored");
+        Files.write(getUncacheablePath(key), new byte[0]);
+        return;
+      }
+      // Write to a temporary file first, so that concurrent compilations never read a partial
+      // entry.
+      temp = Files.createTempFile(directory, key, ".tmp");
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+        parsed.writeTo(out);
+      }
+      Files.move(
+          temp,
+          getCachePath(key),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.FINE, "Not caching the AST of " + sourceFile, e);
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException e) {
+          logger.log(Level.FINE, "Could not delete " + temp, e);
+        }
+      }
+    }
+  }
+
+  /** Returns whether a deserialized AST is the AST of the parse result, including its JSDoc. */
+  private static boolean isExactCopy(Node restored, ParserRunner.ParseResult result) {
+    return result.features.equals(restored.getProp(Node.FEATURE_SET))
+        && restored.isEquivalentTo(
+            result.ast,
+            /* compareType= */ false,
+            /* recurse= */ true,
+            /* jsDoc= */ true,
+            /* sideEffect= */ true);
+  }
+
+  private Path getCachePath(String key) {
+    return directory.resolve(key + FILE_EXTENSION);
+  }
+
+  private Path getUncacheablePath(String key) {
+    return directory.resolve(key + UNCACHEABLE_FILE_EXTENSION);
+  }
+
+  /** Forwards diagnostics to another reporter, and counts them. */
+  private static final class DiagnosticCountingErrorReporter implements ErrorReporter {
+    private final ErrorReporter delegate;
+    private int count = 0;
+
+    DiagnosticCountingErrorReporter(ErrorReporter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void warning(String message, String sourceName, int line, int lineOffset) {
+      count++;
+      delegate.warning(message, sourceName, line, lineOffset);
+    }
+
+    @Override
+    public void error(String message, String sourceName, int line, int lineOffset) {
+      count++;
+      delegate.error(message, sourceName, line, lineOffset);
+    }
+  }
+}
@@ -39,6 +39,28 @@ public abstract class PassFactory {
   /** Whether this factory must or must not appear in a {@link PhaseOptimizer} loop. */
   public abstract boolean isRunInFixedPointLoop();
 
+  /**
+   * Whether the passes created by this factory only look at and modify the SCRIPT they are run on.
+   *
+   * <p>When parallel execution is enabled, script-local passes are run on each SCRIPT separately
+   * and concurrently, see {@link ScriptParallelPassRunner}. Such a pass must accept a SCRIPT as
+   * its root, must only report changes and diagnostics through the compiler, and must not read or
+   * write any other state shared by the whole compilation (e.g. the change timeline, injected
+   * runtime libraries or unique id suppliers).
+   */
+  public abstract boolean isScriptLocal();
+
+  /**
+   * Whether the passes created by this factory implement {@link ChangeScopeLocalPass}, and so can
+   * be run on just the change scopes that changed since their last run.
+   *
+   * <p>When parallel execution is enabled, such passes are run by the {@link PhaseOptimizer} loop
+   * on the changed scopes only, processing independent scopes concurrently, see {@link
+   * ChangeScopeParallelPassRunner}. Outside the loop, or without parallel execution, they are run
+   * like any other pass.
+   */
+  public abstract boolean isChangeScopeLocal();
+
   /**
    * A simple factory function for creating actual pass instances.
    *
@@ -59,6 +81,10 @@ public abstract class PassFactory {
 
     public abstract Builder setRunInFixedPointLoop(boolean b);
 
+    public abstract Builder setScriptLocal(boolean b);
+
+    public abstract Builder setChangeScopeLocal(boolean b);
+
     public abstract Builder setCondition(Function<CompilerOptions, Boolean> cond);
 
     public abstract Builder setInternalFactory(
@@ -77,6 +103,8 @@ public abstract class PassFactory {
   public static Builder builder() {
     return new AutoValue_PassFactory.Builder()
         .setRunInFixedPointLoop(false)
+        .setScriptLocal(false)
+        .setChangeScopeLocal(false)
         .setCondition((o) -> true);
   }
 
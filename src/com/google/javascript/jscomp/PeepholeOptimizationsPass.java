@@ -18,15 +18,21 @@ package com.google.javascript.jscomp;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A compiler pass to run various peephole optimizations (e.g. constant folding,
  * some useless code removal, some minimizations).
  */
-class PeepholeOptimizationsPass implements CompilerPass {
+class PeepholeOptimizationsPass implements ChangeScopeLocalPass {
 
   private final AbstractCompiler compiler;
   private final String passName;
@@ -83,6 +89,39 @@ class PeepholeOptimizationsPass implements CompilerPass {
     endTraversal();
   }
 
+  @Override
+  public Map<Node, FeatureSet> processChangeScopes(List<Node> changeScopeRoots) {
+    beginTraversal();
+
+    // Repeat to an internal fixed point, like process() but without reading the change timeline,
+    // which is only updated once all threads are done.
+    List<Node> bufferedChanges = compiler.getChangeTracker().getBufferedChanges();
+    List<Node> scopeRoots = changeScopeRoots;
+    while (!scopeRoots.isEmpty()) {
+      int changesBefore = bufferedChanges.size();
+      NodeTraversal.traverseScopeRoots(
+          compiler, scopeRoots, new PeepCallback(), /* traverseNested= */ false);
+
+      // Cancel the fixed point if requested.
+      if (!retraverseOnChange) {
+        break;
+      }
+      Set<Node> changedScopeRoots = new LinkedHashSet<>();
+      for (Node changeScopeRoot : bufferedChanges.subList(changesBefore, bufferedChanges.size())) {
+        if (!changeScopeRoot.isDeleted()) {
+          changedScopeRoots.add(changeScopeRoot);
+        }
+      }
+      scopeRoots = new ArrayList<>(changedScopeRoots);
+    }
+
+    Map<Node, FeatureSet> addedFeatures = new LinkedHashMap<>();
+    for (AbstractPeepholeOptimization optimization : peepholeOptimizations) {
+      optimization.endTraversal(addedFeatures);
+    }
+    return addedFeatures;
+  }
+
   private class PeepCallback extends AbstractPostOrderCallback {
     @Override
     public void visit(NodeTraversal t, Node n, Node parent) {
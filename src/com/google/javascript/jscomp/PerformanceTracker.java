@@ -36,6 +36,7 @@ import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A PerformanceTracker collects statistics about the runtime of each pass, and how much a pass
@@ -48,6 +49,10 @@ public final class PerformanceTracker {
 
   private final TracerMode mode;
 
+  // Used to recount only the changed parts of the AST after each pass, if not null.
+  private final @Nullable ChangeTracker changeTracker;
+  private @Nullable AstSizeTracker astSizeTracker;
+
   // Keeps track of AST changes and computes code size estimation
   // if there is any.
   private final RecentChange codeChange = new RecentChange();
@@ -94,11 +99,21 @@ public final class PerformanceTracker {
   private final List<Stats> log = new ArrayList<>();
 
   PerformanceTracker(Node externsRoot, Node jsRoot, TracerMode mode) {
+    this(externsRoot, jsRoot, mode, null);
+  }
+
+  /**
+   * @param changeTracker if not null, the AST size after a pass is computed by recounting only the
+   *     change scopes reported as changed, instead of the whole AST.
+   */
+  PerformanceTracker(
+      Node externsRoot, Node jsRoot, TracerMode mode, @Nullable ChangeTracker changeTracker) {
     checkArgument(mode != TracerMode.OFF, "PerformanceTracker can't work without tracer data.");
     this.startTime = System.currentTimeMillis();
     this.externsRoot = externsRoot;
     this.jsRoot = jsRoot;
     this.mode = mode;
+    this.changeTracker = changeTracker;
   }
 
   CodeChangeHandler getCodeChangeHandler() {
@@ -122,7 +137,7 @@ public final class PerformanceTracker {
     if (!tracksAstSize()) {
       return;
     }
-    this.initAstSize = this.astSize = NodeUtil.countAstSize(this.jsRoot);
+    this.initAstSize = this.astSize = countInitialAstSize();
     if (!tracksSize()) {
       return;
     }
@@ -169,7 +184,7 @@ public final class PerformanceTracker {
     if (!tracksAstSize()) {
       return;
     }
-    logStats.astSize = this.initAstSize = this.astSize = NodeUtil.countAstSize(jsRoot);
+    logStats.astSize = this.initAstSize = this.astSize = countInitialAstSize();
     if (!tracksSize()) {
       return;
     }
@@ -181,8 +196,20 @@ public final class PerformanceTracker {
     }
   }
 
+  private int countInitialAstSize() {
+    if (this.changeTracker == null) {
+      return NodeUtil.countAstSize(this.jsRoot);
+    }
+    this.astSizeTracker =
+        new AstSizeTracker(this.changeTracker, this.jsRoot, "PerformanceTracker AST size");
+    return this.astSizeTracker.getAstSize();
+  }
+
   private void recordOtherPassStop(Stats logStats) {
-    int newSize = NodeUtil.countAstSize(this.jsRoot);
+    int newSize =
+        this.astSizeTracker != null
+            ? this.astSizeTracker.getAstSize()
+            : NodeUtil.countAstSize(this.jsRoot);
     logStats.astDiff = this.astSize - newSize;
     this.astSize = logStats.astSize = newSize;
     if (!tracksSize()) {
@@ -357,6 +384,19 @@ public final class PerformanceTracker {
     this.ambiguatePropertiesSummary = summary;
   }
 
+  private String inlineFunctionsSummary = "not executed";
+
+  public void setInlineFunctionsSummary(String summary) {
+    this.inlineFunctionsSummary = summary;
+  }
+
+  private String globalScopeSummary = "not computed";
+
+  /** Records how the vars of the global typed scope are stored. */
+  void setGlobalScopeSummary(String summary) {
+    this.globalScopeSummary = summary;
+  }
+
   /**
    * Prints a summary, which contains aggregate stats for all runs of each pass and a log, which
    * contains stats for each individual run.
@@ -386,7 +426,9 @@ public final class PerformanceTracker {
             "Estimated GzSize(bytes): " + this.gzCodeSize,
             "",
             "DisambiguateProperties: " + this.disambiguatePropertiesSummary,
-            "AmbiguateProperties: " + this.ambiguatePropertiesSummary));
+            "AmbiguateProperties: " + this.ambiguatePropertiesSummary,
+            "InlineFunctions: " + this.inlineFunctionsSummary,
+            "GlobalScope: " + this.globalScopeSummary));
 
     output.println(
         lines(
@@ -52,10 +52,15 @@ class PhaseOptimizer implements CompilerPass {
   // The time of the last change made to the program by any pass.
   private int lastChange;
   private static final int START_TIME = 0;
+  // Marks the last time the loop counted the AST size in the change timeline.
+  private static final String AST_SIZE_TIMELINE = "PhaseOptimizer.Loop AST size";
   private final Node jsRoot;
 
   private final boolean useSizeHeuristicToStopOptimizationLoop;
 
+  // Script-local passes are run concurrently when this is greater than 1.
+  private final int numParallelThreads;
+
   // Checks that passes have reported code changes correctly.
   private ChangeVerifier changeVerifier;
 
@@ -95,6 +100,7 @@ class PhaseOptimizer implements CompilerPass {
     this.lastChange = START_TIME;
     this.useSizeHeuristicToStopOptimizationLoop =
         comp.getOptions().useSizeHeuristicToStopOptimizationLoop;
+    this.numParallelThreads = comp.getOptions().numParallelThreads;
     int maxIterations = comp.getOptions().optimizationLoopMaxIterations;
     if (maxIterations > 0 && maxIterations <= MAX_LOOPS) {
       this.optimizationLoopMaxIterations = maxIterations;
@@ -239,7 +245,14 @@ class PhaseOptimizer implements CompilerPass {
       // Delay the creation of the actual pass until *after* all previous passes
       // have been processed.
       // Some precondition checks rely on this, eg, in CoalesceVariableNames.
-      factory.create(compiler).process(externs, root);
+      if (factory.isScriptLocal() && numParallelThreads > 1) {
+        new ScriptParallelPassRunner(compiler, numParallelThreads).process(factory, externs, root);
+      } else if (factory.isChangeScopeLocal() && inLoop && numParallelThreads > 1) {
+        // Only revisit the scopes that changed since the last run of the pass.
+        new ChangeScopeParallelPassRunner(compiler, numParallelThreads).process(factory, root);
+      } else {
+        factory.create(compiler).process(externs, root);
+      }
 
       compiler.afterPass(name);
 
@@ -328,6 +341,8 @@ class PhaseOptimizer implements CompilerPass {
       // Set up function-change tracking
       scopeHandler = new ScopedChangeHandler();
       changeTracker.addChangeHandler(scopeHandler);
+      // Most functions don't change between two runs of a pass, so reuse their CFGs.
+      changeTracker.startCachingControlFlowGraphs();
 
       // lastRuns is initialized before each loop. This way, when a pass is run
       // in the 2nd loop for the 1st time, it looks at all scopes.
@@ -346,7 +361,9 @@ class PhaseOptimizer implements CompilerPass {
       State state = State.RUN_PASSES_NOT_RUN_IN_PREV_ITER;
       boolean lastIterMadeChanges;
       int count = 1;
-      int astSize = NodeUtil.countAstSize(root);
+      // Only the scopes that changed are recounted after each iteration.
+      AstSizeTracker astSizeTracker = new AstSizeTracker(changeTracker, root, AST_SIZE_TIMELINE);
+      int astSize = astSizeTracker.getAstSize();
       int previousAstSize = astSize;
 
       // The loop starts at state RUN_PASSES_NOT_RUN_IN_PREV_ITER and runs all passes.
@@ -396,7 +413,7 @@ class PhaseOptimizer implements CompilerPass {
           }
 
           previousAstSize = astSize;
-          astSize = NodeUtil.countAstSize(root);
+          astSize = astSizeTracker.getAstSize();
           if (state == State.RUN_PASSES_NOT_RUN_IN_PREV_ITER) {
             if (lastIterMadeChanges && isAstSufficientlyChanging(previousAstSize, astSize)) {
               state = State.RUN_PASSES_THAT_CHANGED_STH_IN_PREV_ITER;
@@ -413,6 +430,7 @@ class PhaseOptimizer implements CompilerPass {
       } finally {
         inLoop = false;
         changeTracker.removeChangeHandler(scopeHandler);
+        changeTracker.stopCachingControlFlowGraphs();
       }
     }
 
@@ -68,7 +68,7 @@ final class PolymerPass extends ExternsSkippingCallback implements CompilerPass
     polymerElementExterns = externsCallback.getPolymerElementExterns();
     polymerElementProps = externsCallback.getPolymerElementProps();
 
-    globalNames = new GlobalNamespace(compiler, externs, root);
+    globalNames = compiler.getGlobalNamespaceCache().get(externs, root);
     behaviorExtractor =
         new PolymerBehaviorExtractor(
             compiler, globalNames, compiler.getModuleMetadataMap(), compiler.getModuleMap());
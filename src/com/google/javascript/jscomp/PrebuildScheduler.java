@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * Runs a task, such as parsing, for each of a list of {@link CompilerInput}s on multiple threads.
+ * Used by {@link PrebuildAst} and {@link PrebuildDependencyInfo}.
+ *
+ * <p>The inputs are processed largest first, so that a large file at the end of the list, e.g.
+ * generated code, doesn't keep one thread busy long after the others ran out of work. The worker
+ * threads take the next input from a shared queue, so a thread that finishes a small input moves on
+ * right away.
+ *
+ * <p>Processing an input temporarily takes memory in proportion to its size, so the estimated
+ * memory of the inputs in flight is bounded. An input that exceeds the bound on its own is
+ * processed when no other input is in flight.
+ *
+ * <p>The code of inputs that are not in memory yet is read ahead on virtual threads, since reading
+ * is I/O-bound and doesn't need the large stacks of the compiler threads.
+ *
+ * <p>The compiler threads are shared by all compilations in the JVM, and are kept alive for a while
+ * when idle, so that repeated compilations in a long-running process don't create new threads with
+ * large stacks every time.
+ */
+final class PrebuildScheduler {
+  /** A rough estimate of the memory it takes to process one character of code, in bytes. */
+  private static final long BYTES_PER_CHARACTER = 16;
+
+  /** The estimated size of an input whose size is unknown, in characters. */
+  private static final long DEFAULT_CODE_LENGTH = 64 * 1024;
+
+  private static final ThreadFactory THREAD_FACTORY =
+      CompilerExecutor.newDaemonThreadFactory("jscompiler-PrebuildScheduler");
+
+  private static final ExecutorService SHARED_EXECUTOR =
+      new ThreadPoolExecutor(
+          0, Integer.MAX_VALUE, 60, SECONDS, new SynchronousQueue<Runnable>(), THREAD_FACTORY);
+
+  private final int numParallelThreads;
+  private final long memoryBudget;
+
+  PrebuildScheduler(int numParallelThreads) {
+    this(numParallelThreads, Runtime.getRuntime().maxMemory() / 4);
+  }
+
+  @VisibleForTesting
+  PrebuildScheduler(int numParallelThreads, long memoryBudget) {
+    checkArgument(numParallelThreads > 0, numParallelThreads);
+    checkArgument(memoryBudget > 0, memoryBudget);
+    this.numParallelThreads = numParallelThreads;
+    this.memoryBudget = memoryBudget;
+  }
+
+  /** Runs {@code task} on every input, and returns once all of them are done. */
+  void run(Iterable<CompilerInput> allInputs, Consumer<CompilerInput> task) {
+    ImmutableList<SizedInput> inputs =
+        ImmutableList.sortedCopyOf(
+            Comparator.comparingLong(SizedInput::estimatedMemory).reversed(),
+            ImmutableList.copyOf(allInputs).stream().map(SizedInput::of).toList());
+    if (inputs.isEmpty()) {
+      return;
+    }
+
+    MemoryBudget budget = new MemoryBudget(memoryBudget);
+    // An empty Optional tells a worker to stop.
+    BlockingQueue<Optional<SizedInput>> ready = new LinkedBlockingQueue<>();
+    int numWorkers = Math.min(numParallelThreads, inputs.size());
+    List<Future<?>> workers = new ArrayList<>(numWorkers);
+    for (int i = 0; i < numWorkers; i++) {
+      workers.add(
+          SHARED_EXECUTOR.submit(
+              () -> {
+                work(ready, budget, task);
+                return null;
+              }));
+    }
+
+    try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (SizedInput input : inputs) {
+        budget.acquire(input.estimatedMemory());
+        SourceFile sourceFile = input.input().getSourceFile();
+        if (sourceFile.needsToReadCode()) {
+          readers.execute(
+              () -> {
+                readAhead(sourceFile);
+                ready.add(Optional.of(input));
+              });
+        } else {
+          ready.add(Optional.of(input));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.forEach(worker -> worker.cancel(true));
+      throw new RuntimeException(e);
+    }
+    // Closing the readers waited for all of them, so every input is in the queue by now.
+    for (int i = 0; i < numWorkers; i++) {
+      ready.add(Optional.empty());
+    }
+
+    try {
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void work(
+      BlockingQueue<Optional<SizedInput>> ready,
+      MemoryBudget budget,
+      Consumer<CompilerInput> task)
+      throws InterruptedException {
+    Throwable failure = null;
+    for (Optional<SizedInput> next = ready.take(); next.isPresent(); next = ready.take()) {
+      SizedInput input = next.get();
+      try {
+        if (failure == null) {
+          task.accept(input.input());
+        }
+      } catch (RuntimeException | Error e) {
+        // Keep draining the queue, so that the other workers and the reader don't wait forever.
+        failure = e;
+      } finally {
+        budget.release(input.estimatedMemory());
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfUnchecked(failure);
+    }
+  }
+
+  private static void readAhead(SourceFile sourceFile) {
+    try {
+      sourceFile.getCode();
+    } catch (IOException | RuntimeException e) {
+      // Ignored here; the task runs into the same problem when it reads the code, and reports it.
+    }
+  }
+
+  /** An input and the estimated memory it takes to process it. */
+  private record SizedInput(CompilerInput input, long estimatedMemory) {
+    static SizedInput of(CompilerInput input) {
+      long length = input.getSourceFile().estimateCodeLength();
+      return new SizedInput(
+          input, BYTES_PER_CHARACTER * (length >= 0 ? length : DEFAULT_CODE_LENGTH));
+    }
+  }
+
+  /** Bounds the total estimated memory of the inputs in flight. */
+  private static final class MemoryBudget {
+    private final long limit;
+    private long inFlight = 0;
+
+    MemoryBudget(long limit) {
+      this.limit = limit;
+    }
+
+    synchronized void acquire(long memory) throws InterruptedException {
+      while (inFlight > 0 && inFlight + memory > limit) {
+        wait();
+      }
+      inFlight += memory;
+    }
+
+    synchronized void release(long memory) {
+      inFlight -= memory;
+      notifyAll();
+    }
+  }
+}
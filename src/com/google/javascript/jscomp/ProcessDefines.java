@@ -253,7 +253,7 @@ class ProcessDefines implements CompilerPass {
       this.namespace = namespaceSupplier.get();
     }
     if (this.namespace == null) {
-      this.namespace = new GlobalNamespace(compiler, externs, root);
+      this.namespace = compiler.getGlobalNamespaceCache().get(externs, root);
     }
   }
 
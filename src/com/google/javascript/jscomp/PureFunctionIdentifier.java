@@ -47,6 +47,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Predicate;
 import org.jspecify.annotations.Nullable;
 
@@ -562,13 +563,32 @@ class PureFunctionIdentifier implements OptimizeCalls.CallGraphCompilerPass {
    *
    * <p>This is an iterative process executed until a fixed point, where no caller summary would be
    * given new side-effects from from any callee summary, is reached.
+   *
+   * <p>With more than one thread, the graph is split into its strongly connected components, each
+   * reaching its own fixed point once the components it calls are done. Components that don't
+   * call each other are computed concurrently. Propagation only ever changes the caller summary,
+   * and only adds side-effects, so the result is the same as on a single thread.
    */
   private void propagateSideEffects() {
-    FixedPointGraphTraversal.newTraversal(
+    FixedPointGraphTraversal<AmbiguatedFunctionSummary, SideEffectPropagation> traversal =
+        FixedPointGraphTraversal.newTraversal(
             (AmbiguatedFunctionSummary source,
                 SideEffectPropagation edge,
-                AmbiguatedFunctionSummary destination) -> edge.propagate(source, destination))
-        .computeFixedPoint(reverseCallGraph);
+                AmbiguatedFunctionSummary destination) -> edge.propagate(source, destination));
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads <= 1) {
+      traversal.computeFixedPoint(reverseCallGraph);
+      return;
+    }
+
+    ThreadPoolExecutor executor =
+        CompilerExecutor.newFixedThreadPool(
+            numParallelThreads, "jscompiler-PureFunctionIdentifier");
+    try {
+      traversal.computeFixedPointByComponents(reverseCallGraph, executor);
+    } finally {
+      executor.shutdownNow();
+    }
   }
 
   /** Set no side effect property at pure-function call sites. */
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilerOptions.DevMode;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the nodes that {@link OptimizeCalls} collects into its {@link OptimizeCalls.ReferenceMap}
+ * for each change scope of the program, so that only the scripts and functions that changed since
+ * the previous run are traversed again.
+ *
+ * <p>The nodes of a change scope are kept in traversal order, with each nested function standing
+ * in for the nodes of its own change scope. Replaying them from the scripts down yields the nodes
+ * in the same order as a traversal of the whole program, which keeps the order of the names and
+ * references in the map, and so the output of the passes reading it, stable.
+ *
+ * <p>Only the nodes are kept. Whether a node is a reference to a global name or to a non-extern
+ * property is decided each time the map is built, since that depends on declarations in other
+ * change scopes.
+ */
+final class ReferenceMapCache {
+
+  // The name under which the time of the last lookup is marked in the change timeline.
+  private static final String TIMELINE_NAME = "ReferenceMapCache";
+
+  private final AbstractCompiler compiler;
+  private Map<Node, ImmutableList<Node>> nodesByChangeScope = new HashMap<>();
+  private boolean verifyAgainstFullRebuild;
+
+  ReferenceMapCache(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  /**
+   * Whether every {@link OptimizeCalls.ReferenceMap} built from the kept nodes should be compared
+   * with one built by traversing the whole program. This is always done in dev mode.
+   */
+  void setVerifyAgainstFullRebuild(boolean verify) {
+    this.verifyAgainstFullRebuild = verify;
+  }
+
+  boolean shouldVerifyAgainstFullRebuild() {
+    return verifyAgainstFullRebuild || compiler.getOptions().devMode != DevMode.OFF;
+  }
+
+  /** Whether the nodes of the given roots can be replayed by {@link #forEachReferenceNode}. */
+  boolean isCacheable(Node externsRoot, Node root) {
+    return root == compiler.getJsRoot() && externsRoot.getParent() == root.getParent();
+  }
+
+  /**
+   * Calls {@code consumer} with every node of the given roots that may be a reference, in the order
+   * of a traversal of both roots. The scripts from externs are skipped unless {@code
+   * includeExterns} is set.
+   */
+  void forEachReferenceNode(
+      Node externsRoot, Node root, boolean includeExterns, Consumer<Node> consumer) {
+    dropChangedScopes();
+    Map<Node, ImmutableList<Node>> reached = new HashMap<>();
+    for (Node script = externsRoot.getFirstChild(); script != null; script = script.getNext()) {
+      replay(script, includeExterns, consumer, reached);
+    }
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      replay(script, includeExterns, consumer, reached);
+    }
+    if (includeExterns) {
+      // Everything still in the program was reached, so the rest belongs to removed code.
+      nodesByChangeScope = reached;
+    } else {
+      nodesByChangeScope.putAll(reached);
+    }
+  }
+
+  /** Drops all kept nodes, so that the next lookup traverses the whole program. */
+  void invalidate() {
+    nodesByChangeScope = new HashMap<>();
+  }
+
+  private void replay(
+      Node script,
+      boolean includeExterns,
+      Consumer<Node> consumer,
+      Map<Node, ImmutableList<Node>> reached) {
+    if (!includeExterns && script.isFromExterns()) {
+      return;
+    }
+    replayChangeScope(script, consumer, reached);
+  }
+
+  private void replayChangeScope(
+      Node changeScopeRoot, Consumer<Node> consumer, Map<Node, ImmutableList<Node>> reached) {
+    ImmutableList<Node> nodes = nodesByChangeScope.get(changeScopeRoot);
+    if (nodes == null) {
+      nodes = collect(changeScopeRoot);
+    }
+    reached.put(changeScopeRoot, nodes);
+    for (Node n : nodes) {
+      if (n.isFunction()) {
+        replayChangeScope(n, consumer, reached);
+      } else {
+        consumer.accept(n);
+      }
+    }
+  }
+
+  private void dropChangedScopes() {
+    List<Node> changedScopes =
+        compiler.getChangeTracker().getChangedScopeNodesForPass(TIMELINE_NAME);
+    if (changedScopes == null) {
+      invalidate();
+      return;
+    }
+    for (Node changedScope : changedScopes) {
+      drop(changedScope);
+    }
+  }
+
+  /**
+   * Drops the nodes of a change scope and of the functions nested in it when it was last
+   * traversed. Nested functions that weren't changed themselves are only traversed again if they
+   * are still in the program, since they may have been moved or removed along with the code
+   * around them.
+   */
+  private void drop(Node changeScopeRoot) {
+    ImmutableList<Node> nodes = nodesByChangeScope.remove(changeScopeRoot);
+    if (nodes == null) {
+      return;
+    }
+    for (Node n : nodes) {
+      if (n.isFunction()) {
+        drop(n);
+      }
+    }
+  }
+
+  private ImmutableList<Node> collect(Node changeScopeRoot) {
+    ReferenceNodeCollector collector = new ReferenceNodeCollector(changeScopeRoot);
+    NodeTraversal.traverse(compiler, changeScopeRoot, collector);
+    return ImmutableList.copyOf(collector.nodes);
+  }
+
+  /**
+   * Collects the nodes of a single change scope that may be references, and the functions nested
+   * in it, without entering them.
+   */
+  private final class ReferenceNodeCollector implements NodeTraversal.Callback {
+    private final Node changeScopeRoot;
+    private final ArrayList<Node> nodes = new ArrayList<>();
+
+    ReferenceNodeCollector(Node changeScopeRoot) {
+      this.changeScopeRoot = changeScopeRoot;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      if (n.isFunction() && n != changeScopeRoot) {
+        nodes.add(n);
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      switch (n.getToken()) {
+        case NAME,
+            OPTCHAIN_GETPROP,
+            GETPROP,
+            STRING_KEY,
+            GETTER_DEF,
+            SETTER_DEF,
+            MEMBER_FUNCTION_DEF,
+            MEMBER_FIELD_DEF ->
+            nodes.add(n);
+        case CALL -> {
+          if (compiler.getCodingConvention().isPropertyRenameFunction(n.getFirstChild())) {
+            nodes.add(n);
+          }
+        }
+        case SUPER -> {
+          if (parent.isCall() && n.isFirstChildOf(parent)) {
+            nodes.add(n);
+          }
+        }
+        default -> {}
+      }
+    }
+  }
+}
@@ -392,9 +392,10 @@ class RemoveUnusedCode implements CompilerPass {
           NodeUtil.JSC_PROPERTY_NAME_FN, /* no declaration node */ null, /* no input */ null);
     }
 
-    // Accumulate guarded usages of polyfills before removal starts.
-    new PolyfillUsageFinder(compiler, polyfillsFromTable)
-        .traverseOnlyGuarded(root, this::storePolyfill);
+    if (removeUnusedPolyfills) {
+      // Accumulate guarded usages of polyfills before removal starts.
+      findGuardedPolyfillUsages(root);
+    }
 
     worklist.add(new Continuation(root, scope));
     while (!worklist.isEmpty()) {
@@ -409,6 +410,37 @@ class RemoveUnusedCode implements CompilerPass {
     }
   }
 
+  /**
+   * Stores the polyfill usages that are behind a guard. Only polyfills can be removed despite such
+   * usages, so they are only needed when removing unused polyfills.
+   *
+   * <p>This looks at every node of the program, but doesn't depend on anything else the pass
+   * finds. So when multiple threads are allowed, the scripts are scanned concurrently and their
+   * usages are stored in script order afterwards.
+   */
+  private void findGuardedPolyfillUsages(Node root) {
+    PolyfillUsageFinder finder = new PolyfillUsageFinder(compiler, polyfillsFromTable);
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads <= 1 || !root.isRoot() || !root.hasMoreThanOneChild()) {
+      finder.traverseOnlyGuarded(root, this::storePolyfill);
+      return;
+    }
+
+    List<List<PolyfillUsage>> usagesByScript = new ArrayList<>();
+    List<Runnable> tasks = new ArrayList<>();
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      List<PolyfillUsage> usages = new ArrayList<>();
+      usagesByScript.add(usages);
+      final Node currentScript = script;
+      tasks.add(() -> finder.traverseOnlyGuarded(currentScript, usages::add));
+    }
+    ScriptParallelPassRunner.runBuffered(
+        compiler, numParallelThreads, "jscompiler-RemoveUnusedCode", tasks);
+    for (List<PolyfillUsage> usages : usagesByScript) {
+      usages.forEach(this::storePolyfill);
+    }
+  }
+
   private void storePolyfill(PolyfillUsage polyfillUsage) {
     this.guardedUsages.add(polyfillUsage.node());
   }
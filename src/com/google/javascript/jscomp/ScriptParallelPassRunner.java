@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs a {@link PassFactory#isScriptLocal() script-local} pass on every SCRIPT of the program,
+ * using multiple threads.
+ *
+ * <p>Each script gets its own instance of the pass. Code changes and diagnostics reported while
+ * processing a script are buffered on the worker thread, and are replayed on the calling thread in
+ * script order once all scripts are done. This keeps the shared change-tracking state
+ * single-threaded and makes the reported diagnostics independent of thread scheduling.
+ */
+class ScriptParallelPassRunner {
+  private final AbstractCompiler compiler;
+  private final int numParallelThreads;
+
+  ScriptParallelPassRunner(AbstractCompiler compiler, int numParallelThreads) {
+    checkArgument(numParallelThreads > 1, numParallelThreads);
+    this.compiler = compiler;
+    this.numParallelThreads = numParallelThreads;
+  }
+
+  void process(PassFactory factory, Node externs, Node root) {
+    checkArgument(factory.isScriptLocal(), "Not a script-local pass: %s", factory.getName());
+    if (!root.isRoot() || !root.hasMoreThanOneChild()) {
+      // Nothing to gain from running on other threads.
+      factory.create(compiler).process(externs, root);
+      return;
+    }
+
+    List<Runnable> tasks = new ArrayList<>();
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      final Node currentScript = script;
+      tasks.add(() -> factory.create(compiler).process(externs, currentScript));
+    }
+    runBuffered(compiler, numParallelThreads, "jscompiler-ScriptParallelPassRunner", tasks);
+  }
+
+  /**
+   * Runs the tasks on a new pool of threads, then replays the changes and diagnostics reported by
+   * each task on the calling thread, in the order of the tasks.
+   */
+  static void runBuffered(
+      AbstractCompiler compiler, int numParallelThreads, String threadName, List<Runnable> tasks) {
+    ThreadPoolExecutor poolExecutor =
+        CompilerExecutor.newFixedThreadPool(numParallelThreads, threadName);
+    ListeningExecutorService executorService = MoreExecutors.listeningDecorator(poolExecutor);
+    List<ListenableFuture<TaskResult>> futureList = new ArrayList<>();
+    for (Runnable task : tasks) {
+      futureList.add(executorService.submit(() -> runTask(compiler, task)));
+    }
+
+    poolExecutor.shutdown();
+    List<TaskResult> results;
+    try {
+      results = Futures.allAsList(futureList).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+
+    ChangeTracker changeTracker = compiler.getChangeTracker();
+    for (TaskResult result : results) {
+      changeTracker.replayBufferedChanges(result.changes());
+      for (JSError error : result.diagnostics()) {
+        compiler.report(error);
+      }
+    }
+  }
+
+  private static TaskResult runTask(AbstractCompiler compiler, Runnable task) {
+    ChangeTracker changeTracker = compiler.getChangeTracker();
+    changeTracker.startBufferingChanges();
+    compiler.startBufferingDiagnostics();
+    List<Node> changes;
+    ImmutableList<JSError> diagnostics;
+    try {
+      task.run();
+    } finally {
+      // Always clear the buffers, the threads may be reused by later tasks.
+      changes = changeTracker.stopBufferingChanges();
+      diagnostics = compiler.stopBufferingDiagnostics();
+    }
+    return new TaskResult(changes, diagnostics);
+  }
+
+  /** What was reported while running a single task. */
+  private record TaskResult(List<Node> changes, ImmutableList<JSError> diagnostics) {}
+}
@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.io.CharStreams;
@@ -38,10 +40,14 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -279,12 +285,47 @@ public final class SourceFile implements StaticSourceFile {
    */
   public void clearCachedSource() {
     this.setCodeAndDoBookkeeping(null);
+    this.loader.releaseMappedLines();
   }
 
   boolean hasSourceInMemory() {
     return code != null;
   }
 
+  /** Whether getting the code of this file reads it from storage, e.g. from disk. */
+  boolean needsToReadCode() {
+    return code == null && loader.readsFromStorage();
+  }
+
+  /**
+   * Returns the length of the code in characters if it is known or cheap to find out, else an
+   * estimate based on its size in storage, or -1 if that is unknown too.
+   */
+  long estimateCodeLength() {
+    String localCode = code;
+    return localCode != null ? localCode.length() : loader.estimateCodeLength();
+  }
+
+  /**
+   * Returns the lines of the file in its original storage, if its code isn't in memory and the
+   * loader can read lines on their own.
+   *
+   * <p>The code is dropped after parsing, but error messages still need a few lines around each
+   * error. Reading just those lines avoids materializing the whole file as a String again, and
+   * keeping it alive until the next {@link #clearCachedSource}.
+   */
+  private @Nullable MappedLines getMappedLinesIfCodeNotLoaded() {
+    if (this.code != null) {
+      return null;
+    }
+    try {
+      return this.loader.getMappedLines();
+    } catch (IOException e) {
+      // Let the caller load the whole file, which reports the error the usual way.
+      return null;
+    }
+  }
+
   /**
    * Returns a unique name for the source file.
    *
@@ -343,6 +384,16 @@ public final class SourceFile implements StaticSourceFile {
    *     null} if it does not exist, or if there was an IO exception.
    */
   public @Nullable String getLine(int lineNumber) {
+    MappedLines mappedLines = getMappedLinesIfCodeNotLoaded();
+    if (mappedLines != null) {
+      String line = mappedLines.getLines(max(1, lineNumber), 1);
+      if (line.isEmpty()) {
+        return null;
+      }
+      int newline = line.indexOf('\n');
+      return newline == -1 ? line : line.substring(0, newline);
+    }
+
     String js;
     try {
       js = getCode();
@@ -385,6 +436,11 @@ public final class SourceFile implements StaticSourceFile {
    *     exception.
    */
   public @Nullable Region getLines(int lineNumber, int length) {
+    MappedLines mappedLines = getMappedLinesIfCodeNotLoaded();
+    if (mappedLines != null) {
+      return getLines(mappedLines, lineNumber, length);
+    }
+
     String js;
     try {
       js = getCode();
@@ -421,6 +477,39 @@ public final class SourceFile implements StaticSourceFile {
     return new SimpleRegion(lineNumber, endLine, js.substring(pos, endChar));
   }
 
+  /** Same as {@link #getLines(int, int)}, but only decodes the lines that are returned. */
+  private static @Nullable Region getLines(MappedLines mappedLines, int lineNumber, int length) {
+    int lineCount = mappedLines.getLineCount();
+    if (lineNumber > lineCount) {
+      return null;
+    }
+
+    if (lineNumber < 1) {
+      lineNumber = 1;
+    }
+    if (length <= 0) {
+      length = 1;
+    }
+
+    StringBuilder lines = new StringBuilder();
+    int endLine = lineNumber;
+    // go through lines until we've reached the end of the file or met the specified length.
+    for (; lines.length() < length && endLine <= lineCount; endLine++) {
+      String line = mappedLines.getLines(endLine, 1);
+      if (line.isEmpty() && endLine == lineNumber) {
+        // Happens when asking for the last empty line in a file.
+        return new SimpleRegion(lineNumber, lineNumber, "");
+      }
+      lines.append(line);
+    }
+
+    int end = lines.length();
+    if (lines.charAt(end - 1) == '\n') {
+      end--;
+    }
+    return new SimpleRegion(lineNumber, endLine, lines.substring(0, end));
+  }
+
   /**
    * Get a region around the indicated line number. The exact definition of a region is
    * implementation specific, but it must contain the line indicated by the line number. A region
@@ -431,20 +520,26 @@ public final class SourceFile implements StaticSourceFile {
    *     exception.
    */
   public @Nullable Region getRegion(int lineNumber) {
-    String js = "";
-    try {
-      js = getCode();
-    } catch (IOException e) {
-      return null;
-    }
     int pos = 0;
     int startLine = max(1, lineNumber - (SOURCE_EXCERPT_REGION_LENGTH + 1) / 2 + 1);
-    for (int n = 1; n < startLine; n++) {
-      int nextpos = js.indexOf('\n', pos);
-      if (nextpos == -1) {
-        break;
+    // Either just the lines of the region, or the whole file in which case pos is moved to the
+    // first line of the region.
+    MappedLines mappedLines = getMappedLinesIfCodeNotLoaded();
+    String js =
+        mappedLines != null ? mappedLines.getLines(startLine, SOURCE_EXCERPT_REGION_LENGTH) : null;
+    if (js == null) {
+      try {
+        js = getCode();
+      } catch (IOException e) {
+        return null;
+      }
+      for (int n = 1; n < startLine; n++) {
+        int nextpos = js.indexOf('\n', pos);
+        if (nextpos == -1) {
+          break;
+        }
+        pos = nextpos + 1;
       }
-      pos = nextpos + 1;
     }
     int end = pos;
     int endLine = startLine;
@@ -805,6 +900,65 @@ public final class SourceFile implements StaticSourceFile {
   //////////////////////////////////////////////////////////////////////////////
   // Implementations
 
+  /**
+   * The lines of a memory-mapped file, located by the offsets of the bytes they start at.
+   *
+   * <p>The charset must encode '\n' as a single byte that is never part of another character, so
+   * that lines can be found without decoding the rest of the file.
+   */
+  private static final class MappedLines {
+    private final ByteBuffer bytes;
+    private final Charset charset;
+    private final int[] lineStarts;
+
+    MappedLines(ByteBuffer bytes, Charset charset) {
+      this.bytes = bytes;
+      this.charset = charset;
+      int start = 0;
+      if (charset.equals(UTF_8)
+          && bytes.limit() >= 3
+          && bytes.get(0) == (byte) 0xEF
+          && bytes.get(1) == (byte) 0xBB
+          && bytes.get(2) == (byte) 0xBF) {
+        start = 3; // Skip the byte order mark, like getCode() does.
+      }
+      int lineCount = 1; // there is always at least one line
+      for (int i = start; i < bytes.limit(); i++) {
+        if (bytes.get(i) == '\n') {
+          lineCount++;
+        }
+      }
+      this.lineStarts = new int[lineCount];
+      this.lineStarts[0] = start;
+      int line = 1;
+      for (int i = start; i < bytes.limit(); i++) {
+        if (bytes.get(i) == '\n') {
+          this.lineStarts[line++] = i + 1;
+        }
+      }
+    }
+
+    int getLineCount() {
+      return lineStarts.length;
+    }
+
+    /**
+     * Returns up to {@code maxLines} lines starting at the 1-based line {@code firstLine},
+     * including their trailing newlines. Returns the empty string if the file has fewer lines.
+     */
+    String getLines(int firstLine, int maxLines) {
+      if (firstLine > lineStarts.length) {
+        return "";
+      }
+      int start = lineStarts[firstLine - 1];
+      int endLine = firstLine - 1 + maxLines;
+      int end = endLine < lineStarts.length ? lineStarts[endLine] : bytes.limit();
+      byte[] lineBytes = new byte[end - start];
+      bytes.get(start, lineBytes);
+      return new String(lineBytes, charset);
+    }
+  }
+
   private abstract static class CodeLoader implements Serializable {
     /**
      * Return the source text of this file from its original storage.
@@ -826,6 +980,32 @@ public final class SourceFile implements StaticSourceFile {
       return null;
     }
 
+    /** Whether loading the code reads it from storage, rather than from memory. */
+    boolean readsFromStorage() {
+      return true;
+    }
+
+    /**
+     * Returns an estimate of the length of the code, e.g. its size in storage, or -1 if it can't be
+     * estimated without loading the code.
+     */
+    long estimateCodeLength() {
+      return -1;
+    }
+
+    /**
+     * Returns the lines of the source text in its original storage, without loading the whole
+     * file. The lines may be kept until {@link #releaseMappedLines}.
+     *
+     * @return the lines, or null if this loader can't read lines on their own.
+     */
+    @Nullable MappedLines getMappedLines() throws IOException {
+      return null;
+    }
+
+    /** Drops the lines kept by {@link #getMappedLines}, if any. */
+    void releaseMappedLines() {}
+
     /**
      * Returns a representation of this loader that can be serialized/deserialized to reconstruct
      * this SourceFile
@@ -846,6 +1026,16 @@ public final class SourceFile implements StaticSourceFile {
         return this.preloadedCode;
       }
 
+      @Override
+      boolean readsFromStorage() {
+        return false;
+      }
+
+      @Override
+      long estimateCodeLength() {
+        return this.preloadedCode.length();
+      }
+
       @Override
       SourceFileProto.Builder toProtoLocationBuilder(String fileName) {
         return SourceFileProto.newBuilder().setPreloadedContents(this.preloadedCode);
@@ -865,6 +1055,11 @@ public final class SourceFile implements StaticSourceFile {
         throw new UnsupportedOperationException("Attempting to load code from a stub SourceFile.");
       }
 
+      @Override
+      boolean readsFromStorage() {
+        return false;
+      }
+
       @Override
       SourceFileProto.Builder toProtoLocationBuilder(String fileName) {
         return SourceFileProto.newBuilder().setFilename(fileName).setStubFile(true);
@@ -877,6 +1072,9 @@ public final class SourceFile implements StaticSourceFile {
       private final String serializableCharset;
       private final Path relativePath;
 
+      // Kept between source excerpts, so that each one doesn't map and scan the file again.
+      private transient volatile @Nullable MappedLines mappedLines = null;
+
       OnDisk(Path relativePath, Charset c) {
         super();
         this.serializableCharset = c.name();
@@ -898,6 +1096,50 @@ public final class SourceFile implements StaticSourceFile {
         return Files.newBufferedReader(this.relativePath, this.getCharset());
       }
 
+      @Override
+      long estimateCodeLength() {
+        try {
+          // One byte per character is exact for ASCII, which most code is.
+          return Files.size(this.relativePath);
+        } catch (IOException e) {
+          return -1;
+        }
+      }
+
+      @Override
+      @Nullable MappedLines getMappedLines() throws IOException {
+        MappedLines lines = this.mappedLines;
+        if (lines != null) {
+          return lines;
+        }
+        Charset charset = this.getCharset();
+        if (!(charset.equals(UTF_8) || charset.equals(ISO_8859_1) || charset.equals(US_ASCII))
+            || this.relativePath.getFileSystem() != FileSystems.getDefault()) {
+          return null;
+        }
+        synchronized (this) {
+          if (this.mappedLines == null) {
+            // Map the file rather than reading it, so that the bytes stay in the OS page cache
+            // rather than on the heap. The mapping stays valid after the channel is closed.
+            try (FileChannel channel =
+                FileChannel.open(this.relativePath, StandardOpenOption.READ)) {
+              long size = channel.size();
+              if (size > Integer.MAX_VALUE) {
+                return null;
+              }
+              this.mappedLines =
+                  new MappedLines(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset);
+            }
+          }
+          return this.mappedLines;
+        }
+      }
+
+      @Override
+      void releaseMappedLines() {
+        this.mappedLines = null;
+      }
+
       private Charset getCharset() {
         return Charset.forName(this.serializableCharset);
       }
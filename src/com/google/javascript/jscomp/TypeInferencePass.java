@@ -20,7 +20,9 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.javascript.rhino.jstype.JSTypeNative.UNKNOWN_TYPE;
 import static java.util.Comparator.comparingInt;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multiset;
 import com.google.javascript.jscomp.CodingConvention.AssertionFunctionLookup;
 import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
@@ -28,16 +30,29 @@ import com.google.javascript.jscomp.NodeTraversal.AbstractScopedCallback;
 import com.google.javascript.jscomp.diagnostic.LogFile;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.type.ReverseAbstractInterpreter;
+import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
 import com.google.javascript.rhino.jstype.JSTypeResolver;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.jspecify.annotations.Nullable;
 
-/** A compiler pass to run the type inference analysis. */
+/**
+ * A compiler pass to run the type inference analysis.
+ *
+ * <p>When {@link CompilerOptions#setNumParallelThreads more than one thread} is allowed, functions
+ * whose inference can't affect any other scope are inferred on multiple threads, see {@link
+ * #inferScopesInParallel}.
+ */
 class TypeInferencePass {
 
   private final AbstractCompiler compiler;
@@ -46,6 +61,7 @@ class TypeInferencePass {
   private TypedScope topScope;
   private final TypedScopeCreator scopeCreator;
   private final AssertionFunctionLookup assertionFunctionLookup;
+  private final int numParallelThreads;
 
   // (stepCount, Token) -> populationCount
   private final @Nullable LinkedHashMap<Integer, HashMultiset<Token>> stepCountHistogram;
@@ -61,6 +77,7 @@ class TypeInferencePass {
     this.assertionFunctionLookup =
         AssertionFunctionLookup.of(compiler.getCodingConvention().getAssertionFunctions());
     this.stepCountHistogram = compiler.isDebugLoggingEnabled() ? new LinkedHashMap<>() : null;
+    this.numParallelThreads = compiler.getOptions().numParallelThreads;
   }
 
   /**
@@ -107,11 +124,21 @@ class TypeInferencePass {
     }
     scopeCreator.finishAndFreeze();
 
-    NodeTraversal.builder()
-        .setCompiler(compiler)
-        .setCallback(new SecondScopeBuildingCallback())
-        .setScopeCreator(scopeCreator)
-        .traverseWithScope(inferenceRoot, this.topScope);
+    if (numParallelThreads > 1) {
+      ScopeCollectingCallback scopeCollector = new ScopeCollectingCallback();
+      NodeTraversal.builder()
+          .setCompiler(compiler)
+          .setCallback(scopeCollector)
+          .setScopeCreator(scopeCreator)
+          .traverseWithScope(inferenceRoot, this.topScope);
+      inferScopesInParallel(scopeCollector.scopes);
+    } else {
+      NodeTraversal.builder()
+          .setCompiler(compiler)
+          .setCallback(new SecondScopeBuildingCallback())
+          .setScopeCreator(scopeCreator)
+          .traverseWithScope(inferenceRoot, this.topScope);
+    }
 
     // Normalize TypedVars to have the '?' type instead of null after inference is complete. This
     // currently cannot be done any earlier because it breaks inference of variables assigned in
@@ -157,16 +184,136 @@ class TypeInferencePass {
     typeInference.analyze();
 
     if (this.stepCountHistogram != null) {
-      for (DiGraphNode<Node, ?> node : cfg.getNodes()) {
-        if (node == cfg.getImplicitReturn()) {
+      recordStepCounts(cfg, this.stepCountHistogram);
+    }
+  }
+
+  private static void recordStepCounts(
+      ControlFlowGraph<Node> cfg, LinkedHashMap<Integer, HashMultiset<Token>> histogram) {
+    for (DiGraphNode<Node, ?> node : cfg.getNodes()) {
+      if (node == cfg.getImplicitReturn()) {
+        continue;
+      }
+
+      LinearFlowState<?> state = node.getAnnotation();
+      histogram
+          .computeIfAbsent(state.getStepCount(), (k) -> HashMultiset.create())
+          .add(node.getValue().getToken());
+    }
+  }
+
+  /**
+   * Infers the given scopes, which are in the order in which they are inferred on a single thread.
+   *
+   * <p>A scope that is {@link ScopeToInfer#isolated isolated} only changes the types of its own
+   * nodes and variables, so it only has to be inferred after the scope enclosing it, whose
+   * variables it reads. Such scopes are inferred on the worker threads as soon as their enclosing
+   * scope is done. Any other scope waits for all scopes before it, and is inferred on this thread.
+   *
+   * <p>The diagnostics reported on the worker threads are buffered, and reported in scope order
+   * once the scopes before the next non-isolated scope are done, so that they don't depend on
+   * thread scheduling.
+   */
+  private void inferScopesInParallel(List<ScopeToInfer> scopes) {
+    ThreadPoolExecutor executor =
+        CompilerExecutor.newFixedThreadPool(numParallelThreads, "jscompiler-TypeInferencePass");
+    try (JSTypeRegistry.Frozen frozen = registry.freeze()) {
+      List<ScopeToInfer> inFlight = new ArrayList<>();
+      for (ScopeToInfer scope : scopes) {
+        if (!scope.isolated) {
+          finishScopes(inFlight);
+          inferScope(scope.root, scope.scope);
           continue;
         }
+        CompletableFuture<?> enclosing =
+            scope.enclosing != null && scope.enclosing.result != null
+                ? scope.enclosing.result
+                : CompletableFuture.completedFuture(null);
+        scope.result = enclosing.thenApplyAsync(unused -> inferOnWorker(scope), executor);
+        inFlight.add(scope);
+      }
+      finishScopes(inFlight);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Waits for the given scopes, and reports what was reported while inferring them in order. */
+  private void finishScopes(List<ScopeToInfer> inFlight) {
+    for (ScopeToInfer scope : inFlight) {
+      ScopeResult result;
+      try {
+        result = scope.result.join();
+      } catch (CompletionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw e;
+      }
+      for (JSError error : result.diagnostics()) {
+        compiler.report(error);
+      }
+      if (this.stepCountHistogram != null) {
+        result.stepCounts().forEach(
+            (stepCount, tokens) ->
+                this.stepCountHistogram
+                    .computeIfAbsent(stepCount, (k) -> HashMultiset.create())
+                    .addAll(tokens));
+      }
+    }
+    // The results of scopes that are done are no longer needed.
+    for (ScopeToInfer scope : inFlight) {
+      scope.result = null;
+    }
+    inFlight.clear();
+  }
 
-        LinearFlowState<?> state = node.getAnnotation();
-        this.stepCountHistogram
-            .computeIfAbsent(state.getStepCount(), (k) -> HashMultiset.create())
-            .add(node.getValue().getToken());
+  private ScopeResult inferOnWorker(ScopeToInfer scope) {
+    compiler.startBufferingDiagnostics();
+    ImmutableList<JSError> diagnostics;
+    LinkedHashMap<Integer, HashMultiset<Token>> stepCounts = new LinkedHashMap<>();
+    try {
+      ControlFlowGraph<Node> cfg = computeCfg(scope.root);
+      new TypeInference(
+              compiler, cfg, reverseInterpreter, scope.scope, scopeCreator, assertionFunctionLookup)
+          .analyze();
+      if (this.stepCountHistogram != null) {
+        recordStepCounts(cfg, stepCounts);
       }
+    } finally {
+      // Always clear the buffer, the threads may be reused by later tasks.
+      diagnostics = compiler.stopBufferingDiagnostics();
+    }
+    return new ScopeResult(diagnostics, stepCounts);
+  }
+
+  /** What was reported while inferring a scope on a worker thread. */
+  private record ScopeResult(
+      ImmutableList<JSError> diagnostics, LinkedHashMap<Integer, HashMultiset<Token>> stepCounts) {}
+
+  /** A scope with its own control flow graph, to be inferred by {@link #inferScopesInParallel}. */
+  private static final class ScopeToInfer {
+    final Node root;
+    final TypedScope scope;
+    /** The closest enclosing scope that is inferred separately, if any. */
+    final @Nullable ScopeToInfer enclosing;
+
+    /**
+     * Whether inferring this scope can only change the types of its own nodes and variables, so
+     * that it can run concurrently with the inference of other scopes.
+     */
+    boolean isolated;
+
+    /** Completed once this scope is inferred, if it is inferred on a worker thread. */
+    @Nullable CompletableFuture<ScopeResult> result;
+
+    ScopeToInfer(Node root, TypedScope scope, @Nullable ScopeToInfer enclosing) {
+      this.root = root;
+      this.scope = scope;
+      this.enclosing = enclosing;
+      // Only functions are inferred on other threads. Code at the top level of a script, class
+      // fields and static blocks define the shared state that functions read, and so do the
+      // functions wrapping goog.loadModule bodies, which export the module.
+      this.isolated =
+          root.isFunction() && !NodeUtil.isBundledGoogModuleCall(root.getParent());
     }
   }
 
@@ -202,6 +349,74 @@ class TypeInferencePass {
     }
   }
 
+  /**
+   * Collects the scopes that {@link SecondScopeBuildingCallback} would infer, in the same order,
+   * and finds out which of them are {@link ScopeToInfer#isolated isolated}.
+   */
+  private static final class ScopeCollectingCallback extends AbstractScopedCallback {
+    final List<ScopeToInfer> scopes = new ArrayList<>();
+    private final ArrayDeque<ScopeToInfer> enclosingScopes = new ArrayDeque<>();
+
+    @Override
+    public void enterScope(NodeTraversal t) {
+      TypedScope scope = t.getTypedScope();
+      if (scope.isCfgRootScope() && !scope.isModuleScope()) {
+        ScopeToInfer scopeToInfer =
+            new ScopeToInfer(t.getCurrentNode(), scope, enclosingScopes.peek());
+        scopes.add(scopeToInfer);
+        enclosingScopes.push(scopeToInfer);
+      }
+    }
+
+    @Override
+    public void exitScope(NodeTraversal t) {
+      TypedScope scope = t.getTypedScope();
+      if (scope.isCfgRootScope() && !scope.isModuleScope()) {
+        enclosingScopes.pop();
+      }
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      ScopeToInfer current = enclosingScopes.peek();
+      if (current != null && current.isolated && changesSharedState(t, n, current.scope)) {
+        current.isolated = false;
+      }
+    }
+
+    /**
+     * Whether inferring {@code n}, in the body of the function with the given scope, may change a
+     * type or variable that other scopes see.
+     */
+    private static boolean changesSharedState(NodeTraversal t, Node n, TypedScope functionScope) {
+      JSDocInfo info = n.getJSDocInfo();
+      if (info != null && info.isConstructorOrInterface()) {
+        // Constructors may be given the missing properties of the interfaces they implement.
+        return true;
+      }
+      switch (n.getToken()) {
+        case CLASS:
+          // Defines properties on the class and its prototype.
+          return true;
+        case OBJECTLIT:
+          // The properties of a @lends object literal are defined on another type.
+          return info != null && info.hasLendsName();
+        case GETPROP:
+          // Assigning a property may define it on a shared type.
+          return NodeUtil.isLValue(n);
+        case NAME:
+          if (!NodeUtil.isLValue(n) || n.getParent().isFunction()) {
+            return false;
+          }
+          // Assigning an outer variable changes its inferred type.
+          TypedVar var = t.getTypedScope().getVar(n.getString());
+          return var == null || var.getScope().getClosestCfgRootScope() != functionScope;
+        default:
+          return false;
+      }
+    }
+  }
+
   private ControlFlowGraph<Node> computeCfg(Node n) {
     return ControlFlowAnalysis.builder()
         .setCompiler(compiler)
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * An on-disk cache of the TypedASTs written by checks-only compilations.
+ *
+ * <p>Checking a library only depends on the content of its inputs: its own sources, and the externs
+ * and type summaries ({@code .i.js} files) of the libraries it depends on. The cache key is a hash
+ * of all of those plus the compiler configuration, so a library is only rechecked when one of its
+ * own files or the interface of one of its dependencies changed. A change to the implementation of
+ * a dependency that does not change its type summary is a cache hit.
+ *
+ * <p>Only the TypedAST output is cached, so only compilations that produce no other output and no
+ * diagnostics should be stored; a cache hit reports nothing.
+ */
+final class TypedAstCache {
+  private static final String FILE_EXTENSION = ".typedast.gz";
+
+  private final Path directory;
+
+  TypedAstCache(Path directory) {
+    this.directory = checkNotNull(directory);
+  }
+
+  /**
+   * Computes the cache key for a compilation.
+   *
+   * @param configuration everything other than the inputs that affects the output, e.g. the
+   *     compiler version, the {@link CompilerBuildFingerprint} and the flags.
+   */
+  static String computeKey(String configuration, List<SourceFile> externs, List<SourceFile> sources)
+      throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putString(hasher, configuration);
+    hasher.putInt(externs.size());
+    for (SourceFile file : externs) {
+      putFile(hasher, file);
+    }
+    hasher.putInt(sources.size());
+    for (SourceFile file : sources) {
+      putFile(hasher, file);
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putFile(Hasher hasher, SourceFile file) throws IOException {
+    putString(hasher, file.getName());
+    hasher.putInt(file.getKind().ordinal());
+    // Hash each file separately so that large inputs are never copied into one buffer.
+    HashCode contentHash = Hashing.sha256().hashString(file.getCode(), UTF_8);
+    hasher.putBytes(contentHash.asBytes());
+  }
+
+  private static void putString(Hasher hasher, String s) {
+    // Prefix with the length so that adjacent strings can't be confused with each other.
+    hasher.putInt(s.length());
+    hasher.putString(s, UTF_8);
+  }
+
+  /**
+   * Copies the cached TypedAST for the given key to {@code outputFile}.
+   *
+   * @return whether there was a cached TypedAST for the key
+   */
+  boolean restore(String key, Path outputFile) throws IOException {
+    Path cached = getCachePath(key);
+    if (!Files.isRegularFile(cached)) {
+      return false;
+    }
+    Files.copy(cached, outputFile, StandardCopyOption.REPLACE_EXISTING);
+    return true;
+  }
+
+  /** Stores a copy of the TypedAST file for the given key. */
+  void store(String key, Path typedAstFile) throws IOException {
+    Files.createDirectories(directory);
+    // Write to a temporary file first, so that concurrent compilations never read a partial entry.
+    Path temp = Files.createTempFile(directory, key, ".tmp");
+    try {
+      Files.copy(typedAstFile, temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(
+          temp,
+          getCachePath(key),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private Path getCachePath(String key) {
+    return directory.resolve(key + FILE_EXTENSION);
+  }
+}
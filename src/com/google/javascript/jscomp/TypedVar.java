@@ -39,18 +39,17 @@ import com.google.javascript.rhino.jstype.StaticTypedSlot;
 public class TypedVar extends AbstractVar<TypedScope, TypedVar>
     implements StaticTypedSlot, StaticTypedRef {
 
-  private JSType type;
-  // The next two fields and the associated methods are only used by
-  // TypeInference.java. Maybe there is a way to avoid having them in all typed variable instances.
-  private boolean markedEscaped = false;
-  private boolean markedAssignedExactlyOnce = false;
+  // Whether the variable's type has been inferred or is declared. An inferred type may change
+  // over time (as more code is discovered), whereas a declared type is a static contract that
+  // must be matched.
+  private static final byte TYPE_INFERRED = 1 << 0;
+  // The next two flags and the associated methods are only used by TypeInference.java.
+  private static final byte MARKED_ESCAPED = 1 << 1;
+  private static final byte MARKED_ASSIGNED_EXACTLY_ONCE = 1 << 2;
 
-  /**
-   * Whether the variable's type has been inferred or is declared. An inferred
-   * type may change over time (as more code is discovered), whereas a
-   * declared type is a static contract that must be matched.
-   */
-  private final boolean typeInferred;
+  private JSType type;
+  // Packed into a single byte, since global scopes can have hundreds of thousands of vars.
+  private byte flags;
 
   // includes nodes that in plain JS semantics are not 'declarations', but that the type system
   // & compiler treat as declarations.
@@ -79,7 +78,7 @@ public class TypedVar extends AbstractVar<TypedScope, TypedVar>
           nameNode.getToken());
     }
     this.type = type;
-    this.typeInferred = inferred;
+    this.flags = inferred ? TYPE_INFERRED : 0;
   }
 
   /**
@@ -107,7 +106,7 @@ public class TypedVar extends AbstractVar<TypedScope, TypedVar>
    */
   @Override
   public boolean isTypeInferred() {
-    return typeInferred;
+    return (flags & TYPE_INFERRED) != 0;
   }
 
   public String getInputName() {
@@ -123,18 +122,18 @@ public class TypedVar extends AbstractVar<TypedScope, TypedVar>
   }
 
   void markEscaped() {
-    markedEscaped = true;
+    flags |= MARKED_ESCAPED;
   }
 
   boolean isMarkedEscaped() {
-    return markedEscaped;
+    return (flags & MARKED_ESCAPED) != 0;
   }
 
   void markAssignedExactlyOnce() {
-    markedAssignedExactlyOnce = true;
+    flags |= MARKED_ASSIGNED_EXACTLY_ONCE;
   }
 
   boolean isMarkedAssignedExactlyOnce() {
-    return markedAssignedExactlyOnce;
+    return (flags & MARKED_ASSIGNED_EXACTLY_ONCE) != 0;
   }
 }
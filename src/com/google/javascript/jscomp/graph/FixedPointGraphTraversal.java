@@ -20,10 +20,23 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
+import com.google.common.base.Throwables;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * A utility class for doing fixed-point computations. We traverse
@@ -131,6 +144,200 @@ public final class FixedPointGraphTraversal<N, E> {
     checkState(cycleCount != maxIterations, NON_HALTING_ERROR_MSG);
   }
 
+  /**
+   * Compute a fixed point for the given graph, running the parts of the graph that don't depend on
+   * each other on the given executor.
+   *
+   * <p>The graph is condensed into its strongly connected components, which form a directed acyclic
+   * graph. A component is only started once every component with an edge into it is done. It
+   * first traverses those edges, then computes a fixed point over the edges between its own nodes.
+   * Since the callback only mutates the destination of an edge, each node is only mutated by the
+   * task of its own component, and the result doesn't depend on how the tasks are scheduled.
+   *
+   * <p>The callback must be monotone, as for any fixed point computation over the whole graph. The
+   * result is then the same as that of {@link #computeFixedPoint(DiGraph)}, although the edges may
+   * be traversed in a different order and a different number of times.
+   *
+   * @param graph The graph to traverse. It must not be modified until this method returns.
+   * @param executor The executor running the components.
+   */
+  public void computeFixedPointByComponents(DiGraph<N, E> graph, Executor executor) {
+    List<List<DiGraphNode<N, E>>> components = new ComponentFinder().findComponents(graph);
+    Map<DiGraphNode<N, E>, Integer> componentIds = new HashMap<>();
+    for (int id = 0; id < components.size(); id++) {
+      for (DiGraphNode<N, E> node : components.get(id)) {
+        componentIds.put(node, id);
+      }
+    }
+
+    // The components are in topological order, so the components that a component depends on
+    // have all been scheduled before it.
+    List<CompletableFuture<Void>> results = new ArrayList<>(components.size());
+    for (int id = 0; id < components.size(); id++) {
+      List<DiGraphNode<N, E>> component = components.get(id);
+      Set<Integer> dependencies = new LinkedHashSet<>();
+      for (DiGraphNode<N, E> node : component) {
+        for (DiGraphEdge<N, E> edge : getEdgesInto(node)) {
+          dependencies.add(componentIds.get(getOrigin(edge)));
+        }
+      }
+      dependencies.remove(id);
+      CompletableFuture<?>[] dependencyResults = new CompletableFuture<?>[dependencies.size()];
+      int i = 0;
+      for (int dependency : dependencies) {
+        dependencyResults[i++] = results.get(dependency);
+      }
+      final int componentId = id;
+      results.add(
+          CompletableFuture.allOf(dependencyResults)
+              .thenRunAsync(
+                  () -> computeComponentFixedPoint(component, componentId, componentIds),
+                  executor));
+    }
+
+    try {
+      CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  private void computeComponentFixedPoint(
+      List<DiGraphNode<N, E>> component,
+      int componentId,
+      Map<DiGraphNode<N, E>, Integer> componentIds) {
+    // The components with edges into this one are done, so traverse those edges once.
+    for (DiGraphNode<N, E> node : component) {
+      N destValue = node.getValue();
+      for (DiGraphEdge<N, E> edge : getEdgesInto(node)) {
+        DiGraphNode<N, E> origin = getOrigin(edge);
+        if (componentIds.get(origin) != componentId) {
+          callback.traverseEdge(origin.getValue(), edge.getValue(), destValue);
+        }
+      }
+    }
+
+    long cycleCount = 0;
+    long nodeCount = min(component.size(), MAX_NODE_COUNT_FOR_ITERATION_LIMIT);
+    long maxIterations = max(nodeCount * nodeCount * nodeCount, 100L);
+
+    LinkedHashSet<DiGraphNode<N, E>> workSet = new LinkedHashSet<>(component);
+    for (; !workSet.isEmpty() && cycleCount < maxIterations; cycleCount++) {
+      DiGraphNode<N, E> node = workSet.removeFirst();
+      N sourceValue = node.getValue();
+      for (DiGraphEdge<N, E> edge : getEdgesFrom(node)) {
+        DiGraphNode<N, E> target = getTarget(edge);
+        if (componentIds.get(target) == componentId
+            && callback.traverseEdge(sourceValue, edge.getValue(), target.getValue())) {
+          workSet.add(target);
+        }
+      }
+    }
+
+    checkState(cycleCount != maxIterations, NON_HALTING_ERROR_MSG);
+  }
+
+  /** The edges along which the state of the given node flows to other nodes. */
+  private List<? extends DiGraphEdge<N, E>> getEdgesFrom(DiGraphNode<N, E> node) {
+    return traversalDirection == TraversalDirection.OUTWARDS
+        ? node.getOutEdges()
+        : node.getInEdges();
+  }
+
+  /** The edges along which the state of other nodes flows to the given node. */
+  private List<? extends DiGraphEdge<N, E>> getEdgesInto(DiGraphNode<N, E> node) {
+    return traversalDirection == TraversalDirection.OUTWARDS
+        ? node.getInEdges()
+        : node.getOutEdges();
+  }
+
+  /** The node whose state flows along the given edge. */
+  private DiGraphNode<N, E> getOrigin(DiGraphEdge<N, E> edge) {
+    return traversalDirection == TraversalDirection.OUTWARDS
+        ? edge.getSource()
+        : edge.getDestination();
+  }
+
+  /** The node that the state flows to along the given edge. */
+  private DiGraphNode<N, E> getTarget(DiGraphEdge<N, E> edge) {
+    return traversalDirection == TraversalDirection.OUTWARDS
+        ? edge.getDestination()
+        : edge.getSource();
+  }
+
+  /**
+   * Finds the strongly connected components of a graph, along the direction of the traversal,
+   * using Tarjan's algorithm without recursion.
+   */
+  private final class ComponentFinder {
+    private final Map<DiGraphNode<N, E>, Integer> indices = new HashMap<>();
+    private final Map<DiGraphNode<N, E>, Integer> lowLinks = new HashMap<>();
+    private final Set<DiGraphNode<N, E>> onStack = new HashSet<>();
+    private final Deque<DiGraphNode<N, E>> stack = new ArrayDeque<>();
+    private final Deque<Frame<N, E>> frames = new ArrayDeque<>();
+    private final List<List<DiGraphNode<N, E>>> components = new ArrayList<>();
+
+    /** Returns the components in topological order, with their nodes in the order found. */
+    List<List<DiGraphNode<N, E>>> findComponents(DiGraph<N, E> graph) {
+      for (DiGraphNode<N, E> root : graph.getNodes()) {
+        if (!indices.containsKey(root)) {
+          search(root);
+        }
+      }
+      // A component is found after all the components reachable from it.
+      Collections.reverse(components);
+      return components;
+    }
+
+    private void search(DiGraphNode<N, E> root) {
+      enter(root);
+      while (!frames.isEmpty()) {
+        Frame<N, E> frame = frames.peek();
+        if (frame.edges().hasNext()) {
+          DiGraphNode<N, E> target = getTarget(frame.edges().next());
+          if (!indices.containsKey(target)) {
+            enter(target);
+          } else if (onStack.contains(target)) {
+            lowLinks.put(frame.node(), min(lowLinks.get(frame.node()), indices.get(target)));
+          }
+          continue;
+        }
+
+        frames.pop();
+        DiGraphNode<N, E> node = frame.node();
+        int lowLink = lowLinks.get(node);
+        if (!frames.isEmpty()) {
+          DiGraphNode<N, E> parent = frames.peek().node();
+          lowLinks.put(parent, min(lowLinks.get(parent), lowLink));
+        }
+        if (lowLink == indices.get(node)) {
+          List<DiGraphNode<N, E>> component = new ArrayList<>();
+          DiGraphNode<N, E> member;
+          do {
+            member = stack.pop();
+            onStack.remove(member);
+            component.add(member);
+          } while (member != node);
+          Collections.reverse(component);
+          components.add(component);
+        }
+      }
+    }
+
+    private void enter(DiGraphNode<N, E> node) {
+      int index = indices.size();
+      indices.put(node, index);
+      lowLinks.put(node, index);
+      stack.push(node);
+      onStack.add(node);
+      frames.push(new Frame<>(node, getEdgesFrom(node).iterator()));
+    }
+  }
+
+  /** A node being searched by {@link ComponentFinder}, and its edges left to follow. */
+  private record Frame<N, E>(DiGraphNode<N, E> node, Iterator<? extends DiGraphEdge<N, E>> edges) {}
+
   private void visitNode(DiGraphNode<N, E> node, LinkedHashSet<DiGraphNode<N, E>> workSet) {
     // For every out edge in the workSet, traverse that edge. If that
     // edge updates the state of the graph, then add the destination
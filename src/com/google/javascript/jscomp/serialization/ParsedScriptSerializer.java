@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.javascript.jscomp.serialization.MalformedTypedAstException.checkWellFormed;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.AbstractCompiler;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.rhino.Node;
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Converts a single file right after parsing to and from a {@link ParsedScript}, so that its AST
+ * can be kept between compilations.
+ *
+ * <p>This uses the TypedAST encoding, so only the JSDoc that optimizations use is kept. Callers
+ * that need the exact AST of the parser have to check that the deserialized AST matches.
+ */
+public final class ParsedScriptSerializer {
+
+  private ParsedScriptSerializer() {}
+
+  /** Serializes a SCRIPT that has no types, together with the URL of its source map. */
+  public static ParsedScript serialize(
+      AbstractCompiler compiler, Node script, @Nullable String sourceMappingURL) {
+    checkArgument(script.isScript(), script);
+    TypedAst ast =
+        new TypedAstSerializer(compiler, SerializationOptions.builder().build())
+            .serializeUntypedScript(script);
+    ParsedScript.Builder builder = ParsedScript.newBuilder().setAst(ast);
+    forEachSerializedNode(script, n -> builder.addNodeLength(n.getLength()));
+    if (sourceMappingURL != null) {
+      builder.setSourceMappingUrl(sourceMappingURL);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Deserializes the SCRIPT of a {@link ParsedScript}. Its nodes get {@code sourceFile} as their
+   * source file.
+   *
+   * @throws MalformedTypedAstException if the SCRIPT doesn't belong to {@code sourceFile}
+   */
+  public static Node deserialize(ParsedScript parsed, SourceFile sourceFile) {
+    TypedAst ast = parsed.getAst();
+    checkWellFormed(ast.getCodeAstCount() == 1, "Expected a single script", ast.getCodeAstCount());
+    ImmutableList.Builder<SourceFile> filePool = ImmutableList.builder();
+    for (SourceFileProto file : ast.getSourceFilePool().getSourceFileList()) {
+      checkWellFormed(
+          file.getFilename().equals(sourceFile.getName()),
+          "Unexpected source file",
+          file.getFilename());
+      filePool.add(sourceFile);
+    }
+
+    Node script =
+        new ScriptNodeDeserializer(
+                ast.getCodeAst(0),
+                StringPool.fromProto(ast.getStringPool()),
+                Optional.absent(),
+                filePool.build())
+            .deserializeNew();
+
+    int[] index = {0};
+    forEachSerializedNode(
+        script,
+        n -> {
+          checkWellFormed(index[0] < parsed.getNodeLengthCount(), "Missing node length", n);
+          n.setLength(parsed.getNodeLength(index[0]++));
+        });
+    checkWellFormed(
+        index[0] == parsed.getNodeLengthCount(),
+        "Too many node lengths",
+        parsed.getNodeLengthCount());
+    return script;
+  }
+
+  /** Visits the nodes of a tree in the order in which {@link TypedAstSerializer} writes them. */
+  private static void forEachSerializedNode(Node n, Consumer<Node> fn) {
+    fn.accept(n);
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      forEachSerializedNode(child, fn);
+    }
+    Node shadowedCode = n.getClosureUnawareShadow();
+    if (shadowedCode != null) {
+      forEachSerializedNode(shadowedCode.getFirstFirstChild().getFirstChild(), fn);
+    }
+  }
+}
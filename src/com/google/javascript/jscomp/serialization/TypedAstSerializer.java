@@ -109,6 +109,29 @@ final class TypedAstSerializer {
         .build();
   }
 
+  /**
+   * Transforms a single SCRIPT without types, e.g. one that was just parsed, into a serialized
+   * TypedAst object. The source file pool only has the names of the files, and the source map of
+   * the script is not included.
+   */
+  TypedAst serializeUntypedScript(Node script) {
+    checkArgument(script.isScript());
+    this.typeSerializer = new NoOpTypeSerializer();
+
+    LazyAst lazyAst = serializeScriptNode(script).toBuilder().clearSourceMappingUrl().build();
+    SourceFilePool.Builder sourceFiles = SourceFilePool.newBuilder();
+    for (SourceFile sourceFile : this.sourceFilePointers.keySet()) {
+      sourceFiles.addSourceFile(SourceFileProto.newBuilder().setFilename(sourceFile.getName()));
+    }
+
+    return TypedAst.newBuilder()
+        .addCodeAst(lazyAst)
+        .setTypePool(typeSerializer.generateTypePool())
+        .setStringPool(this.stringPool.build().toProto())
+        .setSourceFilePool(sourceFiles)
+        .build();
+  }
+
   private LazyAst serializeScriptNode(Node script) {
     checkState(script.isScript());
     previousLine = previousColumn = 0;
@@ -48,6 +48,7 @@ import static com.google.javascript.jscomp.base.JSCompDoubles.isPositive;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ascii;
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -216,6 +217,77 @@ public class Node {
   // Avoid cloning "values" repeatedly in hot code, we save it off now.
   private static final Prop[] propValues = Prop.values();
 
+  /**
+   * Returns the names of the node properties, in declaration order. Caches that keep ASTs between
+   * compilations use them to tell apart compiler builds with different properties.
+   */
+  public static ImmutableList<String> getPropNames() {
+    ImmutableList.Builder<String> names = ImmutableList.builderWithExpectedSize(propValues.length);
+    for (Prop prop : propValues) {
+      names.add(prop.name());
+    }
+    return names.build();
+  }
+
+  /**
+   * Boolean props that are stored as bits of {@link #flagProps} rather than in the property list.
+   *
+   * <p>These are the boolean props set on the most nodes. Keeping them out of the list means that
+   * setting one doesn't allocate and reading one doesn't walk the list. At most 32 props fit.
+   * IS_IN_CLOSURE_UNAWARE_SUBTREE must stay in the list because it is shared together with the
+   * SOURCE_FILE prop at the list's tail.
+   */
+  private static final EnumSet<Prop> FLAG_PROPS =
+      EnumSet.of(
+          Prop.IS_PARENTHESIZED,
+          Prop.INCRDECR,
+          Prop.QUOTED,
+          Prop.SYNTHETIC,
+          Prop.ADDED_BLOCK,
+          Prop.IS_CONSTANT_NAME,
+          Prop.IS_NAMESPACE,
+          Prop.USE_STRICT,
+          Prop.DIRECT_EVAL,
+          Prop.FREE_CALL,
+          Prop.STATIC_MEMBER,
+          Prop.GENERATOR_FN,
+          Prop.ARROW_FN,
+          Prop.ASYNC_FN,
+          Prop.YIELD_ALL,
+          Prop.EXPORT_DEFAULT,
+          Prop.EXPORT_ALL_FROM,
+          Prop.IS_GENERATOR_MARKER,
+          Prop.IS_GENERATOR_SAFE,
+          Prop.COMPUTED_PROP_METHOD,
+          Prop.COMPUTED_PROP_GETTER,
+          Prop.COMPUTED_PROP_SETTER,
+          Prop.COMPUTED_PROP_VARIABLE,
+          Prop.COLOR_FROM_CAST,
+          Prop.OPT_ES6_TYPED,
+          Prop.DELETED,
+          Prop.IS_UNUSED_PARAMETER,
+          Prop.MODULE_EXPORT,
+          Prop.IS_SHORTHAND_PROPERTY,
+          Prop.START_OF_OPT_CHAIN,
+          Prop.TRAILING_COMMA,
+          Prop.PRIVATE_IDENTIFIER);
+
+  /** The bit in {@link #flagProps} for each prop, indexed by ordinal, or 0 if it has none. */
+  private static final int[] flagPropBits = new int[propValues.length];
+
+  /** The props stored in {@link #flagProps}, indexed by bit position. */
+  private static final Prop[] flagPropsByBit = new Prop[Integer.SIZE];
+
+  static {
+    checkState(FLAG_PROPS.size() <= Integer.SIZE, FLAG_PROPS);
+    int bitIndex = 0;
+    for (Prop prop : FLAG_PROPS) {
+      flagPropBits[prop.ordinal()] = 1 << bitIndex;
+      flagPropsByBit[bitIndex] = prop;
+      bitIndex++;
+    }
+  }
+
   /**
    * Get the NonJSDoc comment string attached to this node.
    *
@@ -1010,8 +1082,10 @@ public class Node {
    */
   @CanIgnoreReturnValue
   public final Node clonePropsFrom(Node other) {
-    checkState(this.propListHead == null, "Node has existing properties.");
+    checkState(
+        this.propListHead == null && this.flagProps == 0, "Node has existing properties.");
     this.propListHead = other.propListHead;
+    this.flagProps = other.flagProps;
     return this;
   }
 
@@ -1024,7 +1098,7 @@ public class Node {
    */
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public void validateProperties(Consumer<String> violationMessageConsumer) {
-    if (propListHead == null) {
+    if (propListHead == null && flagProps == 0) {
       // TODO(bradfordcsmith): Fix the bugs that prevent enabling this validation.
       //
       // In particular:
@@ -1055,74 +1129,81 @@ public class Node {
       final Prop prop = propValues[propListItem.propType];
       // Catch it if the definition of Prop ever changes so that the ordinals don't line up.
       checkState(prop.ordinal() == propListItem.propType, "ordinal doesn't match: %s", prop);
+      validateProperty(prop, violationMessageConsumer);
+    }
+    for (int bits = flagProps; bits != 0; bits &= bits - 1) {
+      validateProperty(
+          flagPropsByBit[Integer.numberOfTrailingZeros(bits)], violationMessageConsumer);
+    }
+  }
 
-      // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
-      // Other validations should be added as it is found useful to have them.
-      // Some property validation is done independently in `AstValidator` and could possibly be
-      // moved here.
-      //
-      // This method was added in response to a bug that created an invalid IS_PARENTHESIZED
-      // property that was discovered by a check in `deserializeProperties()`, so initially
-      // this method was created to cover the checks previously done there.
-      switch (prop) {
-        case IS_PARENTHESIZED -> {
-          if (!IR.mayBeExpression(this)) {
-            violationMessageConsumer.accept("non-expression is parenthesized");
-          }
-        }
-        case ARROW_FN -> {
-          if (!isFunction()) {
-            violationMessageConsumer.accept("invalid ARROW_FN prop");
-          }
+  private void validateProperty(Prop prop, Consumer<String> violationMessageConsumer) {
+    // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
+    // Other validations should be added as it is found useful to have them.
+    // Some property validation is done independently in `AstValidator` and could possibly be
+    // moved here.
+    //
+    // This method was added in response to a bug that created an invalid IS_PARENTHESIZED
+    // property that was discovered by a check in `deserializeProperties()`, so initially
+    // this method was created to cover the checks previously done there.
+    switch (prop) {
+      case IS_PARENTHESIZED -> {
+        if (!IR.mayBeExpression(this)) {
+          violationMessageConsumer.accept("non-expression is parenthesized");
         }
-        case ASYNC_FN -> {
-          if (!isFunction()) {
-            violationMessageConsumer.accept("invalid ASYNC_FN prop");
-          }
+      }
+      case ARROW_FN -> {
+        if (!isFunction()) {
+          violationMessageConsumer.accept("invalid ARROW_FN prop");
         }
-        case SYNTHETIC -> {
-          if (!isBlock()) {
-            violationMessageConsumer.accept("invalid SYNTHETIC prop");
-          }
+      }
+      case ASYNC_FN -> {
+        if (!isFunction()) {
+          violationMessageConsumer.accept("invalid ASYNC_FN prop");
         }
-        case COLOR_FROM_CAST -> {
-          if (getColor() == null) {
-            violationMessageConsumer.accept("COLOR_FROM_CAST with no Color");
-          }
+      }
+      case SYNTHETIC -> {
+        if (!isBlock()) {
+          violationMessageConsumer.accept("invalid SYNTHETIC prop");
         }
-        case START_OF_OPT_CHAIN -> {
-          if (!(isOptChainCall() || isOptChainGetElem() || isOptChainGetProp())) {
-            violationMessageConsumer.accept("START_OF_OPT_CHAIN on non-optional Node");
-          }
+      }
+      case COLOR_FROM_CAST -> {
+        if (getColor() == null) {
+          violationMessageConsumer.accept("COLOR_FROM_CAST with no Color");
         }
-        case CONSTANT_VAR_FLAGS -> {
-          if (!(isName() || isImportStar())) {
-            violationMessageConsumer.accept("invalid CONST_VAR_FLAGS");
-          }
+      }
+      case START_OF_OPT_CHAIN -> {
+        if (!(isOptChainCall() || isOptChainGetElem() || isOptChainGetProp())) {
+          violationMessageConsumer.accept("START_OF_OPT_CHAIN on non-optional Node");
         }
-        case SYNTHESIZED_UNFULFILLED_NAME_DECLARATION -> {
-          // note: we could relax this restriction if VarCheck needed to generate other forms of
-          // synthetic externs
-          if (!isVar()) {
-            // TODO: this check used to also try and validate that the synthetic externs VAR's had
-            // names, but this doesn't work during deserialization because the name is a child node
-            // that we haven't even seen yet when we are validating properties.
-            // || !hasOneChild() || !getFirstChild().isName()) {
-            violationMessageConsumer.accept(
-                "Expected all synthetic unfulfilled declarations to be `var <name>`");
-          }
+      }
+      case CONSTANT_VAR_FLAGS -> {
+        if (!(isName() || isImportStar())) {
+          violationMessageConsumer.accept("invalid CONST_VAR_FLAGS");
         }
-        case CLOSURE_UNAWARE_SHADOW -> {
-          PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
-          if (!(shadowProp instanceof Node.ObjectPropListItem)
-              || !(shadowProp.getObjectValue() instanceof Node)) {
-            violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
-          }
+      }
+      case SYNTHESIZED_UNFULFILLED_NAME_DECLARATION -> {
+        // note: we could relax this restriction if VarCheck needed to generate other forms of
+        // synthetic externs
+        if (!isVar()) {
+          // TODO: this check used to also try and validate that the synthetic externs VAR's had
+          // names, but this doesn't work during deserialization because the name is a child node
+          // that we haven't even seen yet when we are validating properties.
+          // || !hasOneChild() || !getFirstChild().isName()) {
+          violationMessageConsumer.accept(
+              "Expected all synthetic unfulfilled declarations to be `var <name>`");
         }
-        default -> {
-          // No validation is currently done for other properties
+      }
+      case CLOSURE_UNAWARE_SHADOW -> {
+        PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
+        if (!(shadowProp instanceof Node.ObjectPropListItem)
+            || !(shadowProp.getObjectValue() instanceof Node)) {
+          violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
         }
       }
+      default -> {
+        // No validation is currently done for other properties
+      }
     }
   }
 
@@ -1157,7 +1238,12 @@ public class Node {
   }
 
   /** Returns the integer value for the property, or 0 if the property is not defined. */
+  @SuppressWarnings("EnumOrdinal") // performance tuning
   private int getIntProp(Prop propType) {
+    int flagBit = flagPropBits[propType.ordinal()];
+    if (flagBit != 0) {
+      return (flagProps & flagBit) != 0 ? 1 : 0;
+    }
     PropListItem item = lookupProperty(propType);
     if (item == null) {
       return 0;
@@ -1167,6 +1253,7 @@ public class Node {
 
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putProp(Prop prop, @Nullable Object value) {
+    checkArgument(!isFlagProp(prop), "Boolean prop %s can't hold an object value", prop);
     this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
     if (value != null) {
       this.propListHead = new ObjectPropListItem((byte) prop.ordinal(), value, this.propListHead);
@@ -1179,12 +1266,23 @@ public class Node {
 
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putIntProp(Prop prop, int value) {
+    int flagBit = flagPropBits[prop.ordinal()];
+    if (flagBit != 0) {
+      checkArgument(value == 0 || value == 1, "Boolean prop %s can't hold %s", prop, value);
+      this.flagProps = value != 0 ? this.flagProps | flagBit : this.flagProps & ~flagBit;
+      return;
+    }
     this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
     if (value != 0) {
       this.propListHead = new IntPropListItem((byte) prop.ordinal(), value, this.propListHead);
     }
   }
 
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private static boolean isFlagProp(Prop prop) {
+    return flagPropBits[prop.ordinal()] != 0;
+  }
+
   static long nodePropertyToBit(NodeProperty prop) {
     return 1L << prop.getNumber();
   }
@@ -1236,17 +1334,24 @@ public class Node {
             propSet = setNodePropertyBit(propSet, NodeProperty.CLOSURE_UNAWARE_SHADOW);
         default -> {
           if (propListItem instanceof Node.IntPropListItem) {
-            NodeProperty nodeProperty = PropTranslator.serialize(prop);
-            if (nodeProperty != null) {
-              propSet = setNodePropertyBit(propSet, nodeProperty);
-            }
+            propSet = setNodePropertyBitForBooleanProp(propSet, prop);
           }
         }
       }
     }
+    for (int bits = this.flagProps; bits != 0; bits &= bits - 1) {
+      propSet =
+          setNodePropertyBitForBooleanProp(
+              propSet, flagPropsByBit[Integer.numberOfTrailingZeros(bits)]);
+    }
     return propSet;
   }
 
+  private static long setNodePropertyBitForBooleanProp(long propSet, Prop prop) {
+    NodeProperty nodeProperty = PropTranslator.serialize(prop);
+    return nodeProperty != null ? setNodePropertyBit(propSet, nodeProperty) : propSet;
+  }
+
   /**
    * Update a bit field to be used for serialized node properties to include bits from the
    * `SIDE_EFFECT_FLAGS` Node property.
@@ -1279,6 +1384,9 @@ public class Node {
       propListStrRepr.add(Prop.values()[propListItem.propType].name());
       propListItem = propListItem.next;
     }
+    for (int bits = this.flagProps; bits != 0; bits &= bits - 1) {
+      propListStrRepr.add(flagPropsByBit[Integer.numberOfTrailingZeros(bits)].name());
+    }
     Joiner joiner = Joiner.on("->");
     return joiner.join(propListStrRepr);
   }
@@ -1286,7 +1394,7 @@ public class Node {
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void deserializeProperties(long propSet, boolean isInClosureUnawareSubtree) {
     if (this.isRoot()) {
-      checkState(this.propListHead == null, this.propListHead);
+      checkState(this.propListHead == null && this.flagProps == 0, this.propListHead);
     } else {
       checkState(
           this.validatePropListTailOrdering(isInClosureUnawareSubtree),
@@ -1322,7 +1430,12 @@ public class Node {
           if (prop == null) {
             throw new IllegalStateException("Can not translate " + nodeProperty + " to AST Prop");
           }
-          this.propListHead = new IntPropListItem((byte) prop.ordinal(), 1, this.propListHead);
+          int flagBit = flagPropBits[prop.ordinal()];
+          if (flagBit != 0) {
+            this.flagProps |= flagBit;
+          } else {
+            this.propListHead = new IntPropListItem((byte) prop.ordinal(), 1, this.propListHead);
+          }
         }
       }
     }
@@ -1391,8 +1504,9 @@ public class Node {
   }
 
   // Gets all the property types, in sorted order.
+  @SuppressWarnings("EnumOrdinal") // performance tuning
   private byte[] getSortedPropTypes() {
-    int count = 0;
+    int count = Integer.bitCount(flagProps);
     for (PropListItem x = propListHead; x != null; x = x.next) {
       count++;
     }
@@ -1402,6 +1516,10 @@ public class Node {
       count--;
       keys[count] = x.propType;
     }
+    for (int bits = flagProps; bits != 0; bits &= bits - 1) {
+      count--;
+      keys[count] = (byte) flagPropsByBit[Integer.numberOfTrailingZeros(bits)].ordinal();
+    }
 
     Arrays.sort(keys);
     return keys;
@@ -1506,7 +1624,7 @@ public class Node {
           sb.append(" [is_shadow_host]");
           continue;
         }
-        PropListItem x = lookupProperty(type);
+        Object x = isFlagProp(type) ? getIntProp(type) : lookupProperty(type);
         sb.append(" [");
         sb.append(Ascii.toLowerCase(String.valueOf(type)));
         sb.append(": ");
@@ -1582,7 +1700,7 @@ public class Node {
       sb.append("\"props\":{");
       for (int i = 0; i < keys.length; i++) {
         Prop type = propValues[keys[i]];
-        PropListItem x = lookupProperty(type);
+        Object x = isFlagProp(type) ? getIntProp(type) : lookupProperty(type);
         sb.append(
             createJsonPair(
                 Ascii.toLowerCase(String.valueOf(type)),
@@ -1687,6 +1805,9 @@ public class Node {
    */
   private transient @Nullable PropListItem propListHead;
 
+  /** Bits for the set {@link #FLAG_PROPS}. These props are never in the property list. */
+  private transient int flagProps;
+
   // ==========================================================================
   // Source position management
 
@@ -2308,6 +2429,9 @@ public class Node {
       Prop prop = propValues[propListItem.propType];
       propSet.add(prop);
     }
+    for (int bits = this.flagProps | node.flagProps; bits != 0; bits &= bits - 1) {
+      propSet.add(flagPropsByBit[Integer.numberOfTrailingZeros(bits)]);
+    }
 
     for (Prop prop : propSet) {
       if (propMapForEqualityKeys.contains(prop)) {
@@ -2631,6 +2755,7 @@ public class Node {
     dest.jstypeOrColor = source.jstypeOrColor;
     dest.originalName = source.originalName;
     dest.propListHead = source.propListHead;
+    dest.flagProps = source.flagProps;
 
     // TODO(johnlenz): Remove this once JSTypeExpression are immutable
     if (cloneTypeExprs) {
@@ -101,6 +101,10 @@ final class EqualityChecker {
   private EqMethod eqMethod;
 
   private LinkedHashMap<CacheKey, MatchStatus> eqCache;
+
+  /** Where to record the properties read, if the result is cached across checks. */
+  private TypeRelationCache.@Nullable Dependencies cacheDependencies;
+
   private int recursionDepth = 0;
   private boolean hasRun = false;
 
@@ -120,7 +124,19 @@ final class EqualityChecker {
   boolean check(JSType left, JSType right) {
     this.checkHasNotRun();
     this.hasRun = true;
-    return this.areEqualCaching(left, right);
+    if (left == null || right == null || identical(left, right)) {
+      return this.areEqualCaching(left, right);
+    }
+    return left.registry
+        .getTypeRelationCache()
+        .check(
+            TypeRelationCache.Relation.equality(this.eqMethod),
+            left,
+            right,
+            (dependencies) -> {
+              this.cacheDependencies = dependencies;
+              return this.areEqualCaching(left, right);
+            });
   }
 
   /** Return whether the parameters (ignoring any other aspects) of the two types are equal. */
@@ -131,6 +147,11 @@ final class EqualityChecker {
   }
 
   private boolean areEqualCaching(JSType left, JSType right) {
+    if (identical(left, right)) {
+      // Common for interned types; skip the cache.
+      return true;
+    }
+
     // Wait to instantiate/use the cache until we have some hint that there may be recursion.
     if (this.recursionDepth > POTENTIALLY_CYCLIC_RECURSION_DEPTH) {
       if (this.eqCache == null) {
@@ -383,6 +404,10 @@ final class EqualityChecker {
      * <p>Additionally, code that makes heavy use of inline record types compiles very slowly if the
      * set of inherited properties is recomputed during every equality check.
      */
+    if (this.cacheDependencies != null) {
+      this.cacheDependencies.readOwnPropertiesOf(left);
+      this.cacheDependencies.readOwnPropertiesOf(right);
+    }
     Set<String> leftKeys = left.getOwnPropertyNames();
     Set<String> rightKeys = right.getOwnPropertyNames();
     if (!rightKeys.equals(leftKeys)) {
@@ -114,7 +114,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
    *
    * <p>If non-null, the type must be a PrototypeObjectType.
    */
-  private Property prototypeSlot;
+  private volatile Property prototypeSlot;
 
   /** Whether a function is a constructor, an interface, or just an ordinary function. */
   private final Kind kind;
@@ -445,25 +445,34 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
   public final ObjectType getPrototype() {
     // lazy initialization of the prototype field
     if (prototypeSlot == null) {
-      String refName = getReferenceName();
-      if (refName == null) {
-        // Someone is trying to access the prototype of a structural function.
-        // We don't want to give real properties to this prototype, because
-        // then it would propagate to all structural functions.
-        setPrototypeNoCheck(registry.getNativeObjectType(JSTypeNative.UNKNOWN_TYPE), null);
-      } else {
-        setPrototype(
-            PrototypeObjectType.builder(registry)
-                .setName(getReferenceName() + ".prototype")
-                .setImplicitPrototype(registry.getNativeObjectType(OBJECT_TYPE))
-                .setNative(isNativeObjectType())
-                .build(),
-            null);
+      // Other threads may be reading this type, see JSTypeRegistry#freeze.
+      synchronized (this) {
+        if (prototypeSlot == null) {
+          createPrototype();
+        }
       }
     }
     return (ObjectType) prototypeSlot.getType();
   }
 
+  private void createPrototype() {
+    String refName = getReferenceName();
+    if (refName == null) {
+      // Someone is trying to access the prototype of a structural function.
+      // We don't want to give real properties to this prototype, because
+      // then it would propagate to all structural functions.
+      setPrototypeNoCheck(registry.getNativeObjectType(JSTypeNative.UNKNOWN_TYPE), null);
+    } else {
+      setPrototype(
+          PrototypeObjectType.builder(registry)
+              .setName(getReferenceName() + ".prototype")
+              .setImplicitPrototype(registry.getNativeObjectType(OBJECT_TYPE))
+              .setNative(isNativeObjectType())
+              .build(),
+          null);
+    }
+  }
+
   /**
    * Sets the prototype, creating the prototype object from the given base type.
    *
@@ -534,9 +543,10 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     ObjectType oldPrototype = prototypeSlot == null ? null : (ObjectType) prototypeSlot.getType();
     boolean replacedPrototype = oldPrototype != null;
 
+    // Set the owner first, other threads may see the new prototype as soon as the slot is set.
+    prototype.setOwnerFunction(this);
     this.prototypeSlot =
         new Property("prototype", prototype, true, propertyNode == null ? source : propertyNode);
-    prototype.setOwnerFunction(this);
 
     if (oldPrototype != null) {
       // Disassociating the old prototype makes this easier to debug--
@@ -547,6 +557,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     if (replacedPrototype) {
       clearCachedValues();
     }
+    registry.getTypeRelationCache().invalidate();
 
     return true;
   }
@@ -621,6 +632,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     for (ObjectType type : implementedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(type);
     }
+    registry.getTypeRelationCache().typeChanged(this);
   }
 
   /** Returns interfaces directly extended by an interface */
@@ -640,6 +652,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     for (ObjectType extendedInterface : extendedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(extendedInterface);
     }
+    registry.getTypeRelationCache().typeChanged(this);
   }
 
   @Override
@@ -648,34 +661,42 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
       // Define the "call", "apply", and "bind" functions lazily.
       boolean isCall = name.matches("call");
       boolean isBind = name.matches("bind");
-      if (isCall || isBind) {
-        defineDeclaredProperty(name, getCallOrBindSignature(isCall), source);
-      } else if (name.matches("apply")) {
-        // Define the "apply" function lazily.
-        FunctionParamBuilder builder = new FunctionParamBuilder(registry);
-
-        // ECMA-262 says that apply's second argument must be an Array
-        // or an arguments object. We don't model the arguments object,
-        // so let's just be forgiving for now.
-        // TODO(nicksantos): Model the Arguments object.
-        builder.addOptionalParams(
-            registry.createNullableType(getTypeOfThis()),
-            registry.createNullableType(registry.getNativeType(JSTypeNative.OBJECT_TYPE)));
-
+      boolean isApply = name.matches("apply");
+      if (isCall || isBind || isApply) {
+        String propertyName = isCall ? "call" : (isBind ? "bind" : "apply");
+        if (registry.isFrozen()) {
+          // Other threads may be reading the properties of this type, so don't define one.
+          return registry.getLazyFunctionProperty(
+              this,
+              propertyName,
+              () -> isApply ? getApplySignature() : getCallOrBindSignature(isCall));
+        }
         defineDeclaredProperty(
-            name,
-            builder(registry)
-                .withParameters(builder.build())
-                .withReturnType(getReturnType())
-                .withTemplateKeys(getTemplateTypeMap().getTemplateKeys())
-                .build(),
-            source);
+            name, isApply ? getApplySignature() : getCallOrBindSignature(isCall), source);
       }
     }
 
     return super.getPropertyType(name);
   }
 
+  private FunctionType getApplySignature() {
+    FunctionParamBuilder builder = new FunctionParamBuilder(registry);
+
+    // ECMA-262 says that apply's second argument must be an Array
+    // or an arguments object. We don't model the arguments object,
+    // so let's just be forgiving for now.
+    // TODO(nicksantos): Model the Arguments object.
+    builder.addOptionalParams(
+        registry.createNullableType(getTypeOfThis()),
+        registry.createNullableType(registry.getNativeType(JSTypeNative.OBJECT_TYPE)));
+
+    return builder(registry)
+        .withParameters(builder.build())
+        .withReturnType(getReturnType())
+        .withTemplateKeys(getTemplateTypeMap().getTemplateKeys())
+        .build();
+  }
+
   /**
    * Get the return value of calling "bind" on this function with the specified number of arguments.
    *
@@ -1167,6 +1188,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
   public final void setImplicitMatch(boolean flag) {
     checkState(isInterface());
     isStructuralInterface = flag;
+    registry.getTypeRelationCache().typeChanged(this);
   }
 
   @Override
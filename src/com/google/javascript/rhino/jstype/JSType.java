@@ -53,6 +53,7 @@ import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Outcome;
 import com.google.javascript.rhino.jstype.EqualityChecker.EqMethod;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -552,14 +553,28 @@ public abstract class JSType {
       return templateCheckResult;
     }
 
-    if (this.inTemplatedCheckVisit) {
-      // prevent infinite recursion, this is "not yet".
-      return false;
-    }
+    boolean result;
+    if (registry.isFrozen()) {
+      // Other threads may be checking this type too, so track the visit per thread.
+      Set<JSType> inProgress = registry.getTemplateChecksInProgress();
+      if (!inProgress.add(this)) {
+        return false;
+      }
+      try {
+        result = hasAnyTemplateTypesInternal();
+      } finally {
+        inProgress.remove(this);
+      }
+    } else {
+      if (this.inTemplatedCheckVisit) {
+        // prevent infinite recursion, this is "not yet".
+        return false;
+      }
 
-    this.inTemplatedCheckVisit = true;
-    boolean result = hasAnyTemplateTypesInternal();
-    this.inTemplatedCheckVisit = false;
+      this.inTemplatedCheckVisit = true;
+      result = hasAnyTemplateTypesInternal();
+      this.inTemplatedCheckVisit = false;
+    }
 
     // Cache the result if the type has been resolved.
     if (this.isResolved()) {
@@ -761,11 +776,24 @@ public abstract class JSType {
   /**
    * Calculates a hash of the object as per {@link Object#hashCode()}.
    *
-   * <p>This method is <em>unsafe</em> for multi-threaded use. The implementation mutates instance
-   * state to prevent recursion and therefore expects sole access.
+   * <p>This method is <em>unsafe</em> for multi-threaded use, unless the registry is {@link
+   * JSTypeRegistry#freeze frozen}. The implementation mutates instance state to prevent recursion
+   * and therefore expects sole access.
    */
   @Override
   public final int hashCode() {
+    if (registry.isFrozen()) {
+      Set<JSType> inProgress = registry.getHashCodesInProgress();
+      if (!inProgress.add(this)) {
+        return -1; // Recursive base-case.
+      }
+      try {
+        return recursionUnsafeHashCode();
+      } finally {
+        inProgress.remove(this);
+      }
+    }
+
     if (hashCodeInProgress) {
       return -1; // Recursive base-case.
     }
@@ -54,15 +54,22 @@ import static com.google.javascript.rhino.jstype.JSTypeNative.VOID_TYPE;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.Sets;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Table;
+import com.google.errorprone.annotations.MustBeClosed;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.HamtPMap;
 import com.google.javascript.rhino.JSDocInfo;
@@ -82,12 +89,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 
 /**
  * The type registry is used to resolve named types.
  *
- * <p>This class is not thread-safe.
+ * <p>This class is not thread-safe, except while it is {@link #freeze frozen}.
  */
 public final class JSTypeRegistry {
   private static final Splitter DOT_SPLITTER = Splitter.on('.');
@@ -241,6 +251,45 @@ public final class JSTypeRegistry {
   private final transient SetMultimap<String, JSType> nonRefTypesIndexedByProperty =
       MultimapBuilder.hashKeys().linkedHashSetValues().build();
 
+  /**
+   * The canonical instances of the structural types created by the registry, so that structurally
+   * identical types are the same instance. This saves the memory of the duplicates, and lets the
+   * equality and subtype checks stop at the identity check.
+   *
+   * <p>Only types whose parts are all resolved are interned, since a type with unresolved parts
+   * may change when it is resolved. The values are weak, so that unused types can be collected.
+   */
+  private final ConcurrentMap<InternKey, JSType> internedTypes =
+      new MapMaker().weakValues().makeMap();
+
+  /** The results of subtype and equality checks between the types of this registry. */
+  private final TypeRelationCache typeRelationCache = new TypeRelationCache(this);
+
+  /** Immutable copies of the tables of type names, while the registry is {@link #freeze frozen}. */
+  private volatile @Nullable FrozenNames frozenNames = null;
+
+  /** The types whose hash code is being computed on each thread, see {@link JSType#hashCode}. */
+  private final ThreadLocal<Set<JSType>> hashCodesInProgress =
+      ThreadLocal.withInitial(Sets::newIdentityHashSet);
+
+  /** The types being checked for template types on each thread. */
+  private final ThreadLocal<Set<JSType>> templateChecksInProgress =
+      ThreadLocal.withInitial(Sets::newIdentityHashSet);
+
+  /** The types being checked for unknown supertypes on each thread. */
+  private final ThreadLocal<Set<JSType>> unknownChecksInProgress =
+      ThreadLocal.withInitial(Sets::newIdentityHashSet);
+
+  /**
+   * The "call", "apply" and "bind" properties of function types, which are normally defined on the
+   * function types lazily, requested while the registry is frozen.
+   */
+  private final ConcurrentMap<LazyPropertyKey, JSType> lazyFunctionProperties =
+      new ConcurrentHashMap<>();
+
+  /** Guards the indexes of properties by name, which are updated while types are used. */
+  private final Object propertyIndexLock = new Object();
+
   private JSType sentinelObjectLiteral;
 
   // To avoid blowing up the size of nonRefTypesIndexedByProperty, we use the sentinel object
@@ -1148,7 +1197,7 @@ public final class JSTypeRegistry {
     String prefix = reference;
     ImmutableList.Builder<String> unusedComponents = ImmutableList.builder();
     while (true) {
-      ClosureNamespace namespace = this.closureNamespaces.get(prefix);
+      ClosureNamespace namespace = getClosureNamespaces().get(prefix);
       if (namespace != null) {
         if (namespace.isLegacy()) {
           // Try to resolve this name via registry or properties.
@@ -1251,7 +1300,7 @@ public final class JSTypeRegistry {
 
   private JSType getTypeForScopeInternal(StaticScope scope, String name) {
     Node rootNode = getRootNodeForScope(scope);
-    JSType type = scopedNameTable.get(rootNode, name);
+    JSType type = getScopedNameTable().get(rootNode, name);
     return type;
   }
 
@@ -1269,6 +1318,7 @@ public final class JSTypeRegistry {
   }
 
   private void registerForScope(StaticScope scope, JSType type, String name) {
+    checkNotFrozen();
     scopedNameTable.put(getRootNodeForScope(scope), name, type);
   }
 
@@ -1285,15 +1335,18 @@ public final class JSTypeRegistry {
   }
 
   void registerDroppedPropertiesInUnion(RecordType subtype, RecordType supertype) {
-    boolean foundDroppedProperty = false;
+    List<String> droppedProperties = new ArrayList<>();
     for (String pname : subtype.getPropertyMap().getOwnPropertyNames()) {
       if (!supertype.hasProperty(pname)) {
-        foundDroppedProperty = true;
-        this.droppedPropertiesOfUnions.add(pname);
+        droppedProperties.add(pname);
       }
     }
-    if (foundDroppedProperty) {
-      this.propertiesOfSupertypesInUnions.addAll(supertype.getPropertyMap().getOwnPropertyNames());
+    if (!droppedProperties.isEmpty()) {
+      synchronized (propertyIndexLock) {
+        this.droppedPropertiesOfUnions.addAll(droppedProperties);
+        this.propertiesOfSupertypesInUnions.addAll(
+            supertype.getPropertyMap().getOwnPropertyNames());
+      }
     }
   }
 
@@ -1321,14 +1374,16 @@ public final class JSTypeRegistry {
       return;
     }
 
-    if (isObjectLiteralThatCanBeSkipped(type)) {
-      type = getSentinelObjectLiteral();
-    }
+    synchronized (propertyIndexLock) {
+      if (isObjectLiteralThatCanBeSkipped(type)) {
+        type = getSentinelObjectLiteral();
+      }
 
-    if (type instanceof ObjectType objType && objType.hasReferenceName()) {
-      eachRefTypeIndexedByProperty.put(propertyName, objType);
-    } else {
-      nonRefTypesIndexedByProperty.put(propertyName, type);
+      if (type instanceof ObjectType objType && objType.hasReferenceName()) {
+        eachRefTypeIndexedByProperty.put(propertyName, objType);
+      } else {
+        nonRefTypesIndexedByProperty.put(propertyName, type);
+      }
     }
   }
 
@@ -1367,14 +1422,10 @@ public final class JSTypeRegistry {
         }
       }
 
-      Iterable<JSType> associatedTypes = ImmutableList.of();
-      if (nonRefTypesIndexedByProperty.containsKey(propertyName)) {
-        associatedTypes = nonRefTypesIndexedByProperty.get(propertyName);
-      }
-      if (eachRefTypeIndexedByProperty.containsKey(propertyName)) {
-        associatedTypes =
-            Iterables.concat(associatedTypes, eachRefTypeIndexedByProperty.get(propertyName));
-      }
+      Iterable<JSType> associatedTypes =
+          Iterables.concat(
+              typesWithProperty(nonRefTypesIndexedByProperty, propertyName),
+              typesWithProperty(eachRefTypeIndexedByProperty, propertyName));
 
       for (JSType alternative : associatedTypes) {
         JSType greatestSubtype = alternative.getGreatestSubtype(type);
@@ -1392,16 +1443,18 @@ public final class JSTypeRegistry {
 
       if (type.toMaybeRecordType() != null) {
         RecordType rec = type.toMaybeRecordType();
-        boolean mayBeInUnion = false;
-        for (String pname : rec.getPropertyMap().getOwnPropertyNames()) {
-          if (this.propertiesOfSupertypesInUnions.contains(pname)) {
-            mayBeInUnion = true;
-            break;
+        synchronized (propertyIndexLock) {
+          boolean mayBeInUnion = false;
+          for (String pname : rec.getPropertyMap().getOwnPropertyNames()) {
+            if (this.propertiesOfSupertypesInUnions.contains(pname)) {
+              mayBeInUnion = true;
+              break;
+            }
           }
-        }
 
-        if (mayBeInUnion && this.droppedPropertiesOfUnions.contains(propertyName)) {
-          return PropDefinitionKind.LOOSE;
+          if (mayBeInUnion && this.droppedPropertiesOfUnions.contains(propertyName)) {
+            return PropDefinitionKind.LOOSE;
+          }
         }
       }
     }
@@ -1417,10 +1470,22 @@ public final class JSTypeRegistry {
    * [Object]}.
    */
   public Iterable<ObjectType> getEachReferenceTypeWithProperty(String propertyName) {
-    if (eachRefTypeIndexedByProperty.containsKey(propertyName)) {
-      return eachRefTypeIndexedByProperty.get(propertyName);
-    } else {
-      return ImmutableList.of();
+    return typesWithProperty(eachRefTypeIndexedByProperty, propertyName);
+  }
+
+  /**
+   * Returns the types in {@code index} that have the given property. While the registry is frozen,
+   * other threads may register properties, so a copy is returned.
+   */
+  private <T extends JSType> Iterable<T> typesWithProperty(
+      SetMultimap<String, T> index, String propertyName) {
+    synchronized (propertyIndexLock) {
+      if (!index.containsKey(propertyName)) {
+        return ImmutableList.of();
+      }
+      return isFrozen()
+          ? ImmutableList.copyOf(index.get(propertyName))
+          : index.get(propertyName);
     }
   }
 
@@ -1497,7 +1562,8 @@ public final class JSTypeRegistry {
 
   /** Whether this is a forward-declared type name. */
   public boolean isForwardDeclaredType(String name) {
-    return forwardDeclaredTypes.contains(name);
+    FrozenNames frozen = this.frozenNames;
+    return (frozen != null ? frozen.forwardDeclaredTypes() : forwardDeclaredTypes).contains(name);
   }
 
   /**
@@ -1721,6 +1787,140 @@ public final class JSTypeRegistry {
     return this.resolver;
   }
 
+  TypeRelationCache getTypeRelationCache() {
+    return this.typeRelationCache;
+  }
+
+  /** The tables of type names, copied when the registry is frozen. */
+  private record FrozenNames(
+      ImmutableTable<Node, String, JSType> scopedNameTable,
+      ImmutableMap<String, ClosureNamespace> closureNamespaces,
+      ImmutableSetMultimap<Node, String> nonNullableTypeNames,
+      ImmutableSet<String> forwardDeclaredTypes) {}
+
+  /**
+   * A signal that the registry is no longer frozen, see {@link #freeze}.
+   *
+   * <p>This is intended to be used in a try-with-resources statement.
+   */
+  public final class Frozen implements AutoCloseable {
+    private boolean hasRun = false;
+
+    @Override
+    public void close() {
+      checkState(!this.hasRun);
+      this.hasRun = true;
+      JSTypeRegistry.this.frozenNames = null;
+      lazyFunctionProperties.clear();
+    }
+  }
+
+  /**
+   * Freezes this registry until the returned object is closed, so that its types can be read, and
+   * new types created, on multiple threads at once.
+   *
+   * <p>Type names are then looked up in immutable copies of the tables of names, and declaring or
+   * registering a type name fails. All types must be resolved. While frozen, the types don't use
+   * the per-type state they normally use to detect cycles, and the "call", "apply" and "bind"
+   * properties of function types are not defined on the types. Callers remain responsible for not
+   * changing a type that is used by another thread, e.g. by defining properties on it. Intended
+   * for checks and inference that process independent parts of the program in parallel, once all
+   * types are declared.
+   */
+  @MustBeClosed
+  public Frozen freeze() {
+    checkState(this.frozenNames == null, "Already frozen");
+    checkState(this.resolver.isClosed(), "Types must be resolved before they are shared");
+    this.frozenNames =
+        new FrozenNames(
+            ImmutableTable.copyOf(this.scopedNameTable),
+            ImmutableMap.copyOf(this.closureNamespaces),
+            ImmutableSetMultimap.copyOf(this.nonNullableTypeNames),
+            this.forwardDeclaredTypes == null
+                ? ImmutableSet.of()
+                : ImmutableSet.copyOf(this.forwardDeclaredTypes));
+    return new Frozen();
+  }
+
+  /** Whether the registry is {@link #freeze frozen}. */
+  public boolean isFrozen() {
+    return this.frozenNames != null;
+  }
+
+  private void checkNotFrozen() {
+    checkState(this.frozenNames == null, "Cannot register type names while frozen");
+  }
+
+  private Table<Node, String, JSType> getScopedNameTable() {
+    FrozenNames frozen = this.frozenNames;
+    return frozen != null ? frozen.scopedNameTable() : this.scopedNameTable;
+  }
+
+  private Map<String, ClosureNamespace> getClosureNamespaces() {
+    FrozenNames frozen = this.frozenNames;
+    return frozen != null ? frozen.closureNamespaces() : this.closureNamespaces;
+  }
+
+  Set<JSType> getHashCodesInProgress() {
+    return this.hashCodesInProgress.get();
+  }
+
+  Set<JSType> getTemplateChecksInProgress() {
+    return this.templateChecksInProgress.get();
+  }
+
+  Set<JSType> getUnknownChecksInProgress() {
+    return this.unknownChecksInProgress.get();
+  }
+
+  /**
+   * Returns the lazily created property {@code name} of {@code function}, creating it with {@code
+   * factory} if no other thread did yet.
+   */
+  JSType getLazyFunctionProperty(FunctionType function, String name, Supplier<JSType> factory) {
+    LazyPropertyKey key = new LazyPropertyKey(function, name);
+    JSType property = this.lazyFunctionProperties.get(key);
+    if (property == null) {
+      JSType created = factory.get();
+      property = this.lazyFunctionProperties.putIfAbsent(key, created);
+      if (property == null) {
+        return created;
+      }
+    }
+    return property;
+  }
+
+  /** A property of a function type, compared by the identity of the function type. */
+  private static final class LazyPropertyKey {
+    private final FunctionType function;
+    private final String name;
+
+    LazyPropertyKey(FunctionType function, String name) {
+      this.function = function;
+      this.name = name;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(function) + name.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      return o instanceof LazyPropertyKey that
+          && this.function == that.function
+          && this.name.equals(that.name);
+    }
+  }
+
+  /**
+   * Returns the hit and miss counts of the cache of subtype and equality checks between the types
+   * of this registry.
+   */
+  public CacheStats getTypeRelationCacheStats() {
+    return this.typeRelationCache.stats();
+  }
+
   public JSType evaluateTypeExpressionInGlobalScope(JSTypeExpression expr) {
     return expr.evaluate(null, this);
   }
@@ -1935,8 +2135,22 @@ public final class JSTypeRegistry {
   public JSType createRecordType(Map<String, ? extends JSType> props) {
     @SuppressWarnings("unchecked")
     Map<String, JSType> propMap = (Map<String, JSType>) props;
+    if (!areAllResolved(propMap.values())) {
+      return buildRecordType(propMap);
+    }
+    // Record properties are sorted by name, so the order of the map doesn't matter.
+    ImmutableSortedMap<String, JSType> sortedProps = ImmutableSortedMap.copyOf(propMap);
+    ImmutableList.Builder<Object> parts = ImmutableList.builder();
+    for (Entry<String, JSType> e : sortedProps.entrySet()) {
+      parts.add(e.getKey(), e.getValue());
+    }
+    return intern(
+        new InternKey(InternKey.Kind.RECORD, parts.build()), () -> buildRecordType(propMap));
+  }
+
+  private JSType buildRecordType(Map<String, JSType> props) {
     RecordTypeBuilder builder = new RecordTypeBuilder(this);
-    for (Entry<String, JSType> e : propMap.entrySet()) {
+    for (Entry<String, JSType> e : props.entrySet()) {
       builder.addProperty(e.getKey(), e.getValue(), null);
     }
     return builder.build();
@@ -2035,7 +2249,91 @@ public final class JSTypeRegistry {
     checkNotNull(baseType);
     // Only ObjectTypes can currently be templatized; extend this logic when
     // more types can be templatized.
-    return new TemplatizedType(this, baseType, templatizedTypes);
+    if (!baseType.isResolved() || !areAllResolved(templatizedTypes)) {
+      return new TemplatizedType(this, baseType, templatizedTypes);
+    }
+    return intern(
+        new InternKey(
+            InternKey.Kind.TEMPLATIZED,
+            ImmutableList.builder().add(baseType).addAll(templatizedTypes).build()),
+        () -> new TemplatizedType(this, baseType, templatizedTypes));
+  }
+
+  /**
+   * Returns the canonical union of the given alternates, which must all be resolved, creating it
+   * with {@code factory} if there is none yet.
+   */
+  UnionType internUnionType(ImmutableList<JSType> alternates, Supplier<UnionType> factory) {
+    return intern(new InternKey(InternKey.Kind.UNION, ImmutableList.<Object>copyOf(alternates)), factory);
+  }
+
+  private static boolean areAllResolved(Iterable<? extends JSType> types) {
+    for (JSType type : types) {
+      if (!type.isResolved()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked") // The kind of the key determines the class of the type.
+  private <T extends JSType> T intern(InternKey key, Supplier<T> factory) {
+    JSType interned = internedTypes.get(key);
+    if (interned == null) {
+      T created = factory.get();
+      interned = internedTypes.putIfAbsent(key, created);
+      if (interned == null) {
+        return created;
+      }
+    }
+    return (T) interned;
+  }
+
+  /** The parts of a structural type, compared by identity, except for property names. */
+  private static final class InternKey {
+    enum Kind {
+      TEMPLATIZED,
+      UNION,
+      RECORD
+    }
+
+    private final Kind kind;
+    private final ImmutableList<Object> parts;
+    private final int hashCode;
+
+    InternKey(Kind kind, ImmutableList<Object> parts) {
+      this.kind = kind;
+      this.parts = parts;
+      int hash = kind.hashCode();
+      for (Object part : parts) {
+        int partHash = part instanceof String ? part.hashCode() : System.identityHashCode(part);
+        hash = 31 * hash + partHash;
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (!(o instanceof InternKey that)
+          || this.hashCode != that.hashCode
+          || this.kind != that.kind
+          || this.parts.size() != that.parts.size()) {
+        return false;
+      }
+      for (int i = 0; i < parts.size(); i++) {
+        Object part = this.parts.get(i);
+        Object thatPart = that.parts.get(i);
+        if (part != thatPart && !(part instanceof String && part.equals(thatPart))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
   }
 
   /**
@@ -2083,6 +2381,7 @@ public final class JSTypeRegistry {
   /** Identifies the name of a typedef or enum before we actually declare it. */
   public void identifyNonNullableName(@Nullable StaticScope scope, String name) {
     checkNotNull(name);
+    checkNotFrozen();
     StaticScope lookupScope = getLookupScope(scope, name);
     nonNullableTypeNames.put(getRootNodeForScope(lookupScope), name);
   }
@@ -2091,7 +2390,9 @@ public final class JSTypeRegistry {
   public boolean isNonNullableName(StaticScope scope, String name) {
     checkNotNull(name);
     scope = getLookupScope(scope, name);
-    return nonNullableTypeNames.containsEntry(getRootNodeForScope(scope), name);
+    FrozenNames frozen = this.frozenNames;
+    return (frozen != null ? frozen.nonNullableTypeNames() : nonNullableTypeNames)
+        .containsEntry(getRootNodeForScope(scope), name);
   }
 
   public JSType evaluateTypeExpression(JSTypeExpression expr, StaticTypedScope scope) {
@@ -2416,6 +2717,7 @@ public final class JSTypeRegistry {
    * because at the time it is called, the scope has not yet been created.
    */
   public void registerTemplateTypeNamesInScope(Iterable<TemplateType> keys, Node scopeRoot) {
+    checkNotFrozen();
     for (TemplateType key : keys) {
       scopedNameTable.put(scopeRoot, key.getReferenceName(), key);
     }
@@ -2515,12 +2817,14 @@ public final class JSTypeRegistry {
    */
   public void registerNonLegacyClosureNamespace(
       String moduleName, Node definitionNode, JSType type) {
+    checkNotFrozen();
     closureNamespaces.put(
         moduleName, ClosureNamespace.create(/* isLegacy= */ false, definitionNode, type));
   }
 
   /** Registers a goog.provide or legacy goog.module namespace with the type registry */
   public void registerLegacyClosureNamespace(String moduleName) {
+    checkNotFrozen();
     closureNamespaces.put(moduleName, ClosureNamespace.create(/* isLegacy= */ true, null, null));
   }
 
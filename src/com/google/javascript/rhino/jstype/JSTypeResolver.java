@@ -97,8 +97,12 @@ public final class JSTypeResolver {
    *
    * <p>This allows verification that every new type is captured by this resolver. In general this
    * stack should never be more than a handful of types.
+   *
+   * <p>Types are constructed on multiple threads while the registry is frozen, so each thread has
+   * its own stack.
    */
-  private final ArrayDeque<JSType> captureStack = new ArrayDeque<>();
+  private final ThreadLocal<ArrayDeque<JSType>> captureStack =
+      ThreadLocal.withInitial(ArrayDeque::new);
 
   /** The sequence of types to resolve when the resolver is closed. */
   private ArrayDeque<JSType> resolutionQueue = new ArrayDeque<>();
@@ -124,7 +128,7 @@ public final class JSTypeResolver {
      * our invariants.
      */
     checkState(!captured.isResolved());
-    this.captureStack.addLast(captured);
+    this.captureStack.get().addLast(captured);
   }
 
   /**
@@ -142,7 +146,7 @@ public final class JSTypeResolver {
       return;
     }
 
-    JSType expected = this.captureStack.removeLast();
+    JSType expected = this.captureStack.get().removeLast();
     checkState(identical(captured, expected), "Captured %s; Expected %s", captured, expected);
 
     switch (this.state) {
@@ -161,7 +165,7 @@ public final class JSTypeResolver {
   @MustBeClosed
   public Closer openForDefinition() {
     checkState(this.state.equals(State.CLOSED));
-    checkState(this.captureStack.isEmpty());
+    checkState(this.captureStack.get().isEmpty());
 
     this.state = State.OPEN;
     return new Closer();
@@ -169,7 +173,7 @@ public final class JSTypeResolver {
 
   private void resolveAll() {
     checkState(this.state.equals(State.OPEN));
-    checkState(this.captureStack.isEmpty());
+    checkState(this.captureStack.get().isEmpty());
 
     this.state = State.CLOSING;
 
@@ -181,6 +185,7 @@ public final class JSTypeResolver {
     this.resolutionQueue = new ArrayDeque<>();
 
     this.state = State.CLOSED;
+    this.registry.getTypeRelationCache().invalidate();
 
     // TODO(sdh): Stop doing this here. It's obviously the wrong place.
     // By default, the global "this" type is just an anonymous object.
@@ -204,6 +209,11 @@ public final class JSTypeResolver {
     type.resolve(this.registry.getErrorReporter());
   }
 
+  /** Whether new types are resolved as soon as they are created. */
+  boolean isClosed() {
+    return this.state.equals(State.CLOSED);
+  }
+
   /**
    * Asserts that it's legal to call {@link JSType#resolve}
    *
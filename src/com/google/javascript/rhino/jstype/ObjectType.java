@@ -49,6 +49,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.javascript.jscomp.base.Tri;
 import com.google.javascript.rhino.JSDocInfo;
@@ -81,7 +82,6 @@ import org.jspecify.annotations.Nullable;
  *
  */
 public abstract class ObjectType extends JSType {
-  private boolean visited;
   private @Nullable JSDocInfo docInfo = null;
   private boolean unknown = true;
 
@@ -160,24 +160,14 @@ public abstract class ObjectType extends JSType {
    * @return True iff an implicit prototype cycle was detected.
    */
   final boolean detectImplicitPrototypeCycle() {
-    // detecting cycle
-    this.visited = true;
-    ObjectType p = getImplicitPrototype();
-    while (p != null) {
-      if (p.visited) {
+    // The visited types are tracked locally rather than flagged on the types, which other threads
+    // may be reading.
+    Set<ObjectType> visited = Sets.newIdentityHashSet();
+    for (ObjectType p = this; p != null; p = p.getImplicitPrototype()) {
+      if (!visited.add(p)) {
         return true;
-      } else {
-        p.visited = true;
       }
-      p = p.getImplicitPrototype();
     }
-
-    // clean up
-    p = this;
-    do {
-      p.visited = false;
-      p = p.getImplicitPrototype();
-    } while (p != null);
     return false;
   }
 
@@ -832,6 +822,10 @@ public abstract class ObjectType extends JSType {
    */
   @Override
   public boolean isUnknownType() {
+    if (unknown && registry.isFrozen()) {
+      // The check below temporarily clears the flag, which other threads may be reading.
+      return isUnknownTypeConcurrently();
+    }
     // If the object is unknown now, check the supertype again,
     // because it might have been resolved since the last check.
     if (unknown) {
@@ -851,6 +845,35 @@ public abstract class ObjectType extends JSType {
     return unknown;
   }
 
+  /** Like {@link #isUnknownType}, but only writes the flag once the result is known. */
+  private boolean isUnknownTypeConcurrently() {
+    Set<JSType> inProgress = registry.getUnknownChecksInProgress();
+    if (!inProgress.add(this)) {
+      return false;
+    }
+    try {
+      boolean result;
+      ObjectType implicitProto = getImplicitPrototype();
+      if (implicitProto == null || implicitProto.isNativeObjectType()) {
+        result = false;
+        for (ObjectType interfaceType : getCtorExtendedInterfaces()) {
+          if (interfaceType.isUnknownType()) {
+            result = true;
+            break;
+          }
+        }
+      } else {
+        result = implicitProto.isUnknownType();
+      }
+      if (!result) {
+        unknown = false;
+      }
+      return result;
+    } finally {
+      inProgress.remove(this);
+    }
+  }
+
   @Override
   public boolean isObject() {
     return true;
@@ -871,6 +894,7 @@ public abstract class ObjectType extends JSType {
    */
   public void clearCachedValues() {
     unknown = true;
+    registry.getTypeRelationCache().typeChanged(this);
   }
 
   /** Whether this is a built-in object. */
@@ -101,6 +101,13 @@ final class PropertyMap {
    */
   private int cachedKeySetCounter = 0;
 
+  /**
+   * Incremented after every change to this map, so that {@link TypeRelationCache} can tell whether
+   * a result that read its properties is up to date. Like the map itself, it is only changed by one
+   * thread at a time.
+   */
+  private volatile int version = 0;
+
   PropertyMap() {
     this(new TreeMap<>(), null);
   }
@@ -122,6 +129,7 @@ final class PropertyMap {
 
     this.parentSource = ownerType;
     this.incrementCachedKeySetCounter();
+    this.version++;
   }
 
   @VisibleForTesting
@@ -221,11 +229,17 @@ final class PropertyMap {
       }
     }
 
+    // Read the caches once; other threads may clear them while the registry is frozen.
+    ImmutableSortedSet<String> keySet = this.cachedKeySet;
+    ImmutableSet<KnownSymbolType> knownSymbolsKeySet = this.cachedKnownSymbolsKeySet;
+
     /*
      * If any counter is greater than this counter, there has been a mutation and the cache must be
      * rebuilt.
      */
-    if (maxAncestorCounter != this.cachedKeySetCounter || this.cachedKeySet == null) {
+    if (maxAncestorCounter != this.cachedKeySetCounter
+        || keySet == null
+        || knownSymbolsKeySet == null) {
       TreeSet<String> keys = new TreeSet<>();
       Set<KnownSymbolType> knownSymbolsKeys = new LinkedHashSet<>();
       for (PropertyMap ancestor : ancestors) {
@@ -242,11 +256,24 @@ final class PropertyMap {
         keys.addAll(ancestor.getOwnPropertyNames());
         knownSymbolsKeys.addAll(ancestor.getOwnKnownSymbols());
       }
-      this.cachedKeySet = ImmutableSortedSet.copyOfSorted(keys);
-      this.cachedKnownSymbolsKeySet = ImmutableSet.copyOf(knownSymbolsKeys);
+      keySet = ImmutableSortedSet.copyOfSorted(keys);
+      knownSymbolsKeySet = ImmutableSet.copyOf(knownSymbolsKeys);
+      this.cachedKeySet = keySet;
+      this.cachedKnownSymbolsKeySet = knownSymbolsKeySet;
     }
 
-    return new AllKeys(this.cachedKeySet, this.cachedKnownSymbolsKeySet);
+    return new AllKeys(keySet, knownSymbolsKeySet);
+  }
+
+  /** Returns this map and all the maps it inherits properties from. */
+  Set<PropertyMap> getAllAncestors() {
+    LinkedHashSet<PropertyMap> ancestors = new LinkedHashSet<>();
+    this.collectAllAncestors(ancestors);
+    return ancestors;
+  }
+
+  int getVersion() {
+    return version;
   }
 
   public record AllKeys(
@@ -282,6 +309,7 @@ final class PropertyMap {
     }
 
     properties.put(name, newProp);
+    this.version++;
   }
 
   void putProperty(KnownSymbolType symbol, Property newProp) {
@@ -296,6 +324,7 @@ final class PropertyMap {
       knownSymbols = new LinkedHashMap<>();
     }
     knownSymbols.put(symbol, newProp);
+    this.version++;
   }
 
   void putProperty(Property.Key name, Property newProp) {
@@ -417,6 +417,7 @@ public class PrototypeObjectType extends ObjectType {
   final void setImplicitPrototype(ObjectType implicitPrototype) {
     checkState(!hasCachedValues());
     this.implicitPrototypeFallback = implicitPrototype;
+    registry.getTypeRelationCache().typeChanged(this);
     if (implicitPrototype != null) {
       maybeLoosenTypecheckingDueToForwardReferencedSupertype(implicitPrototype);
     }
@@ -86,6 +86,9 @@ final class SubtypeChecker {
 
   private LinkedHashMap<CacheKey, MatchStatus> subtypeCache;
 
+  /** Where to record the properties read, if the result is cached across checks. */
+  private TypeRelationCache.@Nullable Dependencies cacheDependencies;
+
   private boolean hasRun = false;
   private int recursionDepth = 0;
 
@@ -128,7 +131,19 @@ final class SubtypeChecker {
   boolean check() {
     checkHasNotRun();
     this.hasRun = true;
-    return this.isSubtypeCaching(this.initialSubtype, this.initialSupertype);
+    if (identical(this.initialSubtype, this.initialSupertype)) {
+      return true;
+    }
+    return this.registry
+        .getTypeRelationCache()
+        .check(
+            TypeRelationCache.Relation.subtype(this.isUsingStructuralTyping, this.subtypingMode),
+            this.initialSubtype,
+            this.initialSupertype,
+            (dependencies) -> {
+              this.cacheDependencies = dependencies;
+              return this.isSubtypeCaching(this.initialSubtype, this.initialSupertype);
+            });
   }
 
   /**
@@ -140,6 +155,10 @@ final class SubtypeChecker {
   private boolean isSubtypeCaching(JSType subtype, JSType supertype) {
     checkNotNull(subtype);
     checkNotNull(supertype);
+    if (identical(subtype, supertype)) {
+      // Common for interned types; skip the cache and the dispatch.
+      return true;
+    }
 
     // Wait to instantiate/use the cache until we have some hint that there may be recursion.
     if (this.recursionDepth > POTENTIALLY_CYCLIC_RECURSION_DEPTH) {
@@ -369,6 +388,15 @@ final class SubtypeChecker {
     // 2) And for each property of supertype, its type must be
     //    a super type of the corresponding property of subtype.
 
+    if (cacheDependencies != null) {
+      cacheDependencies.readPropertiesOf(subtype);
+      if (supertype.isRecordType()) {
+        cacheDependencies.readOwnPropertiesOf(supertype);
+      } else {
+        cacheDependencies.readPropertiesOf(supertype);
+      }
+    }
+
     PropertyMap.AllKeys keys =
         supertype.isRecordType() ? null : supertype.getPropertyMap().getAllKeys();
     Iterable<String> props =
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.javascript.rhino.jstype.EqualityChecker.EqMethod;
+import com.google.javascript.rhino.jstype.JSType.SubtypingMode;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Remembers the results of subtype and equality checks between types of a registry, across checks.
+ *
+ * <p>{@link SubtypeChecker} and {@link EqualityChecker} only cache within a single check, to detect
+ * cycles, so the same pair of types used to be compared again by every caller. This cache is keyed
+ * by the identity of the two types, and only holds the results of top-level checks: a nested result
+ * may depend on the assumption the checker makes for a pair it is already comparing.
+ *
+ * <p>The result of a check depends on mutable state of the types. Changes to the type hierarchy,
+ * e.g. to implicit prototypes or implemented interfaces, must call {@link #typeChanged} or {@link
+ * #invalidate}, which makes all results stale. Properties are only read by structural checks, which
+ * record the {@link PropertyMap}s they read in their {@link Dependencies}. A result is stale once
+ * one of those maps changed, so defining a property, e.g. while inferring types, only affects the
+ * results of checks that read the properties of that type. Stale results are ignored when they are
+ * looked up. Results are only cached for resolved types, and while the registry is closed; the bulk
+ * of the mutations happens while it is open for definition.
+ */
+final class TypeRelationCache {
+  /** The maximum number of results kept. The least recently used results are evicted first. */
+  private static final long MAXIMUM_SIZE = 50_000;
+
+  /** The relations between two types that are cached. */
+  enum Relation {
+    SUBTYPE,
+    SUBTYPE_IGNORING_NULL_UNDEFINED,
+    NOMINAL_SUBTYPE,
+    NOMINAL_SUBTYPE_IGNORING_NULL_UNDEFINED,
+    IDENTICAL,
+    SIMILAR_FOR_DATA_FLOW;
+
+    static Relation subtype(boolean structural, SubtypingMode mode) {
+      boolean ignoreNullUndefined = mode == SubtypingMode.IGNORE_NULL_UNDEFINED;
+      if (structural) {
+        return ignoreNullUndefined ? SUBTYPE_IGNORING_NULL_UNDEFINED : SUBTYPE;
+      }
+      return ignoreNullUndefined ? NOMINAL_SUBTYPE_IGNORING_NULL_UNDEFINED : NOMINAL_SUBTYPE;
+    }
+
+    static Relation equality(EqMethod method) {
+      return switch (method) {
+        case IDENTITY -> IDENTICAL;
+        case DATA_FLOW -> SIMILAR_FOR_DATA_FLOW;
+      };
+    }
+  }
+
+  /** Computes whether two types are in a relation. */
+  interface Check {
+    /**
+     * @param dependencies records the properties read by the check, or null if the result is not
+     *     cached
+     */
+    boolean compute(@Nullable Dependencies dependencies);
+  }
+
+  private final JSTypeRegistry registry;
+  private final Cache<Key, Result> results =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).recordStats().build();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /** Incremented whenever a type changes in a way that may change the result of any check. */
+  private final AtomicLong generation = new AtomicLong();
+
+  TypeRelationCache(JSTypeRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Returns whether {@code left} and {@code right} are in the given relation, using {@code check}
+   * to compute it if there is no up-to-date result.
+   */
+  boolean check(Relation relation, JSType left, JSType right, Check check) {
+    if (!left.isResolved() || !right.isResolved() || !registry.getResolver().isClosed()) {
+      return check.compute(null);
+    }
+
+    // Read the generation before computing the result. If a type changes while it is computed, the
+    // stored result is already stale, without having to make the lookup and the store atomic.
+    long currentGeneration = generation.get();
+    Key key = new Key(relation, left, right);
+    Result cached = results.getIfPresent(key);
+    if (cached != null && cached.isUpToDate(currentGeneration)) {
+      hitCount.increment();
+      return cached.value;
+    }
+    missCount.increment();
+    Dependencies dependencies = new Dependencies();
+    boolean value = check.compute(dependencies);
+    results.put(key, new Result(value, currentGeneration, dependencies));
+    return value;
+  }
+
+  /** Records that types changed, so that all cached results may be wrong. */
+  void invalidate() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * Records that the given type changed in a way other than its own properties. Changes to types
+   * that are not resolved yet, e.g. while they are constructed, can't affect the cached results.
+   */
+  void typeChanged(JSType type) {
+    if (type.isResolved()) {
+      invalidate();
+    }
+  }
+
+  CacheStats stats() {
+    return new CacheStats(
+        hitCount.sum(), missCount.sum(), 0, 0, 0, results.stats().evictionCount());
+  }
+
+  /** The property maps read by a check, with their versions from before they were read. */
+  static final class Dependencies {
+    private final Map<PropertyMap, Integer> versions = new IdentityHashMap<>();
+
+    /** Records that the check reads the properties of the type, including inherited ones. */
+    void readPropertiesOf(ObjectType type) {
+      for (PropertyMap map : type.getPropertyMap().getAllAncestors()) {
+        versions.putIfAbsent(map, map.getVersion());
+      }
+    }
+
+    /** Records that the check reads the own properties of the type. */
+    void readOwnPropertiesOf(ObjectType type) {
+      PropertyMap map = type.getPropertyMap();
+      versions.putIfAbsent(map, map.getVersion());
+    }
+  }
+
+  /** The result of a check, and what it was computed from. */
+  private static final class Result {
+    private final boolean value;
+    private final long generation;
+    private final PropertyMap[] maps;
+    private final int[] versions;
+
+    Result(boolean value, long generation, Dependencies dependencies) {
+      this.value = value;
+      this.generation = generation;
+      this.maps = new PropertyMap[dependencies.versions.size()];
+      this.versions = new int[maps.length];
+      int i = 0;
+      for (Map.Entry<PropertyMap, Integer> entry : dependencies.versions.entrySet()) {
+        maps[i] = entry.getKey();
+        versions[i] = entry.getValue();
+        i++;
+      }
+    }
+
+    boolean isUpToDate(long currentGeneration) {
+      if (generation != currentGeneration) {
+        return false;
+      }
+      for (int i = 0; i < maps.length; i++) {
+        if (maps[i].getVersion() != versions[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /** A relation between two types, compared by identity. */
+  private static final class Key {
+    private final Relation relation;
+    private final JSType left;
+    private final JSType right;
+    private final int hashCode;
+
+    Key(Relation relation, JSType left, JSType right) {
+      this.relation = relation;
+      this.left = left;
+      this.right = right;
+      this.hashCode =
+          31 * (31 * relation.hashCode() + System.identityHashCode(left))
+              + System.identityHashCode(right);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key that
+          && this.relation == that.relation
+          && identical(this.left, that.left)
+          && identical(this.right, that.right);
+    }
+  }
+}
@@ -886,6 +886,9 @@ public final class UnionType extends JSType {
         return this.finalAlternates.get(0);
       } else if (this.rebuildTarget != null) {
         return this.rebuildTarget;
+      } else if (this.alternatesResolvedBeforeBuild) {
+        // The union will never be rebuilt, so it can be shared.
+        return registry.internUnionType(this.finalAlternates, () -> new UnionType(this));
       } else {
         return new UnionType(this);
       }
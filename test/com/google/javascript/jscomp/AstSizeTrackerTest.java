@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link AstSizeTracker}. */
+@RunWith(JUnit4.class)
+public final class AstSizeTrackerTest {
+
+  private ChangeTracker changeTracker;
+  private Node root;
+  private Node script;
+  private Node function;
+  private AstSizeTracker astSizeTracker;
+
+  @Before
+  public void setUp() {
+    changeTracker = new ChangeTracker();
+    function = IR.function(IR.name("f"), IR.paramList(), IR.block(IR.returnNode(IR.number(1))));
+    script = IR.script(IR.exprResult(IR.name("x")), function);
+    root = IR.root(script);
+    astSizeTracker = new AstSizeTracker(changeTracker, root, "test");
+  }
+
+  @Test
+  public void testInitialSize() {
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+  }
+
+  @Test
+  public void testChangeInFunction() {
+    Node block = function.getLastChild();
+    block.addChildToFront(IR.exprResult(IR.call(IR.name("g"))));
+    changeTracker.reportChangeToEnclosingScope(block);
+
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+  }
+
+  @Test
+  public void testUnreportedChangeIsNotCounted() {
+    int size = astSizeTracker.getAstSize();
+    script.getFirstChild().detach();
+
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(size);
+  }
+
+  @Test
+  public void testNewNestedFunctions() {
+    Node inner = IR.function(IR.name("h"), IR.paramList(), IR.block());
+    Node outer = IR.function(IR.name("g"), IR.paramList(), IR.block(inner));
+    script.addChildToBack(outer);
+    // Only the scope that contains the new functions is reported.
+    changeTracker.reportChangeToChangeScope(script);
+
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+  }
+
+  @Test
+  public void testDeletedFunction() {
+    function.getLastChild().addChildToBack(IR.function(IR.name("h"), IR.paramList(), IR.block()));
+    changeTracker.reportChangeToChangeScope(function);
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+
+    function.detach();
+    changeTracker.reportChangeToChangeScope(script);
+    changeTracker.reportFunctionDeleted(function);
+
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+  }
+
+  @Test
+  public void testFunctionMovedToAnotherScript() {
+    Node otherScript = IR.script(IR.exprResult(IR.name("y")));
+    root.addChildToBack(otherScript);
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+
+    otherScript.addChildToBack(function.detach());
+    changeTracker.reportChangeToChangeScope(script);
+    changeTracker.reportChangeToChangeScope(otherScript);
+
+    assertThat(astSizeTracker.getAstSize()).isEqualTo(NodeUtil.countAstSize(root));
+  }
+}
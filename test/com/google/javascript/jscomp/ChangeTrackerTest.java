@@ -20,6 +20,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -148,4 +149,76 @@ public class ChangeTrackerTest {
     // 'FunctionInliner' request.
     assertThat(changeTracker.getChangedScopeNodesForPass("FunctionInliner")).isEmpty();
   }
+
+  @Test
+  public void testBufferedChangesAreRecordedWhenReplayed() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    Node function1 = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    Node function2 = IR.function(IR.name("bar"), IR.paramList(), IR.block());
+    IR.root(IR.script(function1, function2));
+    var unused = changeTracker.getChangedScopeNodesForPass("FunctionInliner");
+
+    changeTracker.startBufferingChanges();
+    changeTracker.reportChangeToChangeScope(function1);
+    changeTracker.reportChangeToChangeScope(function2);
+    List<Node> changes = changeTracker.stopBufferingChanges();
+
+    // Nothing is recorded until the buffered changes are replayed.
+    assertThat(function1.getChangeTime()).isEqualTo(0);
+    assertThat(changeTracker.getChangedScopeNodesForPass("FunctionInliner")).isEmpty();
+
+    changeTracker.replayBufferedChanges(changes);
+
+    assertThat(function1.getChangeTime()).isGreaterThan(0);
+    assertThat(changeTracker.getChangedScopeNodesForPass("FunctionInliner"))
+        .containsExactly(function1, function2);
+  }
+
+  @Test
+  public void testCachedControlFlowGraphIsReusedUntilChanged() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    Node function1 = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    Node function2 = IR.function(IR.name("bar"), IR.paramList(), IR.block());
+    IR.root(IR.script(function1, function2));
+    changeTracker.startCachingControlFlowGraphs();
+    ControlFlowGraphCache cache = changeTracker.getControlFlowGraphCache();
+
+    ControlFlowGraph<Node> cfg1 = cache.getOrCompute(function1, true, () -> newCfg(function1));
+    ControlFlowGraph<Node> cfg2 = cache.getOrCompute(function2, true, () -> newCfg(function2));
+    assertThat(cache.getOrCompute(function1, true, () -> newCfg(function1))).isSameInstanceAs(cfg1);
+
+    // A change to function1 only drops the graph of function1.
+    changeTracker.reportChangeToEnclosingScope(function1.getLastChild());
+    assertThat(cache.getOrCompute(function1, true, () -> newCfg(function1)))
+        .isNotSameInstanceAs(cfg1);
+    assertThat(cache.getOrCompute(function2, true, () -> newCfg(function2))).isSameInstanceAs(cfg2);
+
+    function2.detach();
+    changeTracker.reportFunctionDeleted(function2);
+    assertThat(cache.size()).isEqualTo(1);
+
+    changeTracker.stopCachingControlFlowGraphs();
+    assertThat(changeTracker.getControlFlowGraphCache()).isNull();
+  }
+
+  @Test
+  public void testBufferedChangeDropsCachedControlFlowGraph() {
+    ChangeTracker changeTracker = new ChangeTracker();
+    Node function = IR.function(IR.name("foo"), IR.paramList(), IR.block());
+    IR.root(IR.script(function));
+    changeTracker.startCachingControlFlowGraphs();
+    ControlFlowGraphCache cache = changeTracker.getControlFlowGraphCache();
+    ControlFlowGraph<Node> cfg = cache.getOrCompute(function, true, () -> newCfg(function));
+
+    changeTracker.startBufferingChanges();
+    changeTracker.reportChangeToChangeScope(function);
+    var unused = changeTracker.stopBufferingChanges();
+
+    assertThat(cache.getOrCompute(function, true, () -> newCfg(function)))
+        .isNotSameInstanceAs(cfg);
+  }
+
+  private static ControlFlowGraph<Node> newCfg(Node root) {
+    return new ControlFlowGraph<>(root, true, true);
+  }
 }
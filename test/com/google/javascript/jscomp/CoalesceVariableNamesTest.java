@@ -1421,11 +1421,18 @@ public final class CoalesceVariableNamesTest extends CompilerTestCase {
 
   @Test
   public void testMaxVars() {
-    String code = "";
-    for (int i = 0; i < LiveVariablesAnalysis.MAX_VARIABLES_TO_ANALYZE + 1; i++) {
-      code += String.format("var x%d = 0; print(x%d);", i, i);
+    // Only the first MAX_VARIABLES_TO_COALESCE variables are coalesced.
+    StringBuilder code = new StringBuilder();
+    StringBuilder expected = new StringBuilder("var x0 = 0; print(x0);");
+    for (int i = 0; i < CoalesceVariableNames.MAX_VARIABLES_TO_COALESCE + 1; i++) {
+      code.append(String.format("var x%d = 0; print(x%d);", i, i));
+      if (i == CoalesceVariableNames.MAX_VARIABLES_TO_COALESCE) {
+        expected.append(String.format("var x%d = 0; print(x%d);", i, i));
+      } else if (i > 0) {
+        expected.append("x0 = 0; print(x0);");
+      }
     }
-    inFunction(code);
+    inFunction(code.toString(), expected.toString());
   }
 
   // Testing Es6 features
@@ -4570,4 +4570,43 @@ public final class CodePrinterTest extends CodePrinterTestBase {
                 .build())
         .isEqualTo(expectedCode);
   }
+
+  @Test
+  public void testWriteWithSourceMappingsMatchesBuild() throws Exception {
+    // Large enough that the printer writes the code out in several pieces.
+    StringBuilder js = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      js.append("function f").append(i).append("(a, b) { if (a) { return a + b; } ");
+      js.append("return [a, 'b', {c: b}]; }\n");
+    }
+    Node root = parse(js.toString());
+
+    for (boolean prettyPrint : new boolean[] {false, true}) {
+      CompilerOptions options = new CompilerOptions();
+      options.setPrettyPrint(prettyPrint);
+      options.setLineLengthThreshold(100);
+      options.setAlwaysGatherSourceMapInfo(true);
+
+      CodePrinter.SourceAndMappings expected =
+          new CodePrinter.Builder(root).setCompilerOptions(options).buildWithSourceMappings();
+      StringBuilder out = new StringBuilder();
+      List<SourceMap.Mapping> mappings =
+          new CodePrinter.Builder(root).setCompilerOptions(options).writeWithSourceMappings(out);
+
+      assertThat(out.toString()).isEqualTo(expected.source);
+      assertThat(mappings.stream().map(SourceMap.Mapping::toString).toList())
+          .containsExactlyElementsIn(
+              expected.mappings.stream().map(SourceMap.Mapping::toString).toList())
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void testWriteWithSourceMappingsWithoutSourceMap() throws Exception {
+    Node root = parse("var x = 1; alert(x);");
+    StringBuilder out = new StringBuilder();
+
+    assertThat(new CodePrinter.Builder(root).writeWithSourceMappings(out)).isNull();
+    assertThat(out.toString()).isEqualTo("var x=1;alert(x);");
+  }
 }
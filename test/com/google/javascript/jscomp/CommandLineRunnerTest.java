@@ -350,6 +350,31 @@ public final class CommandLineRunnerTest {
     return GSON.fromJson(json, JsonObject.class);
   }
 
+  @Test
+  public void testTypedAstCacheConfigurationCoversFilesNamedByFlags() throws Exception {
+    File allowlist = temporaryFolder.newFile("allowlist.txt");
+    writeFile(allowlist, "");
+    String[] flags = {
+      "--typed_ast_cache_dir",
+      temporaryFolder.newFolder("cache").toString(),
+      "--warnings_allowlist_file",
+      allowlist.toString()
+    };
+    String configuration =
+        new CommandLineRunner(flags).getCommandLineConfig().getTypedAstCacheConfiguration();
+    assertThat(configuration).isNotNull();
+
+    // Editing the allowlist changes the diagnostics, so it must change the cache key.
+    writeFile(allowlist, "input.js:1: WARNING - [JSC_TYPE_MISMATCH] message");
+    assertThat(new CommandLineRunner(flags).getCommandLineConfig().getTypedAstCacheConfiguration())
+        .isNotEqualTo(configuration);
+
+    // The cache is not used if a file can't be read.
+    assertThat(allowlist.delete()).isTrue();
+    assertThat(new CommandLineRunner(flags).getCommandLineConfig().getTypedAstCacheConfiguration())
+        .isNull();
+  }
+
   /** The given flags should be incompatible with `--checks_only`. */
   private void verifyFlagsAreIncompatibleWithChecksOnly(ImmutableList<String> flags) {
     final String additionalFlag = "--checks_only";
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.rhino.IR;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link CompactVarTable}. */
+@RunWith(JUnit4.class)
+public final class CompactVarTableTest {
+
+  private Scope scope;
+
+  @Before
+  public void setUp() {
+    scope = Scope.createGlobalScope(IR.root());
+  }
+
+  @Test
+  public void testBehavesLikeLinkedHashMap() {
+    Map<String, Var> expected = new LinkedHashMap<>();
+    CompactVarTable<Var> table = new CompactVarTable<>(new LinkedHashMap<>());
+    List<Var> declared = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      Var var = declare("v" + i);
+      declared.add(var);
+      table.put(var.getName(), var);
+      expected.put(var.getName(), var);
+      if (i % 3 == 0) {
+        // Removed vars leave holes that are dropped when the table grows.
+        Var removed = declared.get(i / 2);
+        assertThat(table.remove(removed.getName())).isEqualTo(expected.remove(removed.getName()));
+      }
+    }
+
+    assertThat(table).hasSize(expected.size());
+    assertThat(table.values()).containsExactlyElementsIn(expected.values()).inOrder();
+    assertThat(table.entrySet()).containsExactlyElementsIn(expected.entrySet()).inOrder();
+    for (Var var : declared) {
+      assertThat(table.get(var.getName())).isEqualTo(expected.get(var.getName()));
+      assertThat(table.containsKey(var.getName())).isEqualTo(expected.containsKey(var.getName()));
+    }
+    assertThat(table.get("missing")).isNull();
+  }
+
+  @Test
+  public void testRedeclarationKeepsOrder() {
+    Var a = declare("a");
+    Var b = declare("b");
+    CompactVarTable<Var> table = new CompactVarTable<>(new LinkedHashMap<>());
+    table.put("a", a);
+    table.put("b", b);
+    Var otherA = new Var("a", null, scope, -1, null, null);
+
+    assertThat(table.put("a", otherA)).isSameInstanceAs(a);
+    assertThat(table.values()).containsExactly(otherA, b).inOrder();
+  }
+
+  @Test
+  public void testClear() {
+    CompactVarTable<Var> table = new CompactVarTable<>(new LinkedHashMap<>());
+    Var a = declare("a");
+    table.put("a", a);
+    table.clear();
+
+    assertThat(table).isEmpty();
+    assertThat(table.get("a")).isNull();
+    table.put("a", a);
+    assertThat(table.values()).containsExactly(a);
+  }
+
+  @Test
+  public void testModificationDuringIterationFails() {
+    CompactVarTable<Var> table = new CompactVarTable<>(new LinkedHashMap<>());
+    table.put("a", declare("a"));
+    table.put("b", declare("b"));
+
+    assertThrows(
+        ConcurrentModificationException.class,
+        () -> {
+          for (Var var : table.values()) {
+            table.remove(var.getName());
+          }
+        });
+  }
+
+  @Test
+  public void testLargeScopeUsesCompactTable() {
+    List<Var> declared = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      declared.add(declare("v" + i));
+    }
+
+    assertThat(scope.getVarTableSummary()).startsWith("2000 vars in a compact table of ~");
+    assertThat(scope.getVarIterable()).containsExactlyElementsIn(declared).inOrder();
+    assertThat(scope.getOwnSlot("v1234")).isSameInstanceAs(declared.get(1234));
+
+    scope.undeclare(declared.get(1234));
+    assertThat(scope.getOwnSlot("v1234")).isNull();
+    assertThat(scope.getVarCount()).isEqualTo(1999);
+  }
+
+  @Test
+  public void testSmallScopeUsesHashMap() {
+    declare("a");
+
+    assertThat(scope.getVarTableSummary()).isEqualTo("1 vars in a hash map");
+  }
+
+  private Var declare(String name) {
+    return scope.declare(name, IR.name(name), null);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Splitter;
+import com.google.common.io.Files;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link CompileServer}. */
+@RunWith(JUnit4.class)
+public final class CompileServerTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Gson gson = new Gson();
+
+  @Test
+  public void testMalformedRequest() {
+    CompileServer.Response response = newServer("").handleRequest("{not json");
+
+    assertThat(response.exitCode).isEqualTo(-1);
+    assertThat(response.stderr).contains("Malformed compile request");
+  }
+
+  @Test
+  public void testFlagErrorsAreReported() {
+    CompileServer.Response response =
+        newServer("").handleRequest("[\"--compilation_level=NOT_A_LEVEL\"]");
+
+    assertThat(response.exitCode).isEqualTo(-1);
+    assertThat(response.stderr).isNotEmpty();
+  }
+
+  @Test
+  public void testCompileOutputIsReturnedInResponse() throws Exception {
+    File input = temporaryFolder.newFile("input.js");
+    Files.asCharSink(input, UTF_8).write("var x = 1 + 2; alert(x);");
+
+    CompileServer.Response response =
+        newServer("").handleRequest(gson.toJson(new String[] {"--js", input.getPath()}));
+
+    assertThat(response.exitCode).isEqualTo(0);
+    assertThat(response.stdout).isEqualTo("var x=3;alert(x);\n");
+  }
+
+  @Test
+  public void testServeHandlesRequestsInOrder() throws Exception {
+    File first = temporaryFolder.newFile("first.js");
+    Files.asCharSink(first, UTF_8).write("alert(1 + 1);");
+    File second = temporaryFolder.newFile("second.js");
+    Files.asCharSink(second, UTF_8).write("alert(2 + 2);");
+
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    CompileServer server =
+        new CompileServer(
+            new ByteArrayInputStream(
+                (gson.toJson(new String[] {"--js", first.getPath()})
+                        + "\n\n"
+                        + gson.toJson(new String[] {"--js", second.getPath()})
+                        + "\n")
+                    .getBytes(UTF_8)),
+            new PrintStream(responses, true, UTF_8));
+    server.serve();
+
+    List<String> lines = Splitter.on('\n').omitEmptyStrings().splitToList(responses.toString(UTF_8));
+    assertThat(lines).hasSize(2);
+    JsonObject firstResponse = gson.fromJson(lines.get(0), JsonObject.class);
+    JsonObject secondResponse = gson.fromJson(lines.get(1), JsonObject.class);
+    assertThat(firstResponse.get("exitCode").getAsInt()).isEqualTo(0);
+    assertThat(firstResponse.get("stdout").getAsString()).isEqualTo("alert(2);\n");
+    assertThat(secondResponse.get("exitCode").getAsInt()).isEqualTo(0);
+    assertThat(secondResponse.get("stdout").getAsString()).isEqualTo("alert(4);\n");
+  }
+
+  private static CompileServer newServer(String requests) {
+    return new CompileServer(
+        new ByteArrayInputStream(requests.getBytes(UTF_8)),
+        new PrintStream(new ByteArrayOutputStream(), true, UTF_8));
+  }
+}
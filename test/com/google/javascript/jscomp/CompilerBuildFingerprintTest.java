@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link CompilerBuildFingerprint}. */
+@RunWith(JUnit4.class)
+public final class CompilerBuildFingerprintTest {
+
+  @Test
+  public void testFingerprintIsAStableHash() {
+    String fingerprint = CompilerBuildFingerprint.get();
+    assertThat(fingerprint).matches("[0-9a-f]{64}");
+    assertThat(CompilerBuildFingerprint.get()).isEqualTo(fingerprint);
+  }
+}
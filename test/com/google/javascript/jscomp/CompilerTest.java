@@ -491,6 +491,78 @@ public final class CompilerTest {
     assertThat(outputSource).isEqualTo("// Input 0\n// Input 1\n");
   }
 
+  @Test
+  public void testWriteSourceMatchesToSource() throws Exception {
+    Compiler compiler = new Compiler();
+    CompilerOptions options = createNewFlagBasedOptions();
+    options.setPrintInputDelimiter(true);
+
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("i1", "/** @license Foo */ var a = 1"),
+            SourceFile.fromCode("i2", "/** @license Bar */ alert(a)"),
+            SourceFile.fromCode("i3", "/** @license Foo */ alert(a + 1)"));
+
+    Result result = compiler.compile(EMPTY_EXTERNS, inputs, options);
+    assertThat(result.success).isTrue();
+
+    StringBuilder out = new StringBuilder();
+    compiler.writeSource(out, new Compiler.SingleBinaryLicenseTracker(compiler), null);
+    assertThat(out.toString()).isEqualTo(compiler.toSource());
+
+    JSChunk chunk = compiler.getChunkGraph().getRootChunk();
+    out = new StringBuilder();
+    compiler.writeSource(out, new ScriptNodeLicensesOnlyTracker(compiler), chunk);
+    assertThat(out.toString()).isEqualTo(compiler.toSource(chunk));
+  }
+
+  @Test
+  public void testWriteSourceWithoutLicensesMatchesToSource() throws Exception {
+    Compiler compiler = new Compiler();
+    CompilerOptions options = createNewFlagBasedOptions();
+    options.setPrintInputDelimiter(true);
+
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("i1", "var a = 1"),
+            SourceFile.fromCode("i2", ""),
+            SourceFile.fromCode("i3", "function f() { alert(a); }"));
+
+    Result result = compiler.compile(EMPTY_EXTERNS, inputs, options);
+    assertThat(result.success).isTrue();
+
+    StringBuilder out = new StringBuilder();
+    compiler.writeSource(out, new Compiler.SingleBinaryLicenseTracker(compiler), null);
+    assertThat(out.toString()).isEqualTo(compiler.toSource());
+
+    JSChunk chunk = compiler.getChunkGraph().getRootChunk();
+    out = new StringBuilder();
+    compiler.writeSource(out, new ScriptNodeLicensesOnlyTracker(compiler), chunk);
+    assertThat(out.toString()).isEqualTo(compiler.toSource(chunk));
+  }
+
+  @Test
+  public void testCodeBuilderWritesToOutput() throws Exception {
+    StringBuilder out = new StringBuilder();
+    Compiler.CodeBuilder cb = new Compiler.CodeBuilder(out);
+    cb.append("foo();\n");
+
+    assertThat(out.toString()).isEqualTo("foo();\n");
+    assertThat(cb.toString()).isEqualTo(";\n");
+    assertThat(cb.getLength()).isEqualTo(7);
+    assertThat(cb.endsWith("\n")).isTrue();
+    assertThat(cb.charFromEnd(2)).isEqualTo(';');
+
+    cb.asAppendable().append("bar();", 0, 3).append('(');
+    cb.append(");");
+
+    assertThat(out.toString()).isEqualTo("foo();\nbar();");
+    assertThat(cb.getLength()).isEqualTo(13);
+    assertThat(cb.getLineIndex()).isEqualTo(1);
+    assertThat(cb.getColumnIndex()).isEqualTo(6);
+    assertThat(cb.endsWith(";")).isTrue();
+  }
+
   /** Make sure that non-standard JSDoc annotation is not a hard error unless it is specified. */
   @Test
   public void testBug2176967Default() {
@@ -1287,6 +1287,8 @@ public abstract class CompilerTestCase {
         if (checkAstChangeMarking) {
           changeVerifier = new ChangeVerifier(compiler);
           changeVerifier.snapshot(mainRoot);
+          // References kept across runs are only correct if the changes are marked.
+          compiler.getReferenceMapCache().setVerifyAgainstFullRebuild(true);
         }
 
         // Call "beforePass" as some passes ask for the index of the current pass being run and
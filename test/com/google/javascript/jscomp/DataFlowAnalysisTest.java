@@ -640,6 +640,46 @@ public final class DataFlowAnalysisTest {
     verifyOutHas(n4, c, null);
   }
 
+  @Test
+  public void testSimpleLoop_reversePostorder() {
+    // a = 0; do { a = a + 1 } while (b); c = a;
+    Variable a = new Variable("a");
+    Variable b = new Variable("b");
+    Variable c = new Variable("c");
+    Instruction inst1 = newAssignNumberToVariableInstruction(a, 0);
+    Instruction inst2 = new ArithmeticInstruction(a, a, Operation.ADD, 1);
+    Instruction inst3 = new BranchInstruction(b);
+    Instruction inst4 = newAssignVariableToVariableInstruction(c, a);
+    ControlFlowGraph<Instruction> cfg = new ControlFlowGraph<>(inst1, true, true);
+    GraphNode<Instruction, Branch> n1 = cfg.createNode(inst1);
+    GraphNode<Instruction, Branch> n2 = cfg.createNode(inst2);
+    GraphNode<Instruction, Branch> n3 = cfg.createNode(inst3);
+    GraphNode<Instruction, Branch> n4 = cfg.createNode(inst4);
+    cfg.connect(inst1, ControlFlowGraph.Branch.UNCOND, inst2);
+    cfg.connect(inst2, ControlFlowGraph.Branch.UNCOND, inst3);
+    cfg.connect(inst3, ControlFlowGraph.Branch.ON_TRUE, inst2);
+    cfg.connect(inst3, ControlFlowGraph.Branch.ON_FALSE, inst4);
+
+    DummyConstPropagation constProp =
+        new DummyConstPropagation(cfg) {
+          @Override
+          WorklistOrder getWorklistOrder() {
+            return WorklistOrder.REVERSE_POSTORDER;
+          }
+        };
+    constProp.analyze();
+
+    // The results do not depend on the order in which nodes are visited.
+    verifyOutHas(n1, a, 0);
+    verifyInHas(n2, a, null);
+    verifyOutHas(n2, a, null);
+    verifyOutHas(n3, a, null);
+    verifyInHas(n4, a, null);
+    verifyOutHas(n4, c, null);
+    // Every node is visited at least once.
+    assertThat(constProp.getIterationCount()).isAtLeast(4);
+  }
+
   // tests for computeEscaped method
 
   @Test
@@ -18,11 +18,14 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.assertThrows;
 
 import com.google.javascript.jscomp.graph.DiGraph;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal.EdgeCallback;
 import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -237,4 +240,73 @@ public final class FixedPointGraphTraversalTest {
     assertThat(D.value).isEqualTo(2);
     assertThat(E.value).isEqualTo(1);
   }
+
+  @Test
+  public void testComputeFixedPointByComponents() throws Exception {
+    setBits();
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      FixedPointGraphTraversal.newTraversal(BIT_UNION)
+          .computeFixedPointByComponents(graph, executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(A.value).isEqualTo(0b00001);
+    assertThat(B.value).isEqualTo(0b00011);
+    assertThat(C.value).isEqualTo(0b00101);
+    // D and E are a cycle, so they end up with each other's bits too.
+    assertThat(D.value).isEqualTo(0b11111);
+    assertThat(E.value).isEqualTo(0b11111);
+  }
+
+  @Test
+  public void testComputeFixedPointByComponents_reversed() throws Exception {
+    setBits();
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      FixedPointGraphTraversal.newReverseTraversal(BIT_UNION)
+          .computeFixedPointByComponents(graph, executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(A.value).isEqualTo(0b11111);
+    assertThat(B.value).isEqualTo(0b11010);
+    assertThat(C.value).isEqualTo(0b11100);
+    assertThat(D.value).isEqualTo(0b11000);
+    assertThat(E.value).isEqualTo(0b11000);
+  }
+
+  @Test
+  public void testComputeFixedPointByComponents_nonHalting() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      IllegalStateException e =
+          assertThrows(
+              IllegalStateException.class,
+              () ->
+                  FixedPointGraphTraversal.<Counter, String>newTraversal((source, edge, dest) -> true)
+                      .computeFixedPointByComponents(graph, executor));
+      assertThat(e).hasMessageThat().isEqualTo(FixedPointGraphTraversal.NON_HALTING_ERROR_MSG);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // Unions the bits of the source into the destination.
+  private static final EdgeCallback<Counter, String> BIT_UNION =
+      (Counter source, String e, Counter dest) -> {
+        int before = dest.value;
+        dest.value |= source.value;
+        return dest.value != before;
+      };
+
+  private void setBits() {
+    A.value = 0b00001;
+    B.value = 0b00010;
+    C.value = 0b00100;
+    D.value = 0b01000;
+    E.value = 0b10000;
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link GlobalNamespaceCache}. */
+@RunWith(JUnit4.class)
+public final class GlobalNamespaceCacheTest {
+
+  private Compiler compiler;
+  private GlobalNamespaceCache cache;
+  private Node externs;
+  private Node root;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    compiler.init(
+        ImmutableList.of(SourceFile.fromCode("externs.js", "var ext;")),
+        ImmutableList.of(SourceFile.fromCode("a.js", "var a = {}; a.b = 1;")),
+        new CompilerOptions());
+    compiler.parse();
+    cache = compiler.getGlobalNamespaceCache();
+    externs = compiler.getExternsRoot();
+    root = compiler.getJsRoot();
+  }
+
+  @Test
+  public void testSharedWhileCodeIsUnchanged() {
+    GlobalNamespace namespace = cache.get(externs, root);
+
+    assertThat(cache.get(externs, root)).isSameInstanceAs(namespace);
+    assertThat(namespace.getSlot("a.b")).isNotNull();
+    assertThat(namespace.getSlot("ext")).isNotNull();
+  }
+
+  @Test
+  public void testRebuiltAfterChange() {
+    GlobalNamespace namespace = cache.get(externs, root);
+    Node script = root.getFirstChild();
+    script.addChildToBack(IR.var(IR.name("c")));
+    compiler.reportChangeToChangeScope(script);
+
+    GlobalNamespace rebuilt = cache.get(externs, root);
+    assertThat(rebuilt).isNotSameInstanceAs(namespace);
+    assertThat(rebuilt.getSlot("c")).isNotNull();
+  }
+
+  @Test
+  public void testReleasedOnFirstChange() {
+    cache.get(externs, root);
+    cache.getWithoutExterns(root);
+    assertThat(cache.isEmpty()).isFalse();
+
+    compiler.reportChangeToChangeScope(root.getFirstChild());
+
+    // Released without waiting for the next lookup.
+    assertThat(cache.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testRebuiltAfterInvalidation() {
+    GlobalNamespace namespace = cache.get(externs, root);
+    cache.invalidate();
+
+    assertThat(cache.get(externs, root)).isNotSameInstanceAs(namespace);
+  }
+
+  @Test
+  public void testWithoutExterns() {
+    GlobalNamespace namespace = cache.getWithoutExterns(root);
+
+    assertThat(cache.getWithoutExterns(root)).isSameInstanceAs(namespace);
+    assertThat(namespace).isNotSameInstanceAs(cache.get(externs, root));
+    assertThat(namespace.getSlot("ext")).isNull();
+  }
+
+  @Test
+  public void testOtherRootsAreNotShared() {
+    Node otherRoot = IR.root(IR.script());
+
+    assertThat(cache.get(externs, otherRoot)).isNotSameInstanceAs(cache.get(externs, otherRoot));
+  }
+}
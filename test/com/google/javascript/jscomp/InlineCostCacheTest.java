@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link InlineCostCache}. */
+@RunWith(JUnit4.class)
+public final class InlineCostCacheTest {
+
+  private Compiler compiler;
+  private InlineCostCache cache;
+  private Node f;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    compiler.init(
+        ImmutableList.of(SourceFile.fromCode("externs.js", "")),
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "function f(x) { if (x) { return 1; } return 2; }")),
+        new CompilerOptions());
+    compiler.parse();
+    cache = compiler.getInlineCostCache();
+    f = compiler.getJsRoot().getFirstFirstChild();
+  }
+
+  @Test
+  public void testMatchesEstimator() {
+    int cost = InlineCostEstimator.getCost(f);
+    assertThat(cache.isCostAtMost(f, cost, true)).isTrue();
+    assertThat(cache.isCostAtMost(f, cost - 1, true)).isFalse();
+    assertThat(cache.isCostAtMost(f, cost + 10, true)).isTrue();
+    assertThat(cache.getSummary()).startsWith("2 of 3 cost checks reused an estimate");
+  }
+
+  @Test
+  public void testLowerBoundOnlyAnswersLowerThresholds() {
+    int cost = InlineCostEstimator.getCost(f);
+    assertThat(cache.isCostAtMost(f, 5, true)).isFalse();
+    assertThat(cache.isCostAtMost(f, 4, true)).isFalse();
+    assertThat(cache.getSummary()).startsWith("1 of 2 cost checks reused an estimate");
+
+    // The first estimate stopped early, so a higher threshold needs a new one.
+    assertThat(cache.isCostAtMost(f, cost, true)).isTrue();
+    assertThat(cache.getSummary()).startsWith("1 of 3 cost checks reused an estimate");
+  }
+
+  @Test
+  public void testEstimatedAgainAfterChange() {
+    int cost = InlineCostEstimator.getCost(f);
+    assertThat(cache.isCostAtMost(f, cost, true)).isTrue();
+
+    f.getLastChild().addChildToBack(IR.exprResult(IR.call(IR.name("g"))));
+    compiler.reportChangeToChangeScope(f);
+    assertThat(cache.isCostAtMost(f, cost, true)).isFalse();
+    assertThat(cache.getSummary()).startsWith("0 of 2 cost checks reused an estimate");
+  }
+
+  @Test
+  public void testEstimatedAgainAfterClear() {
+    int cost = InlineCostEstimator.getCost(f);
+    assertThat(cache.isCostAtMost(f, cost, true)).isTrue();
+
+    cache.clear();
+    assertThat(cache.isCostAtMost(f, cost, true)).isTrue();
+    assertThat(cache.getSummary()).startsWith("0 of 2 cost checks reused an estimate");
+  }
+
+  @Test
+  public void testNotCacheable() {
+    int cost = InlineCostEstimator.getCost(f);
+    assertThat(cache.isCostAtMost(f, cost, false)).isTrue();
+    assertThat(cache.isCostAtMost(f, cost, false)).isTrue();
+    assertThat(cache.getSummary()).startsWith("0 of 2 cost checks reused an estimate");
+  }
+
+  @Test
+  public void testReturnCount() {
+    assertThat(cache.getReturnCount(f, true)).isEqualTo(2);
+
+    f.getLastChild().addChildToBack(IR.returnNode());
+    assertThat(cache.getReturnCount(f, true)).isEqualTo(2);
+
+    compiler.reportChangeToChangeScope(f);
+    assertThat(cache.getReturnCount(f, true)).isEqualTo(3);
+  }
+
+  @Test
+  public void testSummaryCountsDecisions() {
+    cache.recordInliningDecision(true);
+    cache.recordInliningDecision(false);
+    assertThat(cache.getSummary()).endsWith("1 functions inlined of 2 decided by cost");
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.Compiler.ChunkGraphAwareLicenseTracker;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link ParallelChunkPrinter}. */
+@RunWith(JUnit4.class)
+public final class ParallelChunkPrinterTest {
+
+  @Test
+  public void testOutputMatchesSequentialPrinting() throws Exception {
+    JSChunk m1 = new JSChunk("m1");
+    m1.add(SourceFile.fromCode("a.js", "/** @license License A */ var a = 1;"));
+    m1.add(SourceFile.fromCode("b.js", "/** @license License B */ var b = a + 1;"));
+    JSChunk m2 = new JSChunk("m2");
+    m2.addDependency(m1);
+    m2.add(SourceFile.fromCode("c.js", "/** @license License A */ alert(a);"));
+    m2.add(SourceFile.fromCode("d.js", "/** @license License C */ alert(b);"));
+    JSChunk m3 = new JSChunk("m3");
+    m3.addDependency(m1);
+    m3.add(SourceFile.fromCode("e.js", "/** @license License C */ alert(a + b);"));
+    ImmutableList<JSChunk> chunks = ImmutableList.of(m1, m2, m3);
+
+    CompilerOptions options = new CompilerOptions();
+    options.setSourceMapOutputPath("out.js.map");
+    options.setPrintInputDelimiter(true);
+    Compiler compiler = new Compiler();
+    Result result =
+        compiler.compileChunks(
+            ImmutableList.of(SourceFile.fromCode("externs.js", "function alert(x) {}")),
+            chunks,
+            options);
+    assertThat(result.success).isTrue();
+
+    Map<String, String> expectedCode = new LinkedHashMap<>();
+    Map<String, String> expectedSourceMaps = new LinkedHashMap<>();
+    ChunkGraphAwareLicenseTracker licenseTracker = new ChunkGraphAwareLicenseTracker(compiler);
+    for (JSChunk chunk : chunks) {
+      compiler.resetAndIntitializeSourceMap();
+      licenseTracker.setCurrentChunkContext(chunk);
+      expectedCode.put(chunk.getName(), compiler.toSource(licenseTracker, chunk));
+      StringBuilder sourceMap = new StringBuilder();
+      compiler.getSourceMap().appendTo(sourceMap, chunk.getName() + ".js");
+      expectedSourceMaps.put(chunk.getName(), sourceMap.toString());
+    }
+
+    Map<String, String> code = new ConcurrentHashMap<>();
+    Map<String, String> sourceMaps = new ConcurrentHashMap<>();
+    new ParallelChunkPrinter(compiler, 4)
+        .print(
+            chunks,
+            new ChunkGraphAwareLicenseTracker(compiler),
+            (chunk, chunkCode, sourceMap) -> {
+              code.put(chunk.getName(), chunkCode);
+              StringBuilder sb = new StringBuilder();
+              sourceMap.appendTo(sb, chunk.getName() + ".js");
+              sourceMaps.put(chunk.getName(), sb.toString());
+            });
+
+    assertThat(code).containsExactlyEntriesIn(expectedCode);
+    assertThat(sourceMaps).containsExactlyEntriesIn(expectedSourceMaps);
+    assertThat(code.get("m2")).contains("License C");
+    assertThat(code.get("m2")).doesNotContain("License A");
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.ParserRunner;
+import com.google.javascript.rhino.ErrorReporter;
+import com.google.javascript.rhino.Node;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link ParseCache}. */
+@RunWith(JUnit4.class)
+public final class ParseCacheTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final String CODE =
+      """
+      var ns = {};
+      ns.count = function(names) {
+        return names.length + 1.5 + 2n;
+      };
+      class C { #x = `a${ns.count([])}b\\n`; }
+      """;
+
+  private Path cacheDirectory;
+  private ParseCache cache;
+  private Config config;
+
+  @Before
+  public void setUp() throws IOException {
+    cacheDirectory = temporaryFolder.getRoot().toPath().resolve("cache");
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+    cache = new ParseCache(compiler, cacheDirectory, "v1");
+    config = compiler.getParserConfig(AbstractCompiler.ConfigContext.DEFAULT);
+  }
+
+  @Test
+  public void testCachedAstIsIdentical() {
+    SourceFile file = SourceFile.fromCode("a.js", CODE);
+    ParserRunner.ParseResult parsed = cache.parse(file, CODE, config, ErrorReporter.NULL_INSTANCE);
+    assertThat(cacheEntries()).hasSize(1);
+
+    // Restore the entry for a different instance of the same file.
+    SourceFile sameFile = SourceFile.fromCode("a.js", CODE);
+    ParserRunner.ParseResult restored =
+        cache.load(cache.computeKey(sameFile, CODE, config), sameFile);
+
+    assertThat(restored).isNotNull();
+    assertThat(restored.features).isEqualTo(parsed.features);
+    assertThat(restored.ast.isEquivalentTo(parsed.ast, false, true, true, true)).isTrue();
+    assertThat(restored.ast.toStringTree()).isEqualTo(parsed.ast.toStringTree());
+    Node function = restored.ast.getSecondChild().getFirstChild().getSecondChild();
+    assertThat(function.isFunction()).isTrue();
+    assertThat(function.getStaticSourceFile()).isSameInstanceAs(sameFile);
+    assertThat(function.getFirstChild().getStaticSourceFile()).isSameInstanceAs(sameFile);
+    assertThat(
+            Node.validateMemorySensitivePropertyGuarantees(
+                function, false, function.getLastChild(), false))
+        .isTrue();
+  }
+
+  @Test
+  public void testAstWithTypeAnnotationsIsNotStored() {
+    // The TypedAST encoding doesn't keep type annotations.
+    String code = "/** @param {number} x */ function f(x) {}";
+    SourceFile file = SourceFile.fromCode("a.js", code);
+    ParserRunner.ParseResult result = cache.parse(file, code, config, ErrorReporter.NULL_INSTANCE);
+
+    assertThat(result.ast.getFirstChild().getJSDocInfo().hasParameterType("x")).isTrue();
+    assertThat(cacheEntries()).isEmpty();
+  }
+
+  @Test
+  public void testUncacheableAstIsOnlyCheckedOnce() throws IOException {
+    String code = "/** @param {number} x */ function f(x) {}";
+    SourceFile file = SourceFile.fromCode("a.js", code);
+    cache.parse(file, code, config, ErrorReporter.NULL_INSTANCE);
+    Path marker = cacheDirectory.resolve(cache.computeKey(file, code, config) + ".uncacheable");
+    assertThat(Files.exists(marker)).isTrue();
+
+    // The marker skips the serialization check, which would write it again, on the next parse of
+    // the same file.
+    Files.setLastModifiedTime(marker, FileTime.fromMillis(0));
+    ParserRunner.ParseResult result = cache.parse(file, code, config, ErrorReporter.NULL_INSTANCE);
+    assertThat(result.ast.getFirstChild().isFunction()).isTrue();
+    assertThat(Files.getLastModifiedTime(marker)).isEqualTo(FileTime.fromMillis(0));
+    assertThat(cacheEntries()).isEmpty();
+  }
+
+  @Test
+  public void testSourceMappingUrlIsCached() {
+    String code = "var x;\n//# sourceMappingURL=a.js.map\n";
+    SourceFile file = SourceFile.fromCode("a.js", code);
+    cache.parse(file, code, config, ErrorReporter.NULL_INSTANCE);
+
+    ParserRunner.ParseResult restored = cache.load(cache.computeKey(file, code, config), file);
+    assertThat(restored).isNotNull();
+    assertThat(restored.sourceMapURL).isEqualTo("a.js.map");
+  }
+
+  @Test
+  public void testKeyDependsOnContentNameAndVersion() {
+    SourceFile file = SourceFile.fromCode("a.js", CODE);
+    String key = cache.computeKey(file, CODE, config);
+
+    assertThat(cache.computeKey(SourceFile.fromCode("a.js", CODE), CODE, config)).isEqualTo(key);
+    assertThat(cache.computeKey(file, CODE + "\n", config)).isNotEqualTo(key);
+    assertThat(cache.computeKey(SourceFile.fromCode("b.js", CODE), CODE, config))
+        .isNotEqualTo(key);
+    assertThat(new ParseCache(new Compiler(), cacheDirectory, "v2").computeKey(file, CODE, config))
+        .isNotEqualTo(key);
+  }
+
+  @Test
+  public void testAstWithDiagnosticsIsNotStored() {
+    String code = "/** @type {number */ var x;";
+    cache.parse(SourceFile.fromCode("a.js", code), code, config, ErrorReporter.NULL_INSTANCE);
+
+    assertThat(cacheEntries()).isEmpty();
+  }
+
+  @Test
+  public void testUnreadableEntryIsParsedAgain() throws IOException {
+    SourceFile file = SourceFile.fromCode("a.js", CODE);
+    cache.parse(file, CODE, config, ErrorReporter.NULL_INSTANCE);
+    Files.writeString(cacheEntries().get(0), "not an ast");
+
+    assertThat(cache.load(cache.computeKey(file, CODE, config), file)).isNull();
+    ParserRunner.ParseResult result = cache.parse(file, CODE, config, ErrorReporter.NULL_INSTANCE);
+    assertThat(result.ast.isScript()).isTrue();
+  }
+
+  @Test
+  public void testCompilationWithCacheMatchesCompilationWithout() {
+    String expected = compile(null);
+    assertThat(compile(cacheDirectory)).isEqualTo(expected);
+    assertThat(cacheEntries()).hasSize(1);
+    // The second compilation reads the AST from the cache.
+    assertThat(compile(cacheDirectory)).isEqualTo(expected);
+  }
+
+  private static String compile(Path parseCacheDirectory) {
+    CompilerOptions options = new CompilerOptions();
+    options.setParseCache(parseCacheDirectory, "v1");
+    options.setCheckTypes(true);
+    Compiler compiler = new Compiler();
+    Result result =
+        compiler.compile(
+            ImmutableList.of(SourceFile.fromCode("externs.js", "")),
+            ImmutableList.of(SourceFile.fromCode("a.js", CODE)),
+            options);
+    assertThat(result.success).isTrue();
+    return compiler.toSource();
+  }
+
+  private ImmutableList<Path> cacheEntries() {
+    if (!Files.isDirectory(cacheDirectory)) {
+      return ImmutableList.of();
+    }
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      return files
+          .filter((Path file) -> file.toString().endsWith(".ast"))
+          .collect(ImmutableList.toImmutableList());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
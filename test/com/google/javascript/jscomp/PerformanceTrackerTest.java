@@ -169,6 +169,8 @@ public final class PerformanceTrackerTest {
 
             DisambiguateProperties: not executed
             AmbiguateProperties: not executed
+            InlineFunctions: not executed
+            GlobalScope: not computed
 
             Inputs:
             JS lines:   [0-9]+
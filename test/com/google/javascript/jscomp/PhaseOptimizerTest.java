@@ -20,13 +20,19 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.PhaseOptimizer.Loop;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet.Feature;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -177,6 +183,176 @@ public final class PhaseOptimizerTest {
     }
   }
 
+  @Test
+  public void testScriptLocalPassRunsOnEachScript() {
+    compiler.getOptions().setNumParallelThreads(4);
+    optimizer = new PhaseOptimizer(compiler, tracker);
+    DiagnosticType warning = DiagnosticType.warning("JSC_TEST_WARNING", "{0}");
+    List<Node> scripts = new ArrayList<>();
+    Node root = IR.root();
+    for (int i = 0; i < 10; i++) {
+      Node script = IR.script();
+      script.setStaticSourceFile(SourceFile.fromCode("script" + i + ".js", ""));
+      root.addChildToBack(script);
+      scripts.add(script);
+    }
+    List<Node> processedRoots = Collections.synchronizedList(new ArrayList<>());
+    optimizer.addOneTimePass(
+        PassFactory.builder()
+            .setName("scriptLocal")
+            .setScriptLocal(true)
+            .setInternalFactory(
+                (compiler) ->
+                    (externs, script) -> {
+                      processedRoots.add(script);
+                      compiler.reportChangeToChangeScope(script);
+                      compiler.report(JSError.make(script, warning, script.getSourceFileName()));
+                    })
+            .build());
+
+    optimizer.process(null, root);
+
+    assertThat(processedRoots).containsExactlyElementsIn(scripts);
+    for (Node script : scripts) {
+      assertThat(script.getChangeTime()).isGreaterThan(0);
+    }
+    // Diagnostics are reported in script order, regardless of which thread finished first.
+    assertThat(compiler.getWarnings().stream().map(JSError::description))
+        .containsExactly(
+            "script0.js", "script1.js", "script2.js", "script3.js", "script4.js", "script5.js",
+            "script6.js", "script7.js", "script8.js", "script9.js")
+        .inOrder();
+  }
+
+  @Test
+  public void testScriptLocalPassRunsOnRootWithoutParallelThreads() {
+    List<Node> processedRoots = new ArrayList<>();
+    optimizer.addOneTimePass(
+        PassFactory.builder()
+            .setName("scriptLocal")
+            .setScriptLocal(true)
+            .setInternalFactory((compiler) -> (externs, root) -> processedRoots.add(root))
+            .build());
+
+    optimizer.process(null, dummyRoot);
+
+    assertThat(processedRoots).containsExactly(dummyRoot);
+  }
+
+  @Test
+  public void testChangeScopeLocalPassRunsOnChangedScopes() {
+    compiler.getOptions().setNumParallelThreads(4);
+    optimizer = new PhaseOptimizer(compiler, tracker);
+    Node f = IR.function(IR.name("f"), IR.paramList(), IR.block());
+    Node h = IR.function(IR.name("h"), IR.paramList(), IR.block());
+    Node g = IR.function(IR.name("g"), IR.paramList(), IR.block(h));
+    dummyScript.addChildToBack(f);
+    dummyScript.addChildToBack(g);
+    List<ImmutableSet<Node>> processedGroups = Collections.synchronizedList(new ArrayList<>());
+    Loop loop = optimizer.addFixedPointLoop();
+    loop.addLoopedPass(
+        PassFactory.builder()
+            .setName("changeScopeLocal")
+            .setRunInFixedPointLoop(true)
+            .setChangeScopeLocal(true)
+            .setInternalFactory(
+                (compiler) ->
+                    new ChangeScopeLocalPass() {
+                      @Override
+                      public Map<Node, FeatureSet> processChangeScopes(
+                          List<Node> changeScopeRoots) {
+                        processedGroups.add(ImmutableSet.copyOf(changeScopeRoots));
+                        return ImmutableMap.of();
+                      }
+
+                      @Override
+                      public void process(Node externs, Node root) {
+                        throw new AssertionError();
+                      }
+                    })
+            .build());
+    int[] numRuns = new int[1];
+    loop.addLoopedPass(
+        createPassFactory(
+            "changer",
+            (externs, root) -> {
+              if (numRuns[0]++ == 0) {
+                compiler.reportChangeToChangeScope(f);
+                compiler.reportChangeToChangeScope(g);
+                compiler.reportChangeToChangeScope(h);
+              }
+            },
+            false));
+
+    optimizer.process(null, dummyRoot);
+
+    // Every scope is processed on the first run. Then only the changed scopes are, and a changed
+    // scope is processed together with the changed scopes nested in it.
+    assertThat(processedGroups)
+        .containsExactly(
+            ImmutableSet.of(dummyScript, f, g, h), ImmutableSet.of(f), ImmutableSet.of(g, h));
+    assertThat(processedGroups.get(0)).isEqualTo(ImmutableSet.of(dummyScript, f, g, h));
+  }
+
+  @Test
+  public void testChangeScopeLocalPassFeaturesOfOneScriptAreMerged() {
+    compiler.getOptions().setNumParallelThreads(4);
+    optimizer = new PhaseOptimizer(compiler, tracker);
+    Node f = IR.function(IR.name("f"), IR.paramList(), IR.block());
+    Node g = IR.function(IR.name("g"), IR.paramList(), IR.block());
+    dummyScript.addChildToBack(f);
+    dummyScript.addChildToBack(g);
+    Loop loop = optimizer.addFixedPointLoop();
+    loop.addLoopedPass(
+        PassFactory.builder()
+            .setName("changeScopeLocal")
+            .setRunInFixedPointLoop(true)
+            .setChangeScopeLocal(true)
+            .setInternalFactory(
+                (compiler) ->
+                    new ChangeScopeLocalPass() {
+                      @Override
+                      public Map<Node, FeatureSet> processChangeScopes(
+                          List<Node> changeScopeRoots) {
+                        // After the first run, each changed function is processed by its own
+                        // instance, possibly at the same time, and adds a feature to the script.
+                        if (changeScopeRoots.contains(dummyScript)) {
+                          return ImmutableMap.of();
+                        }
+                        FeatureSet features = FeatureSet.BARE_MINIMUM;
+                        if (changeScopeRoots.contains(f)) {
+                          features = features.with(Feature.LET_DECLARATIONS);
+                        }
+                        if (changeScopeRoots.contains(g)) {
+                          features = features.with(Feature.CONST_DECLARATIONS);
+                        }
+                        return ImmutableMap.of(dummyScript, features);
+                      }
+
+                      @Override
+                      public void process(Node externs, Node root) {
+                        throw new AssertionError();
+                      }
+                    })
+            .build());
+    int[] numRuns = new int[1];
+    loop.addLoopedPass(
+        createPassFactory(
+            "changer",
+            (externs, root) -> {
+              if (numRuns[0]++ == 0) {
+                compiler.reportChangeToChangeScope(f);
+                compiler.reportChangeToChangeScope(g);
+              }
+            },
+            false));
+
+    optimizer.process(null, dummyRoot);
+
+    assertThat(NodeUtil.getFeatureSetOfScript(dummyScript).getFeatures())
+        .containsAtLeast(Feature.LET_DECLARATIONS, Feature.CONST_DECLARATIONS);
+  }
+
   public void assertPasses(String... names) {
     optimizer.process(null, dummyRoot);
     assertThat(passesRun).isEqualTo(ImmutableList.copyOf(names));
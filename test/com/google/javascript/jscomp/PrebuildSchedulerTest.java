@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link PrebuildScheduler}. */
+@RunWith(JUnit4.class)
+public final class PrebuildSchedulerTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testRunsLargestInputsFirst() {
+    ImmutableList<CompilerInput> inputs =
+        ImmutableList.of(input("small.js", 10), input("large.js", 1000), input("medium.js", 100));
+    List<String> order = new ArrayList<>();
+
+    new PrebuildScheduler(1).run(inputs, input -> order.add(input.getName()));
+
+    assertThat(order).containsExactly("large.js", "medium.js", "small.js").inOrder();
+  }
+
+  @Test
+  public void testBoundsEstimatedMemoryInFlight() {
+    ImmutableList.Builder<CompilerInput> inputs = ImmutableList.builder();
+    for (int i = 0; i < 20; i++) {
+      inputs.add(input("input" + i + ".js", 100));
+    }
+    AtomicInteger inFlight = new AtomicInteger();
+    List<Integer> observed = Collections.synchronizedList(new ArrayList<>());
+
+    // Each input is estimated to take 1600 bytes, so at most two fit in the budget.
+    new PrebuildScheduler(8, 3200)
+        .run(
+            inputs.build(),
+            input -> {
+              observed.add(inFlight.incrementAndGet());
+              try {
+                Thread.sleep(5);
+              } catch (InterruptedException e) {
+                throw new AssertionError(e);
+              }
+              inFlight.decrementAndGet();
+            });
+
+    assertThat(observed).hasSize(20);
+    assertThat(Collections.max(observed)).isAtMost(2);
+  }
+
+  @Test
+  public void testRunsInputLargerThanBudget() {
+    List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+    new PrebuildScheduler(2, 1)
+        .run(
+            ImmutableList.of(input("a.js", 100), input("b.js", 100)),
+            input -> done.add(input.getName()));
+
+    assertThat(done).containsExactly("a.js", "b.js");
+  }
+
+  @Test
+  public void testReadsInputsFromDisk() throws Exception {
+    Path path = temporaryFolder.newFile("a.js").toPath();
+    Files.writeString(path, "var a = 1;", UTF_8);
+    CompilerInput input = new CompilerInput(SourceFile.fromPath(path, UTF_8));
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+
+    new PrebuildScheduler(2).run(ImmutableList.of(input), i -> i.getAstRoot(compiler));
+
+    assertThat(input.getAstRoot(compiler).getFirstChild().isVar()).isTrue();
+  }
+
+  @Test
+  public void testPropagatesFailures() {
+    ImmutableList<CompilerInput> inputs =
+        ImmutableList.of(input("a.js", 10), input("b.js", 20), input("c.js", 30));
+
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                new PrebuildScheduler(2)
+                    .run(
+                        inputs,
+                        input -> {
+                          if (input.getName().equals("b.js")) {
+                            throw new IllegalStateException("b.js failed");
+                          }
+                        }));
+
+    assertThat(e).hasCauseThat().hasCauseThat().hasMessageThat().isEqualTo("b.js failed");
+  }
+
+  private static CompilerInput input(String name, int length) {
+    return new CompilerInput(SourceFile.fromCode(name, Strings.repeat(" ", length)));
+  }
+}
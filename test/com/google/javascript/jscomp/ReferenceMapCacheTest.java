@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link ReferenceMapCache}. */
+@RunWith(JUnit4.class)
+public final class ReferenceMapCacheTest {
+
+  private Compiler compiler;
+  private ReferenceMapCache cache;
+  private Node externs;
+  private Node root;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    compiler.init(
+        ImmutableList.of(SourceFile.fromCode("externs.js", "var ext;")),
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "function f(x) { g(); } function g() {} f(1);")),
+        new CompilerOptions());
+    compiler.parse();
+    cache = compiler.getReferenceMapCache();
+    externs = compiler.getExternsRoot();
+    root = compiler.getJsRoot();
+  }
+
+  @Test
+  public void testReplaysNodesInTraversalOrder() {
+    assertThat(referenceNames(true)).containsExactly("ext", "f", "x", "g", "g", "f").inOrder();
+    assertThat(referenceNames(false)).containsExactly("f", "x", "g", "g", "f").inOrder();
+  }
+
+  @Test
+  public void testOnlyChangedScopesAreTraversedAgain() {
+    referenceNames(true);
+    Node g = root.getFirstChild().getSecondChild();
+    g.getLastChild().addChildToBack(IR.exprResult(IR.call(IR.name("h"))));
+
+    // The change isn't reported yet, so the nodes of `g` are replayed as they were.
+    assertThat(referenceNames(true)).containsExactly("ext", "f", "x", "g", "g", "f").inOrder();
+
+    compiler.reportChangeToChangeScope(g);
+    assertThat(referenceNames(true))
+        .containsExactly("ext", "f", "x", "g", "g", "h", "f")
+        .inOrder();
+  }
+
+  @Test
+  public void testRemovedFunctionIsNotReplayed() {
+    referenceNames(true);
+    Node script = root.getFirstChild();
+    Node g = script.getSecondChild();
+    g.detach();
+    compiler.reportChangeToChangeScope(script);
+    compiler.reportFunctionDeleted(g);
+
+    assertThat(referenceNames(true)).containsExactly("ext", "f", "x", "g", "f").inOrder();
+  }
+
+  @Test
+  public void testTraversedAgainAfterInvalidation() {
+    referenceNames(true);
+    Node f = root.getFirstChild().getFirstChild();
+    f.getLastChild().removeChildren();
+    cache.invalidate();
+
+    assertThat(referenceNames(true)).containsExactly("ext", "f", "x", "g", "f").inOrder();
+  }
+
+  @Test
+  public void testOtherRootsAreNotCacheable() {
+    assertThat(cache.isCacheable(externs, root)).isTrue();
+    assertThat(cache.isCacheable(externs, IR.root(IR.script()))).isFalse();
+  }
+
+  private List<String> referenceNames(boolean includeExterns) {
+    List<String> names = new ArrayList<>();
+    cache.forEachReferenceNode(externs, root, includeExterns, (n) -> names.add(n.getString()));
+    return names;
+  }
+}
@@ -47,6 +47,7 @@ public final class RemoveUnusedCodeTest extends CompilerTestCase {
 
   private boolean removeGlobal;
   private boolean preserveFunctionExpressionNames;
+  private int numParallelThreads;
 
   public RemoveUnusedCodeTest() {
     // Set up externs to be used in the test cases.
@@ -101,11 +102,14 @@ public final class RemoveUnusedCodeTest extends CompilerTestCase {
     enableGatherExternProperties();
     removeGlobal = true;
     preserveFunctionExpressionNames = false;
+    numParallelThreads = 1;
   }
 
   @Override
   protected CompilerOptions getOptions() {
-    return super.getOptions();
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
   }
 
   @Override
@@ -3033,6 +3037,32 @@ public final class RemoveUnusedCodeTest extends CompilerTestCase {
             """));
   }
 
+  @Test
+  public void testRemoveUnusedPolyfills_guardedUsagesFoundOnThreads() {
+    numParallelThreads = 2;
+    Externs externs =
+        externs(
+            new TestExternsBuilder().addConsole().addPromise().addExtra(JSCOMP_POLYFILL).build());
+
+    test(
+        externs,
+        srcs(
+            "$jscomp.polyfill('Promise', function() {}, 'es6', 'es3');",
+            "console.log(Promise?.resolve());",
+            "console.log(Promise && Promise.resolve());"),
+        expected(
+            "",
+            "console.log(Promise?.resolve());",
+            "console.log(Promise && Promise.resolve());"));
+
+    testSame(
+        externs,
+        srcs(
+            "$jscomp.polyfill('Promise', function() {}, 'es6', 'es3');",
+            "console.log(Promise?.resolve());",
+            "console.log(Promise.resolve());"));
+  }
+
   @Test
   public void testRemoveUnusedPolyfills_collapsedPolyfillFunction() {
     Externs externs =
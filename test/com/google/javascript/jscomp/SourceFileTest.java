@@ -316,6 +316,66 @@ public final class SourceFileTest {
     assertThat(newFile.getName()).isEqualTo("original_test.js");
   }
 
+  @Test
+  public void testDiskFileExcerptsDoNotLoadCode() throws IOException {
+    String content = "var a;\nvar \u00e9;\n\nvar c;\nvar d;\nvar e;\nvar f;\n";
+    Path tempFile = folder.newFile("test.js").toPath();
+    MoreFiles.asCharSink(tempFile, UTF_8).write(content);
+    SourceFile onDisk = SourceFile.fromPath(tempFile, UTF_8);
+    SourceFile preloaded = SourceFile.fromCode("preloaded.js", content);
+
+    for (int line = -1; line <= 10; line++) {
+      assertThat(onDisk.getLine(line)).isEqualTo(preloaded.getLine(line));
+      Region region = onDisk.getRegion(line);
+      Region expectedRegion = preloaded.getRegion(line);
+      if (expectedRegion == null) {
+        assertThat(region).isNull();
+      } else {
+        assertThat(region.getSourceExcerpt()).isEqualTo(expectedRegion.getSourceExcerpt());
+        assertThat(region.getBeginningLineNumber())
+            .isEqualTo(expectedRegion.getBeginningLineNumber());
+        assertThat(region.getEndingLineNumber()).isEqualTo(expectedRegion.getEndingLineNumber());
+      }
+      for (int length = -1; length <= 20; length += 7) {
+        Region lines = onDisk.getLines(line, length);
+        Region expectedLines = preloaded.getLines(line, length);
+        if (expectedLines == null) {
+          assertThat(lines).isNull();
+        } else {
+          assertThat(lines.getSourceExcerpt()).isEqualTo(expectedLines.getSourceExcerpt());
+          assertThat(lines.getBeginningLineNumber())
+              .isEqualTo(expectedLines.getBeginningLineNumber());
+          assertThat(lines.getEndingLineNumber()).isEqualTo(expectedLines.getEndingLineNumber());
+        }
+      }
+    }
+    assertThat(onDisk.hasSourceInMemory()).isFalse();
+  }
+
+  @Test
+  public void testDiskFileExcerptsAreReadAgainAfterClearingCachedSource() throws IOException {
+    Path tempFile = folder.newFile("test.js").toPath();
+    MoreFiles.asCharSink(tempFile, UTF_8).write("var a;\nvar b;");
+    SourceFile onDisk = SourceFile.fromPath(tempFile, UTF_8);
+    assertThat(onDisk.getLine(2)).isEqualTo("var b;");
+
+    MoreFiles.asCharSink(tempFile, UTF_8).write("var a;\nvar c;\n");
+    onDisk.clearCachedSource();
+    assertThat(onDisk.getLine(2)).isEqualTo("var c;");
+    assertThat(onDisk.getLines(1, 100).getSourceExcerpt()).isEqualTo("var a;\nvar c;");
+  }
+
+  @Test
+  public void testDiskFileExcerptSkipsByteOrderMark() throws IOException {
+    Path tempFile = folder.newFile("test.js").toPath();
+    MoreFiles.asCharSink(tempFile, UTF_8).write("\uFEFFvar a;\nvar b;");
+    SourceFile onDisk = SourceFile.fromPath(tempFile, UTF_8);
+
+    assertThat(onDisk.getLine(1)).isEqualTo("var a;");
+    assertThat(onDisk.getRegion(1).getSourceExcerpt()).isEqualTo("var a;\nvar b;");
+    assertThat(onDisk.getCode()).isEqualTo("var a;\nvar b;");
+  }
+
   @Test
   public void testGetLines() {
     SourceFile sourceFile =
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TypeInferencePass}. */
+@RunWith(JUnit4.class)
+public final class TypeInferencePassTest {
+  private static final String CODE =
+      """
+      /** @const */
+      var ns = {};
+      var counter = 0;
+      /** @param {string} s */
+      function takesString(s) {}
+
+      function increment() {
+        counter = counter + 1;
+      }
+
+      /** @param {number} n */
+      function outer(n) {
+        var local = n > 0 ? 'positive' : null;
+        function inner() {
+          var copy = local;
+          takesString(copy);
+          return copy;
+        }
+        ns.value = inner();
+        return inner;
+      }
+
+      /** @return {number} */
+      function isolated() {
+        var obj = {a: 1, b: 'b'};
+        var f = outer.call(null, obj.a);
+        takesString(obj.a);
+        return obj.b;
+      }
+
+      class C {
+        constructor() {
+          /** @type {number} */
+          this.x = 0;
+        }
+        method() {
+          var y = this.x;
+          takesString(y);
+        }
+      }
+      """;
+
+  @Test
+  public void testParallelInferenceMatchesSequentialInference() {
+    Compiler sequential = compile(1);
+    Compiler parallel = compile(4);
+
+    assertThat(descriptions(parallel.getWarnings())).isNotEmpty();
+    assertThat(descriptions(parallel.getWarnings()))
+        .containsExactlyElementsIn(descriptions(sequential.getWarnings()))
+        .inOrder();
+    assertThat(descriptions(parallel.getErrors()))
+        .containsExactlyElementsIn(descriptions(sequential.getErrors()))
+        .inOrder();
+    assertThat(nodeTypes(parallel.getJsRoot()))
+        .containsExactlyElementsIn(nodeTypes(sequential.getJsRoot()))
+        .inOrder();
+  }
+
+  @Test
+  public void testParallelInferenceIsDeterministic() {
+    ImmutableList<String> expected = descriptions(compile(4).getWarnings());
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(descriptions(compile(4).getWarnings())).isEqualTo(expected);
+    }
+  }
+
+  private static Compiler compile(int numParallelThreads) {
+    CompilerOptions options = new CompilerOptions();
+    options.setCheckTypes(true);
+    options.setNumParallelThreads(numParallelThreads);
+    Compiler compiler = new Compiler();
+    compiler.compile(
+        ImmutableList.of(SourceFile.fromCode("externs.js", "")),
+        ImmutableList.of(SourceFile.fromCode("a.js", CODE)),
+        options);
+    return compiler;
+  }
+
+  private static ImmutableList<String> descriptions(List<JSError> diagnostics) {
+    return diagnostics.stream().map(JSError::toString).collect(ImmutableList.toImmutableList());
+  }
+
+  /** The inferred type of every node, in pre-order. */
+  private static List<String> nodeTypes(Node root) {
+    List<String> types = new ArrayList<>();
+    NodeUtil.visitPreOrder(
+        root,
+        n -> types.add(n.getToken() + " " + (n.getJSType() == null ? "" : n.getJSType())));
+    return types;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TypedAstCache}. */
+@RunWith(JUnit4.class)
+public final class TypedAstCacheTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final ImmutableList<SourceFile> EXTERNS =
+      ImmutableList.of(SourceFile.fromCode("externs.js", "var window;"));
+
+  @Test
+  public void testKeyIsStableForSameInputs() throws Exception {
+    String key1 =
+        TypedAstCache.computeKey(
+            "--checks_only", EXTERNS, ImmutableList.of(SourceFile.fromCode("a.js", "var a;")));
+    String key2 =
+        TypedAstCache.computeKey(
+            "--checks_only", EXTERNS, ImmutableList.of(SourceFile.fromCode("a.js", "var a;")));
+
+    assertThat(key1).isEqualTo(key2);
+  }
+
+  @Test
+  public void testKeyDependsOnContent() throws Exception {
+    String key1 =
+        TypedAstCache.computeKey(
+            "--checks_only", EXTERNS, ImmutableList.of(SourceFile.fromCode("a.js", "var a;")));
+    String key2 =
+        TypedAstCache.computeKey(
+            "--checks_only", EXTERNS, ImmutableList.of(SourceFile.fromCode("a.js", "var b;")));
+
+    assertThat(key1).isNotEqualTo(key2);
+  }
+
+  @Test
+  public void testKeyDependsOnConfigurationAndFileBoundaries() throws Exception {
+    ImmutableList<SourceFile> sources = ImmutableList.of(SourceFile.fromCode("a.js", "var a;"));
+    String key = TypedAstCache.computeKey("--checks_only", EXTERNS, sources);
+
+    assertThat(TypedAstCache.computeKey("--checks_only --debug", EXTERNS, sources))
+        .isNotEqualTo(key);
+    // Moving a file from the externs to the sources changes the key.
+    assertThat(
+            TypedAstCache.computeKey(
+                "--checks_only",
+                ImmutableList.of(),
+                ImmutableList.<SourceFile>builder().addAll(EXTERNS).addAll(sources).build()))
+        .isNotEqualTo(key);
+  }
+
+  @Test
+  public void testStoreAndRestore() throws Exception {
+    TypedAstCache cache = new TypedAstCache(temporaryFolder.getRoot().toPath().resolve("cache"));
+    Path typedAst = temporaryFolder.newFile("lib.typedast.gz").toPath();
+    Files.writeString(typedAst, "typedast contents", UTF_8);
+    Path output = temporaryFolder.getRoot().toPath().resolve("output.typedast.gz");
+
+    assertThat(cache.restore("key", output)).isFalse();
+    assertThat(Files.exists(output)).isFalse();
+
+    cache.store("key", typedAst);
+
+    assertThat(cache.restore("key", output)).isTrue();
+    assertThat(Files.readString(output, UTF_8)).isEqualTo("typedast contents");
+    assertThat(cache.restore("otherKey", output)).isFalse();
+  }
+}
@@ -680,22 +680,90 @@ public class NodeTest {
 
   @Test
   public void testBooleanProp() {
-    Node n = getVarRef("a");
+    Node n = IR.script();
 
-    n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
+    n.putBooleanProp(Node.GOOG_MODULE, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
-    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
+    assertThat(n.lookupProperty(Node.GOOG_MODULE)).isNull();
+    assertThat(n.getBooleanProp(Node.GOOG_MODULE)).isFalse();
+
+    n.putBooleanProp(Node.GOOG_MODULE, true);
+
+    assertThat(n.lookupProperty(Node.GOOG_MODULE)).isNotNull();
+    assertThat(n.getBooleanProp(Node.GOOG_MODULE)).isTrue();
+
+    n.putBooleanProp(Node.GOOG_MODULE, false);
+
+    assertThat(n.lookupProperty(Node.GOOG_MODULE)).isNull();
+    assertThat(n.getBooleanProp(Node.GOOG_MODULE)).isFalse();
+  }
+
+  @Test
+  public void testFlagPropIsNotStoredInPropList() {
+    Node n = getVarRef("a");
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    n.putBooleanProp(Node.IS_NAMESPACE, true);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNotNull();
+    assertThat(n.getPropListHeadForTesting()).isNull();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+    assertThat(n.getBooleanProp(Node.IS_NAMESPACE)).isTrue();
+    assertThat(n.getPropListDebugString()).contains("IS_CONSTANT_NAME");
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
+    assertThat(n.getBooleanProp(Node.IS_NAMESPACE)).isTrue();
+  }
+
+  @Test
+  public void testFlagPropRejectsOtherValues() {
+    Node n = getVarRef("a");
+
+    assertThrows(IllegalArgumentException.class, () -> n.putIntProp(Node.IS_CONSTANT_NAME, 2));
+    assertThrows(IllegalArgumentException.class, () -> n.putProp(Node.IS_CONSTANT_NAME, "x"));
+  }
+
+  @Test
+  public void testFlagPropsAreCloned() {
+    Node n = getCall("A");
+    n.putBooleanProp(Node.FREE_CALL, true);
+
+    Node clone = n.cloneNode();
+    Node m = new Node(Token.CALL);
+    m.clonePropsFrom(n);
+    n.putBooleanProp(Node.FREE_CALL, false);
+
+    assertThat(clone.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(m.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(n.getBooleanProp(Node.FREE_CALL)).isFalse();
+  }
+
+  @Test
+  public void testFlagPropsAffectEquivalence() {
+    Node n = getCall("A");
+    Node m = getCall("A");
+    assertThat(n.isEquivalentTo(m)).isTrue();
+
+    n.putBooleanProp(Node.FREE_CALL, true);
+    assertThat(n.isEquivalentTo(m)).isFalse();
+
+    m.putBooleanProp(Node.FREE_CALL, true);
+    assertThat(n.isEquivalentTo(m)).isTrue();
+  }
+
+  @Test
+  public void testFlagPropsSerialization() {
+    Node original = IR.call(IR.name("f"));
+    original.setSourceFileForTesting("sourcefile");
+    Node restored = original.cloneNode();
+
+    original.putBooleanProp(Node.FREE_CALL, true);
+    original.setIsParenthesized(true);
+    restored.deserializeProperties(original.serializeProperties(), false);
+
+    assertThat(restored.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(restored.getIsParenthesized()).isTrue();
   }
 
   // Verify that annotations on cloned nodes are properly handled.
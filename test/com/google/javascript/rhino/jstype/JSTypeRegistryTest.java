@@ -55,6 +55,7 @@ import static com.google.javascript.rhino.jstype.JSTypeNative.NULL_VOID;
 import static com.google.javascript.rhino.jstype.JSTypeNative.NUMBER_TYPE;
 import static com.google.javascript.rhino.jstype.JSTypeNative.STRING_TYPE;
 import static com.google.javascript.rhino.testing.TypeSubject.assertType;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -65,10 +66,15 @@ import com.google.javascript.rhino.StaticScope;
 import com.google.javascript.rhino.Token;
 import com.google.javascript.rhino.testing.AbstractStaticScope;
 import com.google.javascript.rhino.testing.MapBasedScope;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.jspecify.annotations.Nullable;
 import org.junit.Before;
 import org.junit.Test;
@@ -92,6 +98,51 @@ public class JSTypeRegistryTest {
     JSTypeResolver.Closer unused = registry.getResolver().openForDefinition();
   }
 
+  @Test
+  public void testTemplatizedTypesAreInterned() {
+    ObjectType arrayType = registry.getNativeObjectType(JSTypeNative.ARRAY_TYPE);
+    JSType stringType = registry.getNativeType(STRING_TYPE);
+
+    TemplatizedType arrayOfString = registry.createTemplatizedType(arrayType, stringType);
+
+    assertType(registry.createTemplatizedType(arrayType, stringType))
+        .isSameInstanceAs(arrayOfString);
+    assertType(registry.createTemplatizedType(arrayType, registry.getNativeType(NUMBER_TYPE)))
+        .isNotEqualTo(arrayOfString);
+  }
+
+  @Test
+  public void testUnionTypesAreInterned() {
+    JSType union = registry.createUnionType(NUMBER_TYPE, STRING_TYPE, NULL_TYPE);
+
+    assertType(registry.createUnionType(NUMBER_TYPE, STRING_TYPE, NULL_TYPE))
+        .isSameInstanceAs(union);
+    assertType(registry.createUnionType(NUMBER_TYPE, STRING_TYPE)).isNotEqualTo(union);
+  }
+
+  @Test
+  public void testRecordTypesAreInterned() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType stringType = registry.getNativeType(STRING_TYPE);
+    JSType record = registry.createRecordType(ImmutableMap.of("a", numberType, "b", stringType));
+
+    assertType(registry.createRecordType(ImmutableMap.of("b", stringType, "a", numberType)))
+        .isSameInstanceAs(record);
+    assertType(registry.createRecordType(ImmutableMap.of("a", stringType, "b", numberType)))
+        .isNotEqualTo(record);
+  }
+
+  @Test
+  public void testTypesWithUnresolvedPartsAreNotInterned() {
+    ObjectType arrayType = registry.getNativeObjectType(JSTypeNative.ARRAY_TYPE);
+    // The registry is open for definition, so new types aren't resolved yet.
+    JSType fooType =
+        FunctionType.builder(registry).forConstructor().withName("Foo").build().getInstanceType();
+
+    assertType(registry.createTemplatizedType(arrayType, fooType))
+        .isNotSameInstanceAs(registry.createTemplatizedType(arrayType, fooType));
+  }
+
   @Test
   public void testGetBuiltInType_boolean() {
     assertType(registry.getType(null, "boolean"))
@@ -336,6 +387,64 @@ public class JSTypeRegistryTest {
         .isEqualTo("(Array<Array<(K|V)>>|Iterable<Array<(K|V)>,?,?>|null|undefined)");
   }
 
+  @Test
+  public void testFreeze() {
+    // Unlike the shared registry, this one isn't open for definition.
+    JSTypeRegistry frozenRegistry = new JSTypeRegistry(null, ImmutableSet.of("Forward"));
+    StaticTypedScope globalScope =
+        createStaticTypedScope(IR.root(), null, ImmutableMap.of(), new HashSet<>());
+    JSType numberType = frozenRegistry.getNativeType(NUMBER_TYPE);
+    frozenRegistry.declareType(globalScope, "Foo", numberType);
+
+    try (JSTypeRegistry.Frozen frozen = frozenRegistry.freeze()) {
+      assertThat(frozenRegistry.isFrozen()).isTrue();
+      assertType(frozenRegistry.getType(globalScope, "Foo")).isSameInstanceAs(numberType);
+      assertThat(frozenRegistry.isForwardDeclaredType("Forward")).isTrue();
+      assertThrows(
+          IllegalStateException.class,
+          () -> frozenRegistry.declareType(globalScope, "Bar", numberType));
+    }
+
+    assertThat(frozenRegistry.isFrozen()).isFalse();
+    assertThat(frozenRegistry.declareType(globalScope, "Bar", numberType)).isTrue();
+  }
+
+  @Test
+  public void testFrozenRegistryIsReadOnMultipleThreads() throws Exception {
+    JSTypeRegistry frozenRegistry = new JSTypeRegistry(null, ImmutableSet.of());
+    StaticTypedScope globalScope =
+        createStaticTypedScope(IR.root(), null, ImmutableMap.of(), new HashSet<>());
+    JSType numberType = frozenRegistry.getNativeType(NUMBER_TYPE);
+    List<JSType> types = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      JSType type = frozenRegistry.createRecordType(ImmutableMap.of("p" + i, numberType));
+      frozenRegistry.declareType(globalScope, "T" + i, type);
+      types.add(type);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (JSTypeRegistry.Frozen frozen = frozenRegistry.freeze()) {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < types.size(); i++) {
+                    if (frozenRegistry.getType(globalScope, "T" + i) != types.get(i)) {
+                      return false;
+                    }
+                  }
+                  return true;
+                }));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /** Returns a scope that overrides a few methods from {@link AbstractStaticScope} */
   private StaticTypedScope createStaticTypedScope(
       Node root,
@@ -6596,7 +6596,7 @@ public class JSTypeTest extends BaseJSTypeTestCase {
     JSType firstType = registry.createRecordType(ImmutableMap.of("x", NUMBER_TYPE));
     JSType secondType = registry.createRecordType(ImmutableMap.of("x", NUMBER_TYPE));
 
-    assertType(firstType).isNotSameInstanceAs(secondType);
+    assertType(firstType).isSameInstanceAs(secondType);
     assertType(firstType).isEqualTo(secondType);
     assertType(firstType).isEqualTo(secondType);
   }
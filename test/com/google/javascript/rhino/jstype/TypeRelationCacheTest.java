@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.rhino.jstype;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.jstype.JSTypeNative.NUMBER_TYPE;
+import static com.google.javascript.rhino.jstype.JSTypeNative.STRING_TYPE;
+import static com.google.javascript.rhino.testing.TypeSubject.assertType;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TypeRelationCache}. */
+@RunWith(JUnit4.class)
+public final class TypeRelationCacheTest {
+  private final JSTypeRegistry registry = new JSTypeRegistry(null);
+
+  @Test
+  public void testRepeatedChecksHitTheCache() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType record = registry.createRecordType(ImmutableMap.of("a", numberType));
+    JSType union = registry.createUnionType(NUMBER_TYPE, STRING_TYPE);
+
+    assertThat(numberType.isSubtypeOf(union)).isTrue();
+    long hits = registry.getTypeRelationCacheStats().hitCount();
+    assertThat(numberType.isSubtypeOf(union)).isTrue();
+    assertThat(registry.getTypeRelationCacheStats().hitCount()).isEqualTo(hits + 1);
+
+    assertThat(record.equals(union)).isFalse();
+    assertThat(record.equals(union)).isFalse();
+    assertThat(registry.getTypeRelationCacheStats().hitCount()).isEqualTo(hits + 2);
+  }
+
+  @Test
+  public void testRelationsAreCachedSeparately() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType union = registry.createUnionType(NUMBER_TYPE, STRING_TYPE);
+
+    assertThat(numberType.isSubtypeOf(union)).isTrue();
+    long misses = registry.getTypeRelationCacheStats().missCount();
+    assertThat(union.isSubtypeOf(numberType)).isFalse();
+    assertThat(numberType.isSubtypeWithoutStructuralTyping(union)).isTrue();
+    assertThat(registry.getTypeRelationCacheStats().missCount()).isEqualTo(misses + 2);
+  }
+
+  @Test
+  public void testDefiningPropertyInvalidatesResults() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType record = registry.createRecordType(ImmutableMap.of("a", numberType));
+    ObjectType object = registry.createAnonymousObjectType(null);
+    assertType(object).isNotSubtypeOf(record);
+
+    object.defineDeclaredProperty("a", numberType, null);
+
+    assertType(object).isSubtypeOf(record);
+  }
+
+  @Test
+  public void testDefiningInheritedPropertyInvalidatesResults() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType record = registry.createRecordType(ImmutableMap.of("a", numberType));
+    ObjectType prototype = registry.createAnonymousObjectType(null);
+    ObjectType object = registry.createObjectType("Foo", prototype);
+    assertType(object).isNotSubtypeOf(record);
+
+    prototype.defineDeclaredProperty("a", numberType, null);
+
+    assertType(object).isSubtypeOf(record);
+  }
+
+  @Test
+  public void testDefiningUnrelatedPropertyKeepsResults() {
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType record = registry.createRecordType(ImmutableMap.of("a", numberType));
+    ObjectType object = registry.createAnonymousObjectType(null);
+    ObjectType unrelated = registry.createAnonymousObjectType(null);
+    assertThat(object.isSubtypeOf(record)).isFalse();
+    long hits = registry.getTypeRelationCacheStats().hitCount();
+
+    unrelated.defineInferredProperty("a", numberType, null);
+
+    assertThat(object.isSubtypeOf(record)).isFalse();
+    assertThat(registry.getTypeRelationCacheStats().hitCount()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void testResultComputedDuringInvalidationIsNotUsed() {
+    TypeRelationCache cache = registry.getTypeRelationCache();
+    JSType numberType = registry.getNativeType(NUMBER_TYPE);
+    JSType stringType = registry.getNativeType(STRING_TYPE);
+
+    boolean result =
+        cache.check(
+            TypeRelationCache.Relation.SUBTYPE,
+            numberType,
+            stringType,
+            (dependencies) -> {
+              // A type changes on another thread while the result is computed.
+              cache.invalidate();
+              return true;
+            });
+
+    assertThat(result).isTrue();
+    assertThat(
+            cache.check(
+                TypeRelationCache.Relation.SUBTYPE,
+                numberType,
+                stringType,
+                (dependencies) -> false))
+        .isFalse();
+  }
+}